@@ -0,0 +1,169 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// ========================================================================
+// BATCH PRICER
+// Headless bulk pricing for jobs like the nightly catalog repricing.
+// Requests are stored column-wise (one primitive array per field) and
+// priced against a single RateTable snapshot, so the inner loop is a few
+// array reads and a multiply per quote - no Swing, no strings, no boxing.
+// Large batches are split across a ForkJoinPool; each task writes its own
+// slice of the output arrays, so no synchronization is needed.
+//
+//   BatchPricer.Batch batch = new BatchPricer.Batch(loader.current(), n);
+//   batch.add("Data Science", "Senior (7-10 years)", "Complex", "Metro City", 120);
+//   BatchPricer.Result result = BatchPricer.priceParallel(batch);
+// ========================================================================
+public final class BatchPricer {
+    // Below this many quotes a fork/join split costs more than it saves
+    public static final int PARALLEL_THRESHOLD = 16_384;
+
+    private BatchPricer() { }
+
+    // Growable column store of quote requests, validated against one rate table
+    public static final class Batch {
+        private final RateTable table;
+        private int[] skill, experience, complexity, location;
+        private double[] hours;
+        private int size;
+
+        public Batch(RateTable table) {
+            this(table, 1024);
+        }
+
+        public Batch(RateTable table, int expectedSize) {
+            this.table = table;
+            int capacity = Math.max(16, expectedSize);
+            skill = new int[capacity];
+            experience = new int[capacity];
+            complexity = new int[capacity];
+            location = new int[capacity];
+            hours = new double[capacity];
+        }
+
+        public Batch add(String skillLabel, String experienceLabel, String complexityLabel, String locationLabel, double hours) {
+            return add(ordinal(RateTable.Dimension.SKILL, skillLabel),
+                    ordinal(RateTable.Dimension.EXPERIENCE, experienceLabel),
+                    ordinal(RateTable.Dimension.COMPLEXITY, complexityLabel),
+                    ordinal(RateTable.Dimension.LOCATION, locationLabel),
+                    hours);
+        }
+
+        public Batch add(int skillOrdinal, int experienceOrdinal, int complexityOrdinal, int locationOrdinal, double hours) {
+            check(RateTable.Dimension.SKILL, skillOrdinal);
+            check(RateTable.Dimension.EXPERIENCE, experienceOrdinal);
+            check(RateTable.Dimension.COMPLEXITY, complexityOrdinal);
+            check(RateTable.Dimension.LOCATION, locationOrdinal);
+            if (!(hours >= 0) || Double.isInfinite(hours)) {
+                throw new IllegalArgumentException("Invalid hours: " + hours);
+            }
+            if (size == skill.length) grow();
+            skill[size] = skillOrdinal;
+            experience[size] = experienceOrdinal;
+            complexity[size] = complexityOrdinal;
+            location[size] = locationOrdinal;
+            this.hours[size] = hours;
+            size++;
+            return this;
+        }
+
+        public int size() { return size; }
+
+        public RateTable table() { return table; }
+
+        private int ordinal(RateTable.Dimension d, String label) {
+            int o = table.ordinal(d, label);
+            if (o < 0) throw new IllegalArgumentException("Unknown " + d.key + ": " + label);
+            return o;
+        }
+
+        private void check(RateTable.Dimension d, int ordinal) {
+            if (ordinal < 0 || ordinal >= table.size(d)) {
+                throw new IllegalArgumentException(d.key + " ordinal out of range: " + ordinal);
+            }
+        }
+
+        private void grow() {
+            int capacity = skill.length * 2;
+            skill = Arrays.copyOf(skill, capacity);
+            experience = Arrays.copyOf(experience, capacity);
+            complexity = Arrays.copyOf(complexity, capacity);
+            location = Arrays.copyOf(location, capacity);
+            hours = Arrays.copyOf(hours, capacity);
+        }
+    }
+
+    // rates[i] / totals[i] belong to the i-th request added to the batch
+    public static final class Result {
+        public final double[] rates;
+        public final double[] totals;
+        public final long tableVersion;
+
+        Result(int size, long tableVersion) {
+            this.rates = new double[size];
+            this.totals = new double[size];
+            this.tableVersion = tableVersion;
+        }
+
+        public int size() { return rates.length; }
+
+        public double grandTotal() {
+            double sum = 0;
+            for (double t : totals) sum += t;
+            return sum;
+        }
+    }
+
+    // Single-threaded; best for small batches or when the caller is already parallel
+    public static Result price(Batch batch) {
+        Result result = new Result(batch.size, batch.table.version());
+        priceRange(batch, result, 0, batch.size);
+        return result;
+    }
+
+    public static Result priceParallel(Batch batch) {
+        return priceParallel(batch, ForkJoinPool.commonPool());
+    }
+
+    public static Result priceParallel(Batch batch, ForkJoinPool pool) {
+        if (batch.size < PARALLEL_THRESHOLD) return price(batch);
+        Result result = new Result(batch.size, batch.table.version());
+        pool.invoke(new PriceTask(batch, result, 0, batch.size));
+        return result;
+    }
+
+    private static void priceRange(Batch b, Result r, int from, int to) {
+        RateTable table = b.table;
+        int[] s = b.skill, e = b.experience, c = b.complexity, l = b.location;
+        double[] h = b.hours, rates = r.rates, totals = r.totals;
+        for (int i = from; i < to; i++) {
+            double rate = table.hourlyRate(s[i], e[i], c[i], l[i]);
+            rates[i] = rate;
+            totals[i] = rate * h[i];
+        }
+    }
+
+    private static final class PriceTask extends RecursiveAction {
+        private final Batch batch;
+        private final Result result;
+        private final int from, to;
+
+        PriceTask(Batch batch, Result result, int from, int to) {
+            this.batch = batch;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                priceRange(batch, result, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PriceTask(batch, result, from, mid), new PriceTask(batch, result, mid, to));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+import java.sql.Timestamp;
+
+// ========================================================================
+// BID DATA
+// One row of the bids table, as DatabaseManager reads and writes it.
+// ========================================================================
+class BidData {
+    public String bidId;
+    public String projectId;
+    public String freelancerName; 
+    public int freelancerId;
+    public double amount;
+    public int completionDays;
+    public String proposal;
+    public String status;
+    public String resumeFilePath;
+    public String resumeFileName;
+    public Timestamp createdDate;
+    public Timestamp updatedDate;
+}
@@ -0,0 +1,343 @@
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.sql.SQLException;
+
+// ========================================================================
+// CACHING DATABASE MANAGER
+// Read-through cache in front of the project and bid reads the screens
+// repeat after every action:
+//   getAllProjects, getProjectById, getProjectStatus, getBidsByProject
+// Entries are weighed in rows and evicted least-recently-used once the
+// total passes -Ddb.cache.rows (default 100000). The write methods
+// invalidate exactly what they touch:
+//   insertProject / updateProjectStatus  project list, that project, its status
+//   insertBid                            that project's bid list
+//   updateBidStatus                      the bid list that holds the bid
+// A load that races with a write is returned but never stored (every
+// write bumps a version the loader checks before caching), so a read that
+// starts after a write returns can never see the old value. Failed loads
+// (DatabaseManager returns an empty list on SQL errors) are not cached.
+// Lists come back as fresh copies; the row objects are shared and must be
+// treated as read-only.
+//
+// Writes made through this instance invalidate in the write methods.
+// Writes made through any other DatabaseManager in the process (the
+// services, Ledger, LoadGenerator) drop the same entries from a change-bus
+// write hook, which runs on the writing thread before that write method
+// returns, so no instance can read a cached row older than a write that
+// has returned. Writes from another process are not seen; run such setups
+// with -Ddb.cache=false.
+//   -Ddb.cache=false        plain DatabaseManager
+//   -Ddb.cache.rows=100000  size bound in cached rows
+// ========================================================================
+public class CachingDatabaseManager extends DatabaseManager {
+    public static final String ENABLED_PROPERTY = "db.cache";
+    public static final String MAX_ROWS_PROPERTY = "db.cache.rows";
+    private static final String ALL_PROJECTS = "projects";
+
+    // Counters for one kind of cached read
+    public static final class Region {
+        public final String name;
+        private long hits, misses, uncached, evictions, invalidations;   // guarded by the cache lock
+
+        Region(String name) {
+            this.name = name;
+        }
+
+        public long hits() { return hits; }
+
+        public long misses() { return misses; }
+
+        public long evictions() { return evictions; }
+
+        public long invalidations() { return invalidations; }
+
+        // Loads that were not stored because a write raced with them or the query failed
+        public long uncached() { return uncached; }
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    private static final class Entry {
+        final Region region;
+        final Object value;
+        final int weight;
+
+        Entry(Region region, Object value, int weight) {
+            this.region = region;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);   // access order = LRU
+    private final Map<String, String> bidProjects = new HashMap<>();   // bid -> project, for cached bid lists
+    private final long maxRows;
+    private long rows;
+    private long version;
+
+    private final Region projectList = new Region("getAllProjects");
+    private final Region projectById = new Region("getProjectById");
+    private final Region projectStatus = new Region("getProjectStatus");
+    private final Region bidsByProject = new Region("getBidsByProject");
+
+    public CachingDatabaseManager() {
+        this(System.getProperty(URL_PROPERTY, DEFAULT_URL));
+    }
+
+    public CachingDatabaseManager(String url) {
+        this(url, Long.getLong(MAX_ROWS_PROPERTY, 100_000));
+    }
+
+    public CachingDatabaseManager(String url, long maxRows) {
+        super(url);
+        if (maxRows < 1) throw new IllegalArgumentException("cache size must be at least one row");
+        this.maxRows = maxRows;
+        hook(this);
+    }
+
+    // The bus is process-wide, so the hook holds the cache weakly and unregisters itself
+    // once the cache has been collected
+    private static void hook(CachingDatabaseManager cache) {
+        WeakReference<CachingDatabaseManager> ref = new WeakReference<>(cache);
+        AtomicReference<ChangeEventBus.WriteHook> hook = new AtomicReference<>();
+        hook.set(cache.changes().onWrite("entity-cache", EnumSet.of(ChangeEventBus.Entity.PROJECT, ChangeEventBus.Entity.BID), change -> {
+            CachingDatabaseManager live = ref.get();
+            if (live == null) {
+                hook.get().close();
+            } else {
+                live.applyForeign(change);
+            }
+        }));
+    }
+
+    // Invalidate what a write from another instance touched; our own are handled in the write methods
+    private void applyForeign(ChangeEventBus.Change change) {
+        if (change.source == this) return;
+        if (change.entity == ChangeEventBus.Entity.PROJECT) {
+            invalidate(ALL_PROJECTS, "project:" + change.key, "status:" + change.key);
+        } else if (change.projectId != null) {
+            invalidate("bids:" + change.projectId);
+        } else {
+            // Bid row already gone or unreadable: drop the list that holds it, if cached
+            String projectId;
+            synchronized (lock) {
+                projectId = bidProjects.get(change.key);
+            }
+            invalidate(projectId == null ? null : "bids:" + projectId);
+        }
+    }
+
+    // The database manager the app should share: cached unless -Ddb.cache=false
+    public static DatabaseManager create() {
+        return create(System.getProperty(URL_PROPERTY, DEFAULT_URL));
+    }
+
+    public static DatabaseManager create(String url) {
+        return "false".equalsIgnoreCase(System.getProperty(ENABLED_PROPERTY)) ? new DatabaseManager(url) : new CachingDatabaseManager(url);
+    }
+
+    // ====================================================================
+    // CACHED READS
+    // ====================================================================
+
+    @Override
+    public ArrayList<ProjectData> getAllProjects() {
+        ArrayList<ProjectData> cached = read(projectList, ALL_PROJECTS, super::getAllProjects);
+        return new ArrayList<>(cached);
+    }
+
+    @Override
+    public ProjectData getProjectById(String projectId) {
+        return read(projectById, "project:" + projectId, () -> super.getProjectById(projectId));
+    }
+
+    @Override
+    public String getProjectStatus(String projectId) {
+        return read(projectStatus, "status:" + projectId, () -> super.getProjectStatus(projectId));
+    }
+
+    @Override
+    public ArrayList<BidData> getBidsByProject(String projectId) {
+        ArrayList<BidData> cached = read(bidsByProject, "bids:" + projectId, () -> super.getBidsByProject(projectId));
+        return new ArrayList<>(cached);
+    }
+
+    // ====================================================================
+    // INVALIDATING WRITES
+    // ====================================================================
+
+    @Override
+    public boolean insertProject(ProjectData project) {
+        try {
+            return super.insertProject(project);
+        } finally {
+            invalidate(ALL_PROJECTS, "project:" + project.projectId, "status:" + project.projectId);
+        }
+    }
+
+    @Override
+    public boolean updateProjectStatus(String projectId, String newStatus) {
+        try {
+            return super.updateProjectStatus(projectId, newStatus);
+        } finally {
+            invalidate(ALL_PROJECTS, "project:" + projectId, "status:" + projectId);
+        }
+    }
+
+    @Override
+    public boolean insertBid(BidData bid) {
+        try {
+            return super.insertBid(bid);
+        } finally {
+            invalidate("bids:" + bid.projectId);
+        }
+    }
+
+    @Override
+    public boolean updateBidStatus(String bidId, String newStatus) {
+        try {
+            return super.updateBidStatus(bidId, newStatus);
+        } finally {
+            String projectId;
+            synchronized (lock) {
+                projectId = bidProjects.get(bidId);
+            }
+            // Not in any cached list means there is nothing to drop, but the version still moves
+            invalidate(projectId == null ? null : "bids:" + projectId);
+        }
+    }
+
+    // ====================================================================
+    // CACHE CORE
+    // ====================================================================
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(Region region, String key, Supplier<T> loader) {
+        long seen;
+        synchronized (lock) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                region.hits++;
+                return (T) entry.value;
+            }
+            region.misses++;
+            seen = version;
+        }
+        SQLException before = lastError();
+        T value = loader.get();
+        boolean failed = lastError() != null && lastError() != before;
+        synchronized (lock) {
+            int weight = weigh(value);
+            if (failed || version != seen || weight > maxRows) {
+                region.uncached++;
+            } else {
+                store(key, new Entry(region, value, weight));
+            }
+        }
+        return value;
+    }
+
+    private static int weigh(Object value) {
+        return value instanceof List ? 1 + ((List<?>) value).size() : 1;
+    }
+
+    // Caller holds lock
+    private void store(String key, Entry entry) {
+        Entry old = entries.put(key, entry);
+        if (old != null) remove(old);
+        rows += entry.weight;
+        if (entry.region == bidsByProject) {
+            String projectId = key.substring("bids:".length());
+            for (Object bid : (List<?>) entry.value) bidProjects.put(((BidData) bid).bidId, projectId);
+        }
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (rows > maxRows && eldest.hasNext()) {
+            Entry victim = eldest.next();
+            eldest.remove();
+            remove(victim);
+            victim.region.evictions++;
+        }
+    }
+
+    // Caller holds lock; bookkeeping for an entry that has left the map
+    private void remove(Entry entry) {
+        rows -= entry.weight;
+        if (entry.region == bidsByProject) {
+            for (Object bid : (List<?>) entry.value) bidProjects.remove(((BidData) bid).bidId);
+        }
+    }
+
+    private void invalidate(String... keys) {
+        synchronized (lock) {
+            version++;
+            for (String key : keys) {
+                if (key == null) continue;
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    remove(entry);
+                    entry.region.invalidations++;
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            version++;
+            entries.clear();
+            bidProjects.clear();
+            rows = 0;
+        }
+    }
+
+    // ====================================================================
+    // METRICS
+    // ====================================================================
+
+    public double hitRate() {
+        synchronized (lock) {
+            long hits = 0, total = 0;
+            for (Region r : regions()) {
+                hits += r.hits;
+                total += r.hits + r.misses;
+            }
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    public String report() {
+        synchronized (lock) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("entity cache: %d entries, %d / %d rows%n", entries.size(), rows, maxRows));
+            sb.append(String.format("%-18s %10s %10s %8s %10s %10s %10s%n",
+                    "read", "hits", "misses", "hit %", "uncached", "evicted", "invalid"));
+            for (Region r : regions()) {
+                sb.append(String.format("%-18s %10d %10d %7.1f%% %10d %10d %10d%n", r.name, r.hits, r.misses,
+                        100 * r.hitRate(), r.uncached, r.evictions, r.invalidations));
+            }
+            return sb.toString();
+        }
+    }
+
+    public List<Region> regions() {
+        List<Region> list = new ArrayList<>(4);
+        list.add(projectList);
+        list.add(projectById);
+        list.add(projectStatus);
+        list.add(bidsByProject);
+        return list;
+    }
+}
@@ -0,0 +1,236 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// ========================================================================
+// CHANGE EVENT BUS
+// In-process change feed for platform data. Every successful DatabaseManager
+// write publishes a Change (entity, key, project, old/new status), and
+// windows, caches and counters subscribe instead of re-querying after each
+// action. Bursts are coalesced per subscriber: the first change opens a
+// window (-Dchange.bus.window.ms, default 50) and everything published
+// before it closes arrives as one batch, in publish order, on the
+// subscriber's executor (SwingUtilities::invokeLater for views). A batch is
+// cut early once it reaches MAX_BATCH changes.
+//
+// Old statuses cost a read on the writer's connection, so DatabaseManager
+// only looks them up while someone subscribes to that entity (wants()).
+// Work that must be finished before the write method returns (dropping
+// cached rows) registers a write hook instead: hooks run inline in
+// publish(), on the writing thread, right after the commit.
+// One shared bus serves every DatabaseManager in the process, so a write
+// made through any instance reaches all subscribers.
+// ========================================================================
+public final class ChangeEventBus {
+    public static final String WINDOW_PROPERTY = "change.bus.window.ms";
+    public static final int MAX_BATCH = 1000;
+
+    public enum Entity { USER, PROJECT, BID, MILESTONE, ESCROW, INVOICE, DISPUTE, WAGE_RATE }
+
+    public enum Op { INSERT, UPDATE, DELETE }
+
+    // One row written. oldStatus is null for inserts; newStatus is null for deletes.
+    public static final class Change {
+        public final long sequence;
+        public final Entity entity;
+        public final Op op;
+        public final String key;
+        public final String projectId;
+        public final String oldStatus;
+        public final String newStatus;
+        public final Object source;   // DatabaseManager that made the write
+
+        Change(long sequence, Entity entity, Op op, String key, String projectId, String oldStatus, String newStatus, Object source) {
+            this.sequence = sequence;
+            this.entity = entity;
+            this.op = op;
+            this.key = key;
+            this.projectId = projectId;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+            this.source = source;
+        }
+
+        // True when the change belongs to the project a view is filtered to ("" or null = all)
+        public boolean affects(String filterProjectId) {
+            return filterProjectId == null || filterProjectId.trim().isEmpty() || filterProjectId.trim().equals(projectId);
+        }
+
+        @Override
+        public String toString() {
+            return "#" + sequence + " " + op + " " + entity + " " + key
+                    + (projectId != null && !projectId.equals(key) ? " (" + projectId + ")" : "")
+                    + (oldStatus != null || newStatus != null ? " " + oldStatus + " -> " + newStatus : "");
+        }
+    }
+
+    // Returned by subscribe(); close() stops delivery (a batch already handed to the executor still runs)
+    public final class Subscription implements AutoCloseable {
+        private final String name;
+        private final EnumSet<Entity> entities;
+        private final Executor executor;
+        private final Consumer<List<Change>> listener;
+        private List<Change> pending = new ArrayList<>();   // guarded by this
+        private boolean scheduled;                           // guarded by this
+        private volatile boolean closed;
+
+        Subscription(String name, EnumSet<Entity> entities, Executor executor, Consumer<List<Change>> listener) {
+            this.name = name;
+            this.entities = entities;
+            this.executor = executor;
+            this.listener = listener;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.remove(this);
+        }
+
+        void offer(Change change) {
+            boolean flushNow;
+            synchronized (this) {
+                pending.add(change);
+                flushNow = pending.size() >= MAX_BATCH;
+                if (!flushNow && !scheduled) {
+                    scheduled = true;
+                    dispatcher.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (flushNow) dispatcher.execute(this::flush);
+        }
+
+        // Runs on the dispatcher thread, so batches reach the executor in publish order
+        private void flush() {
+            List<Change> batch;
+            synchronized (this) {
+                scheduled = false;
+                if (pending.isEmpty()) return;
+                batch = Collections.unmodifiableList(pending);
+                pending = new ArrayList<>();
+            }
+            if (closed) return;
+            try {
+                executor.execute(() -> deliver(batch));
+            } catch (RuntimeException e) {
+                System.err.println("❌ Change listener '" + name + "' rejected a batch: " + e.getMessage());
+            }
+        }
+
+        private void deliver(List<Change> batch) {
+            if (closed) return;
+            try {
+                listener.accept(batch);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Change listener '" + name + "' failed: " + e);
+            }
+        }
+    }
+
+    // Returned by onWrite(); close() unregisters the hook
+    public final class WriteHook implements AutoCloseable {
+        private final String name;
+        private final EnumSet<Entity> entities;
+        private final Consumer<Change> hook;
+
+        WriteHook(String name, EnumSet<Entity> entities, Consumer<Change> hook) {
+            this.name = name;
+            this.entities = entities;
+            this.hook = hook;
+        }
+
+        @Override
+        public void close() {
+            writeHooks.remove(this);
+        }
+
+        void run(Change change) {
+            try {
+                hook.accept(change);
+            } catch (RuntimeException e) {
+                System.err.println("❌ Write hook '" + name + "' failed: " + e);
+            }
+        }
+    }
+
+    private static final ChangeEventBus SHARED = new ChangeEventBus(Long.getLong(WINDOW_PROPERTY, 50));
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final List<WriteHook> writeHooks = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final long windowMillis;
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "change-bus");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ChangeEventBus(long windowMillis) {
+        this.windowMillis = Math.max(0, windowMillis);
+    }
+
+    public static ChangeEventBus shared() {
+        return SHARED;
+    }
+
+    // Runs on the bus thread; listeners there must be quick and must not block
+    public Subscription subscribe(String name, EnumSet<Entity> entities, Consumer<List<Change>> listener) {
+        return subscribe(name, entities, Runnable::run, listener);
+    }
+
+    public Subscription subscribe(String name, EnumSet<Entity> entities, Executor executor, Consumer<List<Change>> listener) {
+        Subscription subscription = new Subscription(name, EnumSet.copyOf(entities), executor, listener);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    // Runs the hook on the writer's thread for every matching change before publish() returns.
+    // It must be quick, must not block and must not write through a DatabaseManager.
+    public WriteHook onWrite(String name, EnumSet<Entity> entities, Consumer<Change> hook) {
+        WriteHook writeHook = new WriteHook(name, EnumSet.copyOf(entities), hook);
+        writeHooks.add(writeHook);
+        return writeHook;
+    }
+
+    // Whether anyone listens for this entity; writers skip the old-status lookup otherwise
+    public boolean wants(Entity entity) {
+        for (WriteHook h : writeHooks) {
+            if (h.entities.contains(entity)) return true;
+        }
+        for (Subscription s : subscriptions) {
+            if (s.entities.contains(entity)) return true;
+        }
+        return false;
+    }
+
+    public void publish(Object source, Entity entity, Op op, String key, String projectId, String oldStatus, String newStatus) {
+        if (subscriptions.isEmpty() && writeHooks.isEmpty()) return;
+        Change change = new Change(sequence.incrementAndGet(), entity, op, key, projectId, oldStatus, newStatus, source);
+        for (WriteHook h : writeHooks) {
+            if (h.entities.contains(entity)) h.run(change);
+        }
+        for (Subscription s : subscriptions) {
+            if (s.entities.contains(entity)) s.offer(change);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    public int writeHookCount() {
+        return writeHooks.size();
+    }
+}
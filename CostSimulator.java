@@ -0,0 +1,165 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// ========================================================================
+// MONTE CARLO COST SIMULATOR
+// Turns the calculator's point estimate into a cost range. Skill,
+// experience and location are fixed; hours follow a triangular
+// (min / most likely / max) distribution and complexity is drawn from
+// weights over the rate table's complexity levels. Samples are generated
+// in parallel fork/join tasks, each with its own SplittableRandom split
+// from the seed (reproducible for a given seed), written into one primitive
+// array and sorted once for exact percentiles plus a histogram.
+// 200k samples take a few tens of milliseconds on a laptop.
+// ========================================================================
+public class CostSimulator {
+    public static final int DEFAULT_SAMPLES = 200_000;
+    public static final int DEFAULT_BINS = 40;
+    private static final int LEAF_SIZE = 16_384;
+
+    public static final class Result {
+        public final int samples;
+        public final double mean, min, max;
+        public final double p10, p50, p90;
+        public final int[] histogram;      // counts per bin
+        public final double binStart, binWidth;
+        public final long elapsedNanos;
+
+        Result(double[] sortedCosts, double mean, int bins, long elapsedNanos) {
+            this.samples = sortedCosts.length;
+            this.mean = mean;
+            this.min = sortedCosts[0];
+            this.max = sortedCosts[samples - 1];
+            this.p10 = percentile(sortedCosts, 0.10);
+            this.p50 = percentile(sortedCosts, 0.50);
+            this.p90 = percentile(sortedCosts, 0.90);
+            this.histogram = new int[bins];
+            this.binStart = min;
+            this.binWidth = max > min ? (max - min) / bins : 1;
+            for (double c : sortedCosts) {
+                int b = (int) ((c - min) / binWidth);
+                histogram[Math.min(bins - 1, b)]++;
+            }
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        // Lower edge of histogram bin i
+        public double binLow(int i) { return binStart + i * binWidth; }
+    }
+
+    private final RateTable table;
+    private final ForkJoinPool pool;
+
+    public CostSimulator(RateTable table) {
+        this(table, ForkJoinPool.commonPool());
+    }
+
+    public CostSimulator(RateTable table, ForkJoinPool pool) {
+        this.table = table;
+        this.pool = pool;
+    }
+
+    // complexityWeights has one non-negative weight per complexity level (any positive total)
+    public Result simulate(int skill, int experience, int location,
+                           double minHours, double likelyHours, double maxHours,
+                           double[] complexityWeights, int samples, int bins, long seed) {
+        if (!(minHours >= 0 && minHours <= likelyHours && likelyHours <= maxHours)) {
+            throw new IllegalArgumentException("Hours must satisfy 0 <= min <= likely <= max");
+        }
+        int levels = table.size(RateTable.Dimension.COMPLEXITY);
+        if (complexityWeights.length != levels) {
+            throw new IllegalArgumentException("Expected " + levels + " complexity weights, got " + complexityWeights.length);
+        }
+        if (samples < 1 || bins < 1) throw new IllegalArgumentException("samples and bins must be positive");
+
+        // Per-complexity hourly rate and cumulative weights, computed once
+        double[] rates = new double[levels];
+        double[] cdf = new double[levels];
+        double totalWeight = 0;
+        for (int c = 0; c < levels; c++) {
+            if (!(complexityWeights[c] >= 0)) throw new IllegalArgumentException("Complexity weights must be >= 0");
+            totalWeight += complexityWeights[c];
+            rates[c] = table.hourlyRate(skill, experience, c, location);
+        }
+        if (!(totalWeight > 0)) throw new IllegalArgumentException("At least one complexity weight must be positive");
+        double running = 0;
+        for (int c = 0; c < levels; c++) {
+            running += complexityWeights[c] / totalWeight;
+            cdf[c] = running;
+        }
+        cdf[levels - 1] = 1.0;
+
+        long start = System.nanoTime();
+        double[] costs = new double[samples];
+        Triangular hours = new Triangular(minHours, likelyHours, maxHours);
+        pool.invoke(new SampleTask(costs, 0, samples, new SplittableRandom(seed), hours, rates, cdf));
+        double sum = 0;
+        for (double c : costs) sum += c;
+        Arrays.parallelSort(costs);
+        return new Result(costs, sum / samples, bins, System.nanoTime() - start);
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        double pos = p * (sorted.length - 1);
+        int lo = (int) pos;
+        int hi = Math.min(sorted.length - 1, lo + 1);
+        return sorted[lo] + (sorted[hi] - sorted[lo]) * (pos - lo);
+    }
+
+    // Inverse-CDF sampling of a triangular distribution
+    private static final class Triangular {
+        final double min, mode, max, split;
+
+        Triangular(double min, double mode, double max) {
+            this.min = min;
+            this.mode = mode;
+            this.max = max;
+            this.split = max > min ? (mode - min) / (max - min) : 0;
+        }
+
+        double sample(double u) {
+            if (max == min) return min;
+            return u < split
+                    ? min + Math.sqrt(u * (max - min) * (mode - min))
+                    : max - Math.sqrt((1 - u) * (max - min) * (max - mode));
+        }
+    }
+
+    private static final class SampleTask extends RecursiveAction {
+        private final double[] out;
+        private final int from, to;
+        private final SplittableRandom random;
+        private final Triangular hours;
+        private final double[] rates, cdf;
+
+        SampleTask(double[] out, int from, int to, SplittableRandom random, Triangular hours, double[] rates, double[] cdf) {
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.random = random;
+            this.hours = hours;
+            this.rates = rates;
+            this.cdf = cdf;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    double u = random.nextDouble();
+                    int c = 0;
+                    while (u >= cdf[c]) c++;
+                    out[i] = rates[c] * hours.sample(random.nextDouble());
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            // Split the generator before forking so each half has an independent stream
+            SampleTask left = new SampleTask(out, from, mid, random.split(), hours, rates, cdf);
+            SampleTask right = new SampleTask(out, mid, to, random, hours, rates, cdf);
+            invokeAll(left, right);
+        }
+    }
+}
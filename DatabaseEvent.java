@@ -0,0 +1,40 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// ========================================================================
+// DATABASE EVENT (JFR)
+// One SQL statement issued by DatabaseManager, emitted by DbMetrics from
+// execute until the last row is read. Costs a flag check when no recording
+// has the event enabled. The SQL text is redacted like the slow-query log.
+// ========================================================================
+@Name("freelance.Database")
+@Label("Database Statement")
+@Category({"Freelance Platform", "Database"})
+@Description("SQL statement executed by DatabaseManager")
+@StackTrace(false)
+public class DatabaseEvent extends Event {
+    @Label("Method")
+    @Description("DatabaseManager method that issued the statement")
+    public String method;
+
+    @Label("Entity Type")
+    @Description("Table the statement reads or writes")
+    public String entityType;
+
+    @Label("Project ID")
+    public String projectId;
+
+    @Label("Row Count")
+    @Description("Rows returned by a query or changed by an update")
+    public long rowCount;
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -1,16 +1,109 @@
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class DatabaseManager {
     // This will create a file named "freelance_platform.db" in your project's root folder.
-    private static final String URL = "jdbc:sqlite:freelance_platform.db";
+    // -Dfreelance.db.url points the app at another database (benchmarks use a scratch file).
+    public static final String URL_PROPERTY = "freelance.db.url";
+    public static final String DEFAULT_URL = "jdbc:sqlite:freelance_platform.db";
+    // Escrow statuses whose money is still held for the project. The escrow totals here
+    // and Ledger.targetState both use this list, so the status view and the ledger agree.
+    public static final List<String> HELD_ESCROW_STATUSES = List.of("Funded", "Partially Released", "On Hold");
+    private static final String HELD_ESCROW_IN = "('" + String.join("','", HELD_ESCROW_STATUSES) + "')";
+    private final String url;
+    private final ChangeEventBus changes = ChangeEventBus.shared();
+    private final ReentrantLock writeLock;
 
 
     public DatabaseManager() {
+        this(System.getProperty(URL_PROPERTY, DEFAULT_URL));
+    }
+
+    public DatabaseManager(String url) {
+        this.url = url;
+        this.writeLock = WRITE_LOCKS.computeIfAbsent(url, u -> new ReentrantLock(true));
         createTables();
     }
 
+    // Connections come from DbMetrics, which times them per method and per statement when
+    // -Ddb.metrics=true (or a JFR recording has DatabaseEvent enabled)
+    private Connection connect() throws SQLException {
+        return DbMetrics.connect(url);
+    }
+
+    // For the status writers that read the old row and update it in one transaction. A deferred
+    // transaction takes the write lock only at the UPDATE, and when two writers both hold a read
+    // lock the second upgrade fails with SQLITE_BUSY at once instead of waiting; IMMEDIATE takes
+    // the write lock at BEGIN, where the busy timeout applies. SQLite's busy wait polls with a
+    // growing sleep and is not fair, so writers in this process also queue on a fair lock per
+    // database first (SQLite allows one writer at a time anyway); the busy timeout is then only
+    // spent on writers from other processes.
+    private static final Properties IMMEDIATE = new Properties();
+    static {
+        IMMEDIATE.setProperty("transaction_mode", "IMMEDIATE");
+    }
+    private static final ConcurrentMap<String, ReentrantLock> WRITE_LOCKS = new ConcurrentHashMap<>();
+
+    private Connection connectForWrite() throws SQLException {
+        return DbMetrics.connect(url, IMMEDIATE);
+    }
+
+    // JDBC URL this manager was opened on, for code that still opens its own connections
+    public String url() {
+        return url;
+    }
+
+    // Last SQL failure on each thread. The public methods report failures as false/0/empty
+    // results, so callers that need the cause (e.g. SQLITE_BUSY under load) read it here.
+    private static final ThreadLocal<SQLException> LAST_ERROR = new ThreadLocal<>();
+
+    public static SQLException lastError() {
+        return LAST_ERROR.get();
+    }
+
+    public static void clearLastError() {
+        LAST_ERROR.remove();
+    }
+
+    // SQLITE_BUSY (5) / SQLITE_LOCKED (6), including their extended result codes
+    public static boolean isBusy(SQLException e) {
+        if (e == null) return false;
+        int primary = e.getErrorCode() & 0xff;
+        return primary == 5 || primary == 6 || String.valueOf(e.getMessage()).contains("SQLITE_BUSY");
+    }
+
+    // Bus every successful write below is published to
+    public ChangeEventBus changes() {
+        return changes;
+    }
+
+    // {project_id, status} of one row, read before it changes inside the writer's (IMMEDIATE) transaction,
+    // so the old status is the one the update replaced. Only called while someone subscribes
+    // to the entity, so unobserved writes pay nothing.
+    private static String[] rowState(Connection c, String sql, Object id) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setObject(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new String[]{rs.getString(1), rs.getString(2)} : new String[2];
+            }
+        }
+    }
+
+    private static void logError(String message, SQLException e) {
+        LAST_ERROR.set(e);
+        System.err.println(message + ": " + e.getMessage());
+    }
+
+    private static void logError(SQLException e) {
+        LAST_ERROR.set(e);
+        e.printStackTrace();
+    }
+
     // ========================================================================
     // TABLE CREATION - Creates all required tables (FIXED STRING LITERALS)
     // ========================================================================
@@ -153,15 +246,69 @@ public class DatabaseManager {
         " FOREIGN KEY(milestone_id) REFERENCES milestones(milestone_id) ON DELETE SET NULL" +
         ")",
 
+        // NEW: Wage rate table (edited by the pricing team, hot-reloaded by RateTableLoader)
+        "CREATE TABLE IF NOT EXISTS wage_rates (" +
+        " dimension TEXT CHECK(dimension IN ('skill','experience','complexity','location')) NOT NULL," +
+        " label TEXT NOT NULL," +
+        " value REAL NOT NULL CHECK(value > 0)," +
+        " sort_order INTEGER NOT NULL DEFAULT 0," +
+        " updated_date DATETIME DEFAULT CURRENT_TIMESTAMP," +
+        " PRIMARY KEY(dimension, label)" +
+        ")",
+
         // Helpful indexes
         "CREATE INDEX IF NOT EXISTS idx_milestones_project ON milestones(project_id)",
         "CREATE INDEX IF NOT EXISTS idx_escrow_project ON escrow_accounts(project_id)",
         "CREATE INDEX IF NOT EXISTS idx_invoices_project ON invoices(project_id)",
-        "CREATE INDEX IF NOT EXISTS idx_disputes_project ON disputes(project_id)"
+        "CREATE INDEX IF NOT EXISTS idx_disputes_project ON disputes(project_id)",
+
+        // Double-entry ledger (see Ledger). Entries and postings are append-only; each posting
+        // moves its account's running balance and its parent's, so balances are one-row reads.
+        // Amounts are integer cents, debit positive.
+        "CREATE TABLE IF NOT EXISTS ledger_accounts (" +
+        " account_id TEXT PRIMARY KEY," +
+        " type TEXT CHECK(type IN ('Asset','Liability','Revenue','Expense')) NOT NULL," +
+        " parent TEXT REFERENCES ledger_accounts(account_id)," +
+        " balance_cents INTEGER NOT NULL DEFAULT 0," +
+        " postings INTEGER NOT NULL DEFAULT 0," +
+        " created_date DATETIME DEFAULT CURRENT_TIMESTAMP" +
+        ")",
+        "CREATE TABLE IF NOT EXISTS ledger_entries (" +
+        " entry_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+        " reference TEXT NOT NULL UNIQUE," +
+        " kind TEXT NOT NULL," +
+        " source_id TEXT," +
+        " state TEXT," +
+        " description TEXT," +
+        " created_date DATETIME DEFAULT CURRENT_TIMESTAMP" +
+        ")",
+        "CREATE TABLE IF NOT EXISTS ledger_postings (" +
+        " posting_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+        " entry_id INTEGER NOT NULL REFERENCES ledger_entries(entry_id)," +
+        " account_id TEXT NOT NULL REFERENCES ledger_accounts(account_id)," +
+        " amount_cents INTEGER NOT NULL CHECK(amount_cents <> 0)" +
+        ")",
+        "CREATE INDEX IF NOT EXISTS idx_ledger_entries_source ON ledger_entries(source_id, entry_id)",
+        "CREATE INDEX IF NOT EXISTS idx_ledger_postings_entry ON ledger_postings(entry_id)",
+        "CREATE TRIGGER IF NOT EXISTS ledger_entries_immutable BEFORE UPDATE ON ledger_entries " +
+        "BEGIN SELECT RAISE(ABORT, 'ledger entries are immutable'); END",
+        "CREATE TRIGGER IF NOT EXISTS ledger_entries_permanent BEFORE DELETE ON ledger_entries " +
+        "BEGIN SELECT RAISE(ABORT, 'ledger entries cannot be deleted'); END",
+        "CREATE TRIGGER IF NOT EXISTS ledger_postings_immutable BEFORE UPDATE ON ledger_postings " +
+        "BEGIN SELECT RAISE(ABORT, 'ledger postings are immutable'); END",
+        "CREATE TRIGGER IF NOT EXISTS ledger_postings_permanent BEFORE DELETE ON ledger_postings " +
+        "BEGIN SELECT RAISE(ABORT, 'ledger postings cannot be deleted'); END",
+        "CREATE TRIGGER IF NOT EXISTS ledger_accounts_fixed BEFORE UPDATE OF account_id, type, parent ON ledger_accounts " +
+        "BEGIN SELECT RAISE(ABORT, 'ledger accounts cannot be renamed or re-typed'); END",
+        "CREATE TRIGGER IF NOT EXISTS ledger_accounts_permanent BEFORE DELETE ON ledger_accounts " +
+        "BEGIN SELECT RAISE(ABORT, 'ledger accounts cannot be deleted'); END",
+        "CREATE TRIGGER IF NOT EXISTS ledger_postings_balance AFTER INSERT ON ledger_postings " +
+        "BEGIN UPDATE ledger_accounts SET balance_cents = balance_cents + NEW.amount_cents, postings = postings + 1 " +
+        " WHERE account_id = NEW.account_id OR account_id = (SELECT parent FROM ledger_accounts WHERE account_id = NEW.account_id); END"
 
     
  };
-    try (Connection conn = DriverManager.getConnection(URL)) {
+    try (Connection conn = connect()) {
         for (String sql : createTableSQL) {
             try (Statement stmt = conn.createStatement()) {
                 stmt.execute(sql);
@@ -169,7 +316,7 @@ public class DatabaseManager {
         }
         System.out.println("✅ All database tables created/verified successfully!");
     } catch (SQLException e) { 
-        System.err.println("❌ Error creating tables: " + e.getMessage());
+        logError("❌ Error creating tables", e);
     }
 } 
 
@@ -182,7 +329,7 @@ public class DatabaseManager {
     public List<String[]> getAllUsers() {
         List<String[]> users = new ArrayList<>();
         String sql = "SELECT id, name, email, type, skill, level, status FROM users";
-        try (Connection conn = DriverManager.getConnection(URL);
+        try (Connection conn = connect();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -200,7 +347,7 @@ public class DatabaseManager {
                 });
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching users: " + e.getMessage());
+            logError("Error fetching users", e);
         }
         return users;
     }
@@ -208,7 +355,7 @@ public class DatabaseManager {
     // Adds a new user to the database
     public boolean addUser(String[] userData) {
         String sql = "INSERT INTO users(name, email, type, skill, level, status) VALUES(?,?,?,?,?,?)";
-        try (Connection conn = DriverManager.getConnection(URL);
+        try (Connection conn = connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, userData[1]);
 // name
@@ -223,9 +370,15 @@ public class DatabaseManager {
             pstmt.setString(6, userData[6]);
 // status
             pstmt.executeUpdate();
+            String userId = null;
+            try (Statement st = conn.createStatement();
+                 ResultSet keys = st.executeQuery("SELECT last_insert_rowid()")) {   // the driver has no getGeneratedKeys
+                if (keys.next()) userId = keys.getString(1);
+            }
+            changes.publish(this, ChangeEventBus.Entity.USER, ChangeEventBus.Op.INSERT, userId, null, null, userData[6]);
             return true;
         } catch (SQLException e) {
-            System.err.println("Error adding user: " + e.getMessage());
+            logError("Error adding user", e);
 return false;
         }
     }
@@ -233,25 +386,47 @@ return false;
     // Updates a user's status to "Verified"
     public void updateUserStatus(int userId) {
         String sql = "UPDATE users SET status = ? WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, "Verified");
-            pstmt.setInt(2, userId);
-            pstmt.executeUpdate();
+        writeLock.lock();
+        try (Connection conn = connectForWrite()) {
+            conn.setAutoCommit(false);
+            String[] old = changes.wants(ChangeEventBus.Entity.USER) ? rowState(conn, "SELECT NULL, status FROM users WHERE id = ?", userId) : new String[2];
+            int updated;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, "Verified");
+                pstmt.setInt(2, userId);
+                updated = pstmt.executeUpdate();
+            }
+            conn.commit();
+            if (updated > 0) {
+                changes.publish(this, ChangeEventBus.Entity.USER, ChangeEventBus.Op.UPDATE, String.valueOf(userId), null, old[1], "Verified");
+            }
         } catch (SQLException e) {
-            System.err.println("Error updating user status: " + e.getMessage());
+            logError("Error updating user status", e);
+        } finally {
+            writeLock.unlock();
         }
     }
 
     // Deletes a user from the database by their ID
     public void deleteUser(int userId) {
         String sql = "DELETE FROM users WHERE id = ?";
-        try (Connection conn = DriverManager.getConnection(URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, userId);
-            pstmt.executeUpdate();
+        writeLock.lock();
+        try (Connection conn = connectForWrite()) {
+            conn.setAutoCommit(false);
+            String[] old = changes.wants(ChangeEventBus.Entity.USER) ? rowState(conn, "SELECT NULL, status FROM users WHERE id = ?", userId) : new String[2];
+            int deleted;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
+                deleted = pstmt.executeUpdate();
+            }
+            conn.commit();
+            if (deleted > 0) {
+                changes.publish(this, ChangeEventBus.Entity.USER, ChangeEventBus.Op.DELETE, String.valueOf(userId), null, old[1], null);
+            }
         } catch (SQLException e) {
-            System.err.println("Error deleting user: " + e.getMessage());
+            logError("Error deleting user", e);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -263,7 +438,7 @@ return false;
     public boolean insertProject(ProjectData project) {
     String sql = "INSERT INTO projects (project_id, title, description, client_name, category, budget, difficulty, deadline_days, status) " +
                  "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    try (Connection conn = DriverManager.getConnection(URL);
+    try (Connection conn = connect();
          PreparedStatement pstmt = conn.prepareStatement(sql)) {
         
         pstmt.setString(1, project.projectId);
@@ -277,10 +452,13 @@ return false;
         pstmt.setString(9, project.status);
         
         int rowsAffected = pstmt.executeUpdate();
+        if (rowsAffected > 0) {
+            changes.publish(this, ChangeEventBus.Entity.PROJECT, ChangeEventBus.Op.INSERT, project.projectId, project.projectId, null, project.status);
+        }
 return rowsAffected > 0;
         
     } catch (SQLException e) {
-        System.err.println("❌ Project insertion failed: " + e.getMessage());
+        logError("❌ Project insertion failed", e);
 return false;
     }
 }
@@ -290,50 +468,96 @@ return false;
     public ArrayList<ProjectData> getAllProjects() {
         ArrayList<ProjectData> projects = new ArrayList<>();
         String sql = "SELECT * FROM projects ORDER BY created_date DESC";
-        try (Connection conn = DriverManager.getConnection(URL);
+        try (Connection conn = connect();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                ProjectData project = new ProjectData();
-                project.projectId = rs.getString("project_id");
-                project.title = rs.getString("title");
-                project.description = rs.getString("description");
-                project.clientName = rs.getString("client_name");
-// FIXED: Use clientName
-                project.category = rs.getString("category");
-                project.budget = rs.getDouble("budget");
-                project.difficulty = rs.getString("difficulty");
-                project.deadlineDays = rs.getInt("deadline_days");
-                project.status = rs.getString("status");
-                project.createdDate = rs.getTimestamp("created_date");
-                project.updatedDate = rs.getTimestamp("updated_date");
-                project.completedDate = rs.getTimestamp("completed_date");
-                
-                projects.add(project);
+                projects.add(projectRow(rs));
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Project retrieval failed: " + e.getMessage());
+            logError("❌ Project retrieval failed", e);
         }
         
         return projects;
     }
+
+    // One page of projects, newest first; status null or '' = all statuses
+    public ArrayList<ProjectData> getProjectsPage(String status, int offset, int limit) {
+        ArrayList<ProjectData> projects = new ArrayList<>();
+        String sql = "SELECT * FROM projects WHERE (status = ? OR ? = '') ORDER BY created_date DESC, project_id LIMIT ? OFFSET ?";
+        String filter = status == null ? "" : status;
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, filter);
+            pstmt.setString(2, filter);
+            pstmt.setInt(3, limit);
+            pstmt.setInt(4, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    projects.add(projectRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logError("❌ Project page retrieval failed", e);
+        }
+        return projects;
+    }
+
+    public int countProjects(String status) {
+        String filter = status == null ? "" : status;
+        return getCountBySQL("SELECT COUNT(*) FROM projects WHERE (status = ? OR ? = '')", filter, filter);
+    }
+
+    // Single project, or null if there is no such ID
+    public ProjectData getProjectById(String projectId) {
+        String sql = "SELECT * FROM projects WHERE project_id = ?";
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, projectId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) return projectRow(rs);
+            }
+        } catch (SQLException e) {
+            logError("❌ Project lookup failed", e);
+        }
+        return null;
+    }
+
+    private static ProjectData projectRow(ResultSet rs) throws SQLException {
+        ProjectData project = new ProjectData();
+        project.projectId = rs.getString("project_id");
+        project.title = rs.getString("title");
+        project.description = rs.getString("description");
+        project.clientName = rs.getString("client_name");
+        project.category = rs.getString("category");
+        project.budget = rs.getDouble("budget");
+        project.difficulty = rs.getString("difficulty");
+        project.deadlineDays = rs.getInt("deadline_days");
+        project.status = rs.getString("status");
+        project.createdDate = rs.getTimestamp("created_date");
+        project.updatedDate = rs.getTimestamp("updated_date");
+        project.completedDate = rs.getTimestamp("completed_date");
+        return project;
+    }
     
     // Update project status (unchanged)
     public boolean updateProjectStatus(String projectId, String newStatus) {
-    // First, get the current status for history
-    String currentStatus = getProjectStatus(projectId);
     String updateSQL = "UPDATE projects SET status = ?, updated_date = CURRENT_TIMESTAMP WHERE project_id = ?";
     String historySQL = "INSERT INTO project_status_history (project_id, old_status, new_status, changed_by, change_reason) " +
                         "VALUES (?, ?, ?, ?, ?)";
-    try (Connection conn = DriverManager.getConnection(URL)) {
+    writeLock.lock();
+    try (Connection conn = connectForWrite()) {
         conn.setAutoCommit(false);
+        // First, get the current status for history (same transaction as the update)
+        String currentStatus = rowState(conn, "SELECT project_id, status FROM projects WHERE project_id = ?", projectId)[1];
 // Update project status
+        int updated;
         try (PreparedStatement updateStmt = conn.prepareStatement(updateSQL)) {
             updateStmt.setString(1, newStatus);
             updateStmt.setString(2, projectId);
-            updateStmt.executeUpdate();
+            updated = updateStmt.executeUpdate();
         }
         
         // Insert status history
@@ -347,17 +571,21 @@ return false;
         }
         
         conn.commit();
+        if (updated > 0) changes.publish(this, ChangeEventBus.Entity.PROJECT, ChangeEventBus.Op.UPDATE, projectId, projectId, currentStatus, newStatus);
         return true;
     } catch (SQLException e) {
-        System.err.println("❌ Project status update failed: " + e.getMessage());
+        logError("❌ Project status update failed", e);
 return false;
+    } finally {
+        writeLock.unlock();
     }
 }
 
     
-    private String getProjectStatus(String projectId) {
+    // Current status of a project, "Unknown" if there is no such project
+    public String getProjectStatus(String projectId) {
         String sql = "SELECT status FROM projects WHERE project_id = ?";
-        try (Connection conn = DriverManager.getConnection(URL);
+        try (Connection conn = connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, projectId);
@@ -368,7 +596,7 @@ return false;
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Status retrieval failed: " + e.getMessage());
+            logError("❌ Status retrieval failed", e);
         }
         return "Unknown";
     }
@@ -381,7 +609,7 @@ return false;
     public boolean insertBid(BidData bid) {
     String sql = "INSERT INTO bids (bid_id, project_id, freelancer_name, amount, completion_days, proposal, status, resume_file_path, resume_file_name) " +
                  "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-    try (Connection conn = DriverManager.getConnection(URL);
+    try (Connection conn = connect();
          PreparedStatement pstmt = conn.prepareStatement(sql)) {
         
         pstmt.setString(1, bid.bidId);
@@ -395,10 +623,13 @@ return false;
         pstmt.setString(9, bid.resumeFileName);
         
         int rowsAffected = pstmt.executeUpdate();
+        if (rowsAffected > 0) {
+            changes.publish(this, ChangeEventBus.Entity.BID, ChangeEventBus.Op.INSERT, bid.bidId, bid.projectId, null, bid.status);
+        }
 return rowsAffected > 0;
         
     } catch (SQLException e) {
-        System.err.println("❌ Bid insertion failed: " + e.getMessage());
+        logError("❌ Bid insertion failed", e);
 return false;
     }
 }
@@ -408,29 +639,16 @@ return false;
     public ArrayList<BidData> getAllBids() {
         ArrayList<BidData> bids = new ArrayList<>();
         String sql = "SELECT * FROM bids ORDER BY created_date DESC";
-        try (Connection conn = DriverManager.getConnection(URL);
+        try (Connection conn = connect();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                BidData bid = new BidData();
-                bid.bidId = rs.getString("bid_id");
-                bid.projectId = rs.getString("project_id");
-                bid.freelancerName = rs.getString("freelancer_name"); // FIXED: Use freelancerName
-                bid.amount = rs.getDouble("amount");
-                bid.completionDays = rs.getInt("completion_days");
-                bid.proposal = rs.getString("proposal");
-                bid.status = rs.getString("status");
-                bid.resumeFilePath = rs.getString("resume_file_path");
-                bid.resumeFileName = rs.getString("resume_file_name");
-                bid.createdDate = rs.getTimestamp("created_date");
-                bid.updatedDate = rs.getTimestamp("updated_date");
-                
-                bids.add(bid);
+                bids.add(bidRow(rs));
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Bid retrieval failed: " + e.getMessage());
+            logError("❌ Bid retrieval failed", e);
         }
         
         return bids;
@@ -440,51 +658,122 @@ return false;
     public ArrayList<BidData> getBidsByProject(String projectId) {
         ArrayList<BidData> bids = new ArrayList<>();
         String sql = "SELECT * FROM bids WHERE project_id = ? ORDER BY created_date DESC";
-        try (Connection conn = DriverManager.getConnection(URL);
+        try (Connection conn = connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, projectId);
             ResultSet rs = pstmt.executeQuery();
             
             while (rs.next()) {
-                BidData bid = new BidData();
-                bid.bidId = rs.getString("bid_id");
-                bid.projectId = rs.getString("project_id");
-                bid.freelancerName = rs.getString("freelancer_name"); // FIXED: Use freelancerName
-                bid.amount = rs.getDouble("amount");
-                bid.completionDays = rs.getInt("completion_days");
-                bid.proposal = rs.getString("proposal");
-                bid.status = rs.getString("status");
-                bid.resumeFilePath = rs.getString("resume_file_path");
-                bid.resumeFileName = rs.getString("resume_file_name");
-                bid.createdDate = rs.getTimestamp("created_date");
-                bid.updatedDate = rs.getTimestamp("updated_date");
-                
-                bids.add(bid);
+                bids.add(bidRow(rs));
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Bid retrieval by project failed: " + e.getMessage());
+            logError("❌ Bid retrieval by project failed", e);
         }
         
         return bids;
     }
+
+    // One page of bids, newest first; projectId null or '' = all projects
+    public ArrayList<BidData> getBidsPage(String projectId, int offset, int limit) {
+        ArrayList<BidData> bids = new ArrayList<>();
+        String sql = "SELECT * FROM bids WHERE (project_id = ? OR ? = '') ORDER BY created_date DESC, bid_id LIMIT ? OFFSET ?";
+        String filter = projectId == null ? "" : projectId;
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, filter);
+            pstmt.setString(2, filter);
+            pstmt.setInt(3, limit);
+            pstmt.setInt(4, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    bids.add(bidRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logError("❌ Bid page retrieval failed", e);
+        }
+        return bids;
+    }
+
+    public int countBids(String projectId) {
+        String filter = projectId == null ? "" : projectId;
+        return getCountBySQL("SELECT COUNT(*) FROM bids WHERE (project_id = ? OR ? = '')", filter, filter);
+    }
+
+    private static BidData bidRow(ResultSet rs) throws SQLException {
+        BidData bid = new BidData();
+        bid.bidId = rs.getString("bid_id");
+        bid.projectId = rs.getString("project_id");
+        bid.freelancerName = rs.getString("freelancer_name");
+        bid.amount = rs.getDouble("amount");
+        bid.completionDays = rs.getInt("completion_days");
+        bid.proposal = rs.getString("proposal");
+        bid.status = rs.getString("status");
+        bid.resumeFilePath = rs.getString("resume_file_path");
+        bid.resumeFileName = rs.getString("resume_file_name");
+        bid.createdDate = rs.getTimestamp("created_date");
+        bid.updatedDate = rs.getTimestamp("updated_date");
+        return bid;
+    }
     
     // Update bid status (unchanged)
     public boolean updateBidStatus(String bidId, String newStatus) {
         String sql = "UPDATE bids SET status = ?, updated_date = CURRENT_TIMESTAMP WHERE bid_id = ?";
-        try (Connection conn = DriverManager.getConnection(URL);
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, newStatus);
-            pstmt.setString(2, bidId);
-            
-            int rowsAffected = pstmt.executeUpdate();
+        writeLock.lock();
+        try (Connection conn = connectForWrite()) {
+            conn.setAutoCommit(false);
+            String[] old = changes.wants(ChangeEventBus.Entity.BID) ? rowState(conn, "SELECT project_id, status FROM bids WHERE bid_id = ?", bidId) : new String[2];
+            int rowsAffected;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, newStatus);
+                pstmt.setString(2, bidId);
+                rowsAffected = pstmt.executeUpdate();
+            }
+            conn.commit();
+            if (rowsAffected > 0) {
+                changes.publish(this, ChangeEventBus.Entity.BID, ChangeEventBus.Op.UPDATE, bidId, old[0], old[1], newStatus);
+            }
             return rowsAffected > 0;
         } catch (SQLException e) {
-            System.err.println("❌ Bid status update failed: " + e.getMessage());
+            logError("❌ Bid status update failed", e);
 return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Streams bids added after the given rowid, joined with their project's category and
+    // difficulty, as {rowid, amount, completion_days, category, difficulty, budget} in rowid
+    // order. Withdrawn bids are skipped. Returns the highest rowid seen (afterRowId if none),
+    // so callers can resume from it next time without rescanning the table.
+    public long forEachBidWithProjectSince(long afterRowId, java.util.function.Consumer<Object[]> action) {
+        String sql = "SELECT b.rowid AS bid_rowid, b.amount, b.completion_days, p.category, p.difficulty, p.budget " +
+                    "FROM bids b JOIN projects p ON p.project_id = b.project_id " +
+                    "WHERE b.rowid > ? AND b.status <> 'Withdrawn' ORDER BY b.rowid";
+        long last = afterRowId;
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setLong(1, afterRowId);
+            ps.setFetchSize(500);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    last = rs.getLong("bid_rowid");
+                    action.accept(new Object[]{
+                        last,
+                        rs.getDouble("amount"),
+                        rs.getInt("completion_days"),
+                        rs.getString("category"),
+                        rs.getString("difficulty"),
+                        rs.getDouble("budget")
+                    });
+                }
+            }
+        } catch (SQLException e) {
+            logError("❌ Bid analytics scan failed", e);
         }
+        return last;
     }
 
     // ========================================================================
@@ -497,7 +786,7 @@ return false;
         String sql = "INSERT INTO milestones (milestone_id, project_id, description, amount, payment_method, notes) " +
                     "VALUES " + 
 " (?, ?, ?, ?, ?, ?)";
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, milestoneId);
             ps.setString(2, projectId);
@@ -505,8 +794,10 @@ return false;
             ps.setDouble(4, amount);
             ps.setString(5, paymentMethod);
             ps.setString(6, notes);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+            int rows = ps.executeUpdate();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.MILESTONE, ChangeEventBus.Op.INSERT, milestoneId, projectId, null, "Pending");
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
         }
     }
 
@@ -514,43 +805,71 @@ return false;
         String sql = "SELECT milestone_id, project_id, description, amount, status, payment_method, notes, created_date, due_date, completed_date " +
                     "FROM milestones WHERE project_id = ? OR ? = '' ORDER BY created_date DESC"; // Added OR '' for fetching all
         List<Object[]> rows = new ArrayList<>();
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, projectId);
             ps.setString(2, projectId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    rows.add(new Object[]{
-                        rs.getString("milestone_id"),
-                        rs.getString("project_id"),
-        
-                 rs.getString("description"),
-                        rs.getDouble("amount"),
-                        rs.getString("status"),
-                        rs.getString("payment_method"),
-            
-             rs.getString("notes"),
-                        rs.getString("created_date"),
-                        rs.getString("due_date"),
-                        rs.getString("completed_date")
-                    });
+                    rows.add(milestoneRow(rs));
                 }
             }
-        } catch (SQLException e) { e.printStackTrace();
+        } catch (SQLException e) { logError(e);
         }
         return rows;
     }
 
+    // Single milestone row (same columns as getMilestonesByProject), or null
+    public Object[] getMilestoneById(String milestoneId) {
+        String sql = "SELECT milestone_id, project_id, description, amount, status, payment_method, notes, created_date, due_date, completed_date " +
+                    "FROM milestones WHERE milestone_id = ?";
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, milestoneId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return milestoneRow(rs);
+            }
+        } catch (SQLException e) {
+            logError("❌ Milestone lookup failed", e);
+        }
+        return null;
+    }
+
+    private static Object[] milestoneRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+            rs.getString("milestone_id"),
+            rs.getString("project_id"),
+            rs.getString("description"),
+            rs.getDouble("amount"),
+            rs.getString("status"),
+            rs.getString("payment_method"),
+            rs.getString("notes"),
+            rs.getString("created_date"),
+            rs.getString("due_date"),
+            rs.getString("completed_date")
+        };
+    }
+
     public int updateMilestoneStatus(String milestoneId, String newStatus) {
         String sql = "UPDATE milestones SET status = ?, completed_date = CASE WHEN ? IN ('Released','Cancelled') THEN CURRENT_TIMESTAMP ELSE completed_date END " +
                     "WHERE milestone_id = ?";
-        try (Connection c = DriverManager.getConnection(URL);
-            PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, newStatus);
-            ps.setString(2, newStatus);
-            ps.setString(3, milestoneId);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+        writeLock.lock();
+        try (Connection c = connectForWrite()) {
+            c.setAutoCommit(false);
+            String[] old = changes.wants(ChangeEventBus.Entity.MILESTONE) ? rowState(c, "SELECT project_id, status FROM milestones WHERE milestone_id = ?", milestoneId) : new String[2];
+            int rows;
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setString(1, newStatus);
+                ps.setString(2, newStatus);
+                ps.setString(3, milestoneId);
+                rows = ps.executeUpdate();
+            }
+            c.commit();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.MILESTONE, ChangeEventBus.Op.UPDATE, milestoneId, old[0], old[1], newStatus);
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -558,7 +877,7 @@ return false;
     public int insertEscrow(String escrowId, String projectId, String milestoneId, Integer clientId, Integer freelancerId, double amount) {
         String sql = "INSERT INTO escrow_accounts (escrow_id, project_id, milestone_id, client_id, freelancer_id, amount) " +
                     "VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, escrowId);
             ps.setString(2, projectId);
@@ -567,8 +886,10 @@ return false;
             if (freelancerId == null) ps.setNull(5, java.sql.Types.INTEGER);
             else ps.setInt(5, freelancerId);
             ps.setDouble(6, amount);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+            int rows = ps.executeUpdate();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.ESCROW, ChangeEventBus.Op.INSERT, escrowId, projectId, null, "Funded");
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
         }
     }
     
@@ -577,62 +898,84 @@ return false;
         String sql = "SELECT escrow_id, project_id, milestone_id, client_id, freelancer_id, amount, status, created_date " +
                     "FROM escrow_accounts WHERE project_id = ? OR ? = '' ORDER BY created_date DESC";
         List<Object[]> rows = new ArrayList<>();
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, projectId);
             ps.setString(2, projectId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    rows.add(new Object[]{
-                        rs.getString("escrow_id"),
-                        rs.getString("project_id"),
-                        rs.getString("milestone_id"),
-                        rs.getInt("client_id"),
-                        rs.getInt("freelancer_id"),
-                        rs.getDouble("amount"),
-                        rs.getString("status"),
-                        rs.getString("created_date")
-                    });
+                    rows.add(escrowRow(rs));
                 }
             }
-        } catch (SQLException e) { e.printStackTrace();
+        } catch (SQLException e) { logError(e);
         }
         return rows;
     }
 
     public int updateEscrowStatus(String escrowId, String status) {
         String sql = "UPDATE escrow_accounts SET status = ? WHERE escrow_id = ?";
-        try (Connection c = DriverManager.getConnection(URL);
-            PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, status);
-            ps.setString(2, escrowId);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+        writeLock.lock();
+        try (Connection c = connectForWrite()) {
+            c.setAutoCommit(false);
+            String[] old = changes.wants(ChangeEventBus.Entity.ESCROW) ? rowState(c, "SELECT project_id, status FROM escrow_accounts WHERE escrow_id = ?", escrowId) : new String[2];
+            int rows;
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setString(1, status);
+                ps.setString(2, escrowId);
+                rows = ps.executeUpdate();
+            }
+            c.commit();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.ESCROW, ChangeEventBus.Op.UPDATE, escrowId, old[0], old[1], status);
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
+        } finally {
+            writeLock.unlock();
         }
     }
     
     // NEW: Update Escrow Status by Milestone ID (for dispute/release)
     public int updateEscrowStatusByMilestone(String milestoneId, String status) {
         String sql = "UPDATE escrow_accounts SET status = ? WHERE milestone_id = ?";
-        try (Connection c = DriverManager.getConnection(URL);
-            PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, status);
-            ps.setString(2, milestoneId);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+        writeLock.lock();
+        try (Connection c = connectForWrite()) {
+            c.setAutoCommit(false);
+            // Usually one account per milestone; each gets its own change
+            List<String[]> before = new ArrayList<>();
+            if (changes.wants(ChangeEventBus.Entity.ESCROW)) {
+                try (PreparedStatement q = c.prepareStatement("SELECT escrow_id, project_id, status FROM escrow_accounts WHERE milestone_id = ?")) {
+                    q.setString(1, milestoneId);
+                    try (ResultSet rs = q.executeQuery()) {
+                        while (rs.next()) before.add(new String[]{rs.getString(1), rs.getString(2), rs.getString(3)});
+                    }
+                }
+            }
+            int rows;
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setString(1, status);
+                ps.setString(2, milestoneId);
+                rows = ps.executeUpdate();
+            }
+            c.commit();
+            for (String[] old : before) {
+                changes.publish(this, ChangeEventBus.Entity.ESCROW, ChangeEventBus.Op.UPDATE, old[0], old[1], old[2], status);
+            }
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
+        } finally {
+            writeLock.unlock();
         }
     }
 
     public double getEscrowTotalByProject(String projectId) {
-        String sql = "SELECT COALESCE(SUM(amount),0) AS total FROM escrow_accounts WHERE project_id = ? OR ? = '' AND status IN ('Funded','On Hold')";
-        try (Connection c = DriverManager.getConnection(URL);
+        String sql = "SELECT COALESCE(SUM(amount),0) AS total FROM escrow_accounts WHERE (project_id = ? OR ? = '') AND status IN " + HELD_ESCROW_IN;
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, projectId);
             ps.setString(2, projectId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) return rs.getDouble("total");
             }
-        } catch (SQLException e) { e.printStackTrace();
+        } catch (SQLException e) { logError(e);
         }
         return 0.0;
     }
@@ -643,7 +986,7 @@ return false;
         String sql = "INSERT INTO invoices (invoice_id, project_id, client_id, freelancer_id, amount, description, due_date) " +
                     "VALUES (?, ?, ?, " + 
 " ?, ?, ?, ?)";
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, invoiceId);
             ps.setString(2, projectId);
@@ -652,19 +995,31 @@ return false;
             ps.setDouble(5, amount);
             ps.setString(6, description);
             ps.setString(7, dueDateIso);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+            int rows = ps.executeUpdate();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.INVOICE, ChangeEventBus.Op.INSERT, invoiceId, projectId, null, "Draft");
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
         }
     }
 
     public int updateInvoiceStatus(String invoiceId, String status) {
         String sql = "UPDATE invoices SET status = ? WHERE invoice_id = ?";
-        try (Connection c = DriverManager.getConnection(URL);
-            PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, status);
-            ps.setString(2, invoiceId);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+        writeLock.lock();
+        try (Connection c = connectForWrite()) {
+            c.setAutoCommit(false);
+            String[] old = changes.wants(ChangeEventBus.Entity.INVOICE) ? rowState(c, "SELECT project_id, status FROM invoices WHERE invoice_id = ?", invoiceId) : new String[2];
+            int rows;
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setString(1, status);
+                ps.setString(2, invoiceId);
+                rows = ps.executeUpdate();
+            }
+            c.commit();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.INVOICE, ChangeEventBus.Op.UPDATE, invoiceId, old[0], old[1], status);
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -672,7 +1027,7 @@ return false;
         String sql = "SELECT invoice_id, project_id, client_id, freelancer_id, amount, status, description, created_date, due_date " +
                     "FROM invoices WHERE project_id = ? OR ? = '' ORDER BY created_date DESC";
         List<Object[]> rows = new ArrayList<>();
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, projectId);
             ps.setString(2, projectId);
@@ -693,36 +1048,110 @@ return false;
                     });
                 }
             }
-        } catch (SQLException e) { e.printStackTrace();
+        } catch (SQLException e) { logError(e);
         }
         return rows;
     }
 
+    // Single invoice row (same columns as getInvoicesByProject), or null
+    public Object[] getInvoiceById(String invoiceId) {
+        String sql = "SELECT invoice_id, project_id, client_id, freelancer_id, amount, status, description, created_date, due_date " +
+                    "FROM invoices WHERE invoice_id = ?";
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, invoiceId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return invoiceRow(rs);
+            }
+        } catch (SQLException e) {
+            logError("❌ Invoice lookup failed", e);
+        }
+        return null;
+    }
+
+    // Streams invoices one row at a time (oldest first) instead of building a list, so
+    // batch exports stay bounded in memory. projectId '' = all projects; fromDate/toDate
+    // are inclusive yyyy-MM-dd bounds on created_date, null = open. Returns rows visited,
+    // or -1 if the query failed part way (the rows already passed to action are incomplete).
+    public int forEachInvoice(String projectId, String fromDate, String toDate, java.util.function.Consumer<Object[]> action) {
+        String sql = "SELECT invoice_id, project_id, client_id, freelancer_id, amount, status, description, created_date, due_date " +
+                    "FROM invoices WHERE (project_id = ? OR ? = '') " +
+                    "AND (? IS NULL OR date(created_date) >= ?) AND (? IS NULL OR date(created_date) <= ?) " +
+                    "ORDER BY created_date, invoice_id";
+        int count = 0;
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, projectId);
+            ps.setString(2, projectId);
+            ps.setString(3, fromDate);
+            ps.setString(4, fromDate);
+            ps.setString(5, toDate);
+            ps.setString(6, toDate);
+            ps.setFetchSize(100);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(invoiceRow(rs));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            logError("❌ Invoice stream failed", e);
+            return -1;
+        }
+        return count;
+    }
+
+    private static Object[] invoiceRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+            rs.getString("invoice_id"),
+            rs.getString("project_id"),
+            rs.getObject("client_id"),
+            rs.getObject("freelancer_id"),
+            rs.getDouble("amount"),
+            rs.getString("status"),
+            rs.getString("description"),
+            rs.getString("created_date"),
+            rs.getString("due_date")
+        };
+    }
+
     // ===== Disputes (MODIFIED) =====
     public int insertDispute(String disputeId, String projectId, String milestoneId, String raisedBy, String reason) {
         String sql = "INSERT INTO disputes (dispute_id, project_id, milestone_id, raised_by, reason) VALUES (?, ?, ?, ?, ?)";
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, disputeId);
             ps.setString(2, projectId);
             ps.setString(3, milestoneId);
             ps.setString(4, raisedBy);
             ps.setString(5, reason);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+            int rows = ps.executeUpdate();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.DISPUTE, ChangeEventBus.Op.INSERT, disputeId, projectId, null, "Open");
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
         }
     }
 
     public int updateDispute(String disputeId, String status, String resolution) {
         String sql = "UPDATE disputes SET status = ?, resolution = ?, updated_date = CURRENT_TIMESTAMP WHERE dispute_id = ?";
-        try (Connection c = DriverManager.getConnection(URL);
-            PreparedStatement ps = c.prepareStatement(sql)) {
-            ps.setString(1, status);
-            // Use setString for resolution, which handles null properly for SQLite
-            if (resolution == null) ps.setNull(2, java.sql.Types.VARCHAR); else ps.setString(2, resolution); 
-            ps.setString(3, disputeId);
-            return ps.executeUpdate();
-        } catch (SQLException e) { e.printStackTrace(); return 0;
+        writeLock.lock();
+        try (Connection c = connectForWrite()) {
+            c.setAutoCommit(false);
+            String[] old = changes.wants(ChangeEventBus.Entity.DISPUTE) ? rowState(c, "SELECT project_id, status FROM disputes WHERE dispute_id = ?", disputeId) : new String[2];
+            int rows;
+            try (PreparedStatement ps = c.prepareStatement(sql)) {
+                ps.setString(1, status);
+                // Use setString for resolution, which handles null properly for SQLite
+                if (resolution == null) ps.setNull(2, java.sql.Types.VARCHAR); else ps.setString(2, resolution); 
+                ps.setString(3, disputeId);
+                rows = ps.executeUpdate();
+            }
+            c.commit();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.DISPUTE, ChangeEventBus.Op.UPDATE, disputeId, old[0], old[1], status);
+            return rows;
+        } catch (SQLException e) { logError(e); return 0;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -730,59 +1159,367 @@ return false;
         String sql = "SELECT dispute_id, project_id, milestone_id, raised_by, reason, status, resolution, created_date, updated_date " +
                     "FROM disputes WHERE project_id = ? OR ? = '' ORDER BY created_date DESC";
         List<Object[]> rows = new ArrayList<>();
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, projectId);
             ps.setString(2, projectId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    rows.add(new Object[]{
-                        rs.getString("dispute_id"),
-                        rs.getString("project_id"),
-        
-                 rs.getString("milestone_id"),
-                        rs.getString("raised_by"),
-                        rs.getString("reason"),
-                        rs.getString("status"),
-           
-             rs.getString("resolution"),
-                        rs.getString("created_date"),
-                        rs.getString("updated_date")
-                    });
+                    rows.add(disputeRow(rs));
                 }
             }
-        } catch (SQLException e) { e.printStackTrace();
+        } catch (SQLException e) { logError(e);
+        }
+        return rows;
+    }
+
+    // ===== Paged payment lists (API) =====
+    // One page of a payment table, newest first, with the same columns as its get*ByProject
+    // method; projectId '' = all projects. Only the page is read, so cost does not grow with
+    // the table.
+    private interface RowMapper {
+        Object[] map(ResultSet rs) throws SQLException;
+    }
+
+    private List<Object[]> pageRows(String sql, String projectId, int offset, int limit, RowMapper mapper) {
+        String filter = projectId == null ? "" : projectId;
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, filter);
+            ps.setString(2, filter);
+            ps.setInt(3, limit);
+            ps.setInt(4, offset);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) rows.add(mapper.map(rs));
+            }
+        } catch (SQLException e) {
+            logError("❌ Page retrieval failed", e);
         }
         return rows;
     }
 
+    public List<Object[]> getMilestonesPage(String projectId, int offset, int limit) {
+        return pageRows("SELECT milestone_id, project_id, description, amount, status, payment_method, notes, created_date, due_date, completed_date " +
+                "FROM milestones WHERE (project_id = ? OR ? = '') ORDER BY created_date DESC, milestone_id LIMIT ? OFFSET ?",
+                projectId, offset, limit, DatabaseManager::milestoneRow);
+    }
+
+    public List<Object[]> getEscrowPage(String projectId, int offset, int limit) {
+        return pageRows("SELECT escrow_id, project_id, milestone_id, client_id, freelancer_id, amount, status, created_date " +
+                "FROM escrow_accounts WHERE (project_id = ? OR ? = '') ORDER BY created_date DESC, escrow_id LIMIT ? OFFSET ?",
+                projectId, offset, limit, DatabaseManager::escrowRow);
+    }
+
+    public List<Object[]> getInvoicesPage(String projectId, int offset, int limit) {
+        return pageRows("SELECT invoice_id, project_id, client_id, freelancer_id, amount, status, description, created_date, due_date " +
+                "FROM invoices WHERE (project_id = ? OR ? = '') ORDER BY created_date DESC, invoice_id LIMIT ? OFFSET ?",
+                projectId, offset, limit, DatabaseManager::invoiceRow);
+    }
+
+    public List<Object[]> getDisputesPage(String projectId, int offset, int limit) {
+        return pageRows("SELECT dispute_id, project_id, milestone_id, raised_by, reason, status, resolution, created_date, updated_date " +
+                "FROM disputes WHERE (project_id = ? OR ? = '') ORDER BY created_date DESC, dispute_id LIMIT ? OFFSET ?",
+                projectId, offset, limit, DatabaseManager::disputeRow);
+    }
+
+    public int countMilestones(String projectId) {
+        String filter = projectId == null ? "" : projectId;
+        return getCountBySQL("SELECT COUNT(*) FROM milestones WHERE (project_id = ? OR ? = '')", filter, filter);
+    }
+
+    public int countEscrow(String projectId) {
+        String filter = projectId == null ? "" : projectId;
+        return getCountBySQL("SELECT COUNT(*) FROM escrow_accounts WHERE (project_id = ? OR ? = '')", filter, filter);
+    }
+
+    public int countInvoices(String projectId) {
+        String filter = projectId == null ? "" : projectId;
+        return getCountBySQL("SELECT COUNT(*) FROM invoices WHERE (project_id = ? OR ? = '')", filter, filter);
+    }
+
+    public int countDisputes(String projectId) {
+        String filter = projectId == null ? "" : projectId;
+        return getCountBySQL("SELECT COUNT(*) FROM disputes WHERE (project_id = ? OR ? = '')", filter, filter);
+    }
+
+    private static Object[] escrowRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+            rs.getString("escrow_id"),
+            rs.getString("project_id"),
+            rs.getString("milestone_id"),
+            rs.getInt("client_id"),
+            rs.getInt("freelancer_id"),
+            rs.getDouble("amount"),
+            rs.getString("status"),
+            rs.getString("created_date")
+        };
+    }
+
+    private static Object[] disputeRow(ResultSet rs) throws SQLException {
+        return new Object[]{
+            rs.getString("dispute_id"),
+            rs.getString("project_id"),
+            rs.getString("milestone_id"),
+            rs.getString("raised_by"),
+            rs.getString("reason"),
+            rs.getString("status"),
+            rs.getString("resolution"),
+            rs.getString("created_date"),
+            rs.getString("updated_date")
+        };
+    }
+
     // ===== Dashboard helpers (Unchanged) =====
     public int getMilestoneCountByProject(String projectId) {
         String sql = "SELECT COUNT(*) AS c FROM milestones WHERE project_id = ? OR ? = ''";
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, projectId);
             ps.setString(2, projectId);
             try (ResultSet rs = ps.executeQuery()) { if (rs.next()) return rs.getInt("c");
             }
-        } catch (SQLException e) { e.printStackTrace();
+        } catch (SQLException e) { logError(e);
         }
         return 0;
     }
 
     public int getOpenDisputeCountByProject(String projectId) {
         String sql = "SELECT COUNT(*) AS c FROM disputes WHERE (project_id = ? OR ? = '') AND status IN ('Open','Under Review','Escalated')";
-        try (Connection c = DriverManager.getConnection(URL);
+        try (Connection c = connect();
             PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, projectId);
             ps.setString(2, projectId);
             try (ResultSet rs = ps.executeQuery()) { if (rs.next()) return rs.getInt("c");
             }
-        } catch (SQLException e) { e.printStackTrace();
+        } catch (SQLException e) { logError(e);
         }
         return 0;
     }
 
+    // ========================================================================
+    // LEDGER METHODS (double-entry journal behind Ledger)
+    // ========================================================================
+
+    // Appends one balanced entry: header plus postings in a single transaction, creating any
+    // account it names. Returns false without writing when the reference was already posted
+    // (so retries are harmless) or when the insert fails; unbalanced postings are rejected.
+    public boolean postLedgerEntry(String reference, String kind, String sourceId, String state,
+                                   String description, List<Ledger.Posting> postings) {
+        long sum = 0;
+        for (Ledger.Posting p : postings) sum += p.amountCents;
+        if (postings.size() < 2 || sum != 0) throw new IllegalArgumentException("Unbalanced ledger entry " + reference + " (" + sum + " cents)");
+
+        String entrySQL = "INSERT OR IGNORE INTO ledger_entries (reference, kind, source_id, state, description) VALUES (?, ?, ?, ?, ?)";
+        String accountSQL = "INSERT OR IGNORE INTO ledger_accounts (account_id, type, parent) VALUES (?, ?, ?)";
+        String postingSQL = "INSERT INTO ledger_postings (entry_id, account_id, amount_cents) VALUES (?, ?, ?)";
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try {
+                long entryId;
+                try (PreparedStatement ps = conn.prepareStatement(entrySQL)) {
+                    ps.setString(1, reference);
+                    ps.setString(2, kind);
+                    ps.setString(3, sourceId);
+                    ps.setString(4, state);
+                    ps.setString(5, description);
+                    if (ps.executeUpdate() == 0) {
+                        conn.rollback();
+                        return false;
+                    }
+                    try (Statement st = conn.createStatement();
+                         ResultSet keys = st.executeQuery("SELECT last_insert_rowid()")) {
+                        keys.next();
+                        entryId = keys.getLong(1);
+                    }
+                }
+                try (PreparedStatement accounts = conn.prepareStatement(accountSQL);
+                     PreparedStatement lines = conn.prepareStatement(postingSQL)) {
+                    for (Ledger.Posting p : postings) {
+                        if (p.parent != null) {
+                            accounts.setString(1, p.parent);
+                            accounts.setString(2, p.type);
+                            accounts.setNull(3, java.sql.Types.VARCHAR);
+                            accounts.executeUpdate();
+                        }
+                        accounts.setString(1, p.accountId);
+                        accounts.setString(2, p.type);
+                        accounts.setString(3, p.parent);
+                        accounts.executeUpdate();
+                        lines.setLong(1, entryId);
+                        lines.setString(2, p.accountId);
+                        lines.setLong(3, p.amountCents);
+                        lines.addBatch();
+                    }
+                    lines.executeBatch();
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logError("❌ Ledger entry " + reference + " failed", e);
+            return false;
+        }
+    }
+
+    // {type, balance_cents (debit positive), postings} for one account, or null if it has never been posted to
+    public Object[] getLedgerAccount(String accountId) {
+        String sql = "SELECT type, balance_cents, postings FROM ledger_accounts WHERE account_id = ?";
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, accountId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) return new Object[]{rs.getString("type"), rs.getLong("balance_cents"), rs.getLong("postings")};
+            }
+        } catch (SQLException e) {
+            logError("❌ Ledger balance query failed", e);
+        }
+        return null;
+    }
+
+    // {account_id, type, parent, balance_cents, postings} for every account, by account_id
+    public List<Object[]> getLedgerAccounts() {
+        String sql = "SELECT account_id, type, parent, balance_cents, postings FROM ledger_accounts ORDER BY account_id";
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql);
+            ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new Object[]{rs.getString("account_id"), rs.getString("type"), rs.getString("parent"),
+                        rs.getLong("balance_cents"), rs.getLong("postings")});
+            }
+        } catch (SQLException e) {
+            logError("❌ Ledger account query failed", e);
+        }
+        return rows;
+    }
+
+    // Streams escrow accounts (all of them, or one when escrowId is set) with the state of their
+    // latest ledger entry, as {escrow_id, project_id, freelancer_id, amount, status, ledger_state,
+    // ledger_moves}. ledger_state is null (and ledger_moves 0) for escrow the ledger has never
+    // seen. Returns rows visited, -1 on error.
+    public int forEachEscrowWithLedgerState(String escrowId, java.util.function.Consumer<Object[]> action) {
+        String sql = "SELECT e.escrow_id, e.project_id, e.freelancer_id, e.amount, e.status, " +
+                    "(SELECT l.state FROM ledger_entries l WHERE l.source_id = e.escrow_id ORDER BY l.entry_id DESC LIMIT 1) AS ledger_state, " +
+                    "(SELECT COUNT(*) FROM ledger_entries l WHERE l.source_id = e.escrow_id) AS ledger_moves " +
+                    "FROM escrow_accounts e" + (escrowId != null ? " WHERE e.escrow_id = ?" : "") + " ORDER BY e.escrow_id";
+        int n = 0;
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            if (escrowId != null) ps.setString(1, escrowId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Object freelancer = rs.getObject("freelancer_id");
+                    action.accept(new Object[]{
+                        rs.getString("escrow_id"),
+                        rs.getString("project_id"),
+                        freelancer == null ? null : ((Number) freelancer).intValue(),
+                        rs.getDouble("amount"),
+                        rs.getString("status"),
+                        rs.getString("ledger_state"),
+                        rs.getLong("ledger_moves")
+                    });
+                    n++;
+                }
+            }
+        } catch (SQLException e) {
+            logError("❌ Escrow ledger scan failed", e);
+            return -1;
+        }
+        return n;
+    }
+
+    public List<String> getEscrowIdsByMilestone(String milestoneId) {
+        String sql = "SELECT escrow_id FROM escrow_accounts WHERE milestone_id = ? ORDER BY escrow_id";
+        List<String> ids = new ArrayList<>();
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, milestoneId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getString(1));
+            }
+        } catch (SQLException e) { logError(e);
+        }
+        return ids;
+    }
+
+    // Streams every posting in entry order as {entry_id, account_id, amount_cents, created_date}.
+    // Returns postings visited, -1 on error.
+    public long forEachLedgerPosting(java.util.function.Consumer<Object[]> action) {
+        String sql = "SELECT p.entry_id, p.account_id, p.amount_cents, e.created_date " +
+                    "FROM ledger_postings p JOIN ledger_entries e ON e.entry_id = p.entry_id ORDER BY p.entry_id, p.posting_id";
+        long n = 0;
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setFetchSize(1000);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(new Object[]{rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4)});
+                    n++;
+                }
+            }
+        } catch (SQLException e) {
+            logError("❌ Ledger posting scan failed", e);
+            return -1;
+        }
+        return n;
+    }
+
+    // Streams {project_id, held} where held is the HELD_ESCROW_STATUSES total of one project
+    public int forEachHeldEscrowByProject(java.util.function.Consumer<Object[]> action) {
+        String sql = "SELECT project_id, SUM(amount) AS held FROM escrow_accounts WHERE status IN " + HELD_ESCROW_IN + " GROUP BY project_id";
+        int n = 0;
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql);
+            ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                action.accept(new Object[]{rs.getString("project_id"), rs.getDouble("held")});
+                n++;
+            }
+        } catch (SQLException e) {
+            logError("❌ Held escrow scan failed", e);
+            return -1;
+        }
+        return n;
+    }
+
+    // ===== Wage rates =====
+    // Rows as {dimension, label, value}, in display order per dimension
+    public List<Object[]> getWageRates() {
+        String sql = "SELECT dimension, label, value FROM wage_rates ORDER BY dimension, sort_order, rowid";
+        List<Object[]> rows = new ArrayList<>();
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql);
+            ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new Object[]{ rs.getString("dimension"), rs.getString("label"), rs.getDouble("value") });
+            }
+        } catch (SQLException e) {
+            logError("❌ Wage rate query failed", e);
+        }
+        return rows;
+    }
+
+    public int insertWageRate(String dimension, String label, double value, int sortOrder) {
+        String sql = "INSERT OR IGNORE INTO wage_rates (dimension, label, value, sort_order) VALUES (?, ?, ?, ?)";
+        try (Connection c = connect();
+            PreparedStatement ps = c.prepareStatement(sql)) {
+            ps.setString(1, dimension);
+            ps.setString(2, label);
+            ps.setDouble(3, value);
+            ps.setInt(4, sortOrder);
+            int rows = ps.executeUpdate();
+            if (rows > 0) changes.publish(this, ChangeEventBus.Entity.WAGE_RATE, ChangeEventBus.Op.INSERT, dimension + ":" + label, null, null, null);
+            return rows;
+        } catch (SQLException e) {
+            logError("❌ Wage rate insert failed", e);
+            return 0;
+        }
+    }
+
 
     // ========================================================================
     // STATISTICS METHODS (NEW - Unchanged)
@@ -808,64 +1545,52 @@ return false;
         return getCountBySQL("SELECT COUNT(*) FROM bids WHERE status = 'Pending'");
     }
     
-    private int getCountBySQL(String sql) {
-        try (Connection conn = DriverManager.getConnection(URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            if (rs.next()) {
-                return 
+    // Highest numeric suffix among IDs such as PRJ007 (0 if none), so ID counters can
+    // continue from the database after a restart. table and idColumn are fixed names
+    // supplied by the services, never user input.
+    public int getMaxIdNumber(String table, String idColumn, String prefix) {
+        if (!table.matches("[a-z_]+") || !idColumn.matches("[a-z_]+")) {
+            throw new IllegalArgumentException("Invalid table or column: " + table + "." + idColumn);
+        }
+        String sql = "SELECT COALESCE(MAX(CAST(SUBSTR(" + idColumn + ", ?) AS INTEGER)), 0) FROM " + table +
+                     " WHERE " + idColumn + " GLOB ?";
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, prefix.length() + 1);
+            pstmt.setString(2, prefix + "[0-9]*");
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            logError("❌ ID lookup failed", e);
+        }
+        return 0;
+    }
+
+    private int getCountBySQL(String sql, String... params) {
+        try (Connection conn = connect();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) pstmt.setString(i + 1, params[i]);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return 
 rs.getInt(1);
+                }
             }
             
         } catch (SQLException e) {
-            System.err.println("❌ Count query failed: " + e.getMessage());
+            logError("❌ Count query failed", e);
         }
         return 0;
     }
     
     // Utility method to check database connection
     public boolean testConnection() {
-        try (Connection conn = DriverManager.getConnection(URL)) {
+        try (Connection conn = connect()) {
             return conn != null;
         } catch (SQLException e) {
-            System.err.println("❌ Database connection test failed: " + e.getMessage());
+            logError("❌ Database connection test failed", e);
 return false;
         }
     }
 }
-
-// ========================================================================
-// DATA CLASSES FOR DATABASE OPERATIONS (NEW - Unchanged)
-// ========================================================================
-
-class ProjectData {
-    public String projectId;
-    public String title;
-    public String description;
-    public String clientName; 
-    public int clientId;
-    public String category;
-    public double budget;
-    public String difficulty;
-    public int deadlineDays;
-    public String status;
-    public Timestamp createdDate;
-    public Timestamp updatedDate;
-    public Timestamp completedDate;
-}
-
-class BidData {
-    public String bidId;
-    public String projectId;
-    public String freelancerName; 
-    public int freelancerId;
-    public double amount;
-    public int completionDays;
-    public String proposal;
-    public String status;
-    public String resumeFilePath;
-    public String resumeFileName;
-    public Timestamp createdDate;
-    public Timestamp updatedDate;
-}
\ No newline at end of file
@@ -0,0 +1,457 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import jdk.jfr.EventType;
+
+// ========================================================================
+// DATABASE METRICS
+// Opt-in instrumentation for the connections DatabaseManager opens. With
+// -Ddb.metrics=true, connections, statements and result sets are wrapped
+// in proxies that record:
+//   method:<name>   time from connect to close, attributed to the outermost
+//                   DatabaseManager method on the stack
+//   sql:<text>      execute through the last row read, plus rows returned
+//   connect         time spent waiting for DriverManager.getConnection
+// as latency histograms (QuantileSketch) with counts, rows and errors.
+// Statements slower than the threshold are appended to a JSON-lines slow
+// query log; bound parameter values are never written, only their types,
+// and string literals in the SQL text are masked the same way.
+// Each statement is also emitted as a JFR DatabaseEvent (table and project
+// id filled in on a best-effort parse of the SQL) whenever a recording has
+// that event enabled, even with the metrics themselves switched off.
+// Otherwise DatabaseManager gets plain connections: the proxies dispatch
+// every JDBC call, down to each ResultSet getter, through reflection, so
+// they stay off unless someone is measuring.
+//
+//   -Ddb.metrics=true             instrument connections (default off)
+//   -Ddb.slow.ms=200              slow-query threshold in milliseconds
+//   -Ddb.slow.log=slow_queries.log
+//   -Ddb.metrics.dump=<file>      write report() to <file> at exit
+// ========================================================================
+public final class DbMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("db.metrics");
+    private static final long SLOW_NANOS = Long.getLong("db.slow.ms", 200) * 1_000_000L;
+    private static final Path SLOW_LOG = Paths.get(System.getProperty("db.slow.log", "slow_queries.log"));
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern TABLE = Pattern.compile("(?i)\\b(?:FROM|INTO|UPDATE|EXISTS)\\s+([A-Za-z_][A-Za-z0-9_]*)");
+    private static final Pattern PROJECT_MATCH = Pattern.compile("(?i)\\bproject_id\\s*=\\s*\\?");
+    private static final EventType DB_EVENTS = EventType.getEventType(DatabaseEvent.class);
+    private static final Map<String, SqlShape> SHAPES = new ConcurrentHashMap<>();
+    private static final StackWalker WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+    private static final Timer CONNECT = timer("connect");
+    private static Writer slowLog;   // guarded by DbMetrics.class
+
+    static {
+        String dump = System.getProperty("db.metrics.dump");
+        if (ENABLED && dump != null && !dump.trim().isEmpty()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dump(Paths.get(dump.trim()));
+                } catch (IOException e) {
+                    System.err.println("❌ Could not write DB metrics: " + e.getMessage());
+                }
+            }, "db-metrics-dump"));
+        }
+    }
+
+    private DbMetrics() {
+    }
+
+    // One latency histogram plus counters
+    public static final class Timer {
+        public final String name;
+        private QuantileSketch sketch = new QuantileSketch();
+        private long count, errors, rows, totalNanos;
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        synchronized void record(long nanos, long rowCount, boolean failed) {
+            sketch.add(nanos);
+            count++;
+            rows += rowCount;
+            totalNanos += nanos;
+            if (failed) errors++;
+        }
+
+        synchronized void clear() {
+            sketch = new QuantileSketch();
+            count = errors = rows = totalNanos = 0;
+        }
+
+        public synchronized long count() { return count; }
+        public synchronized long errors() { return errors; }
+        public synchronized long rows() { return rows; }
+        public synchronized double totalMillis() { return totalNanos / 1e6; }
+        public synchronized double meanMillis() { return count == 0 ? 0 : totalNanos / 1e6 / count; }
+        public synchronized double percentileMillis(double q) { return count == 0 ? 0 : sketch.quantile(q) / 1e6; }
+        public synchronized double maxMillis() { return count == 0 ? 0 : sketch.max() / 1e6; }
+    }
+
+    // Open a connection for DatabaseManager; plain unless metrics are on or a JFR recording wants DatabaseEvents
+    static Connection connect(String url) throws SQLException {
+        return connect(url, new Properties());
+    }
+
+    // info carries driver settings such as sqlite-jdbc's transaction_mode
+    static Connection connect(String url, Properties info) throws SQLException {
+        if (!ENABLED && !DB_EVENTS.isEnabled()) return DriverManager.getConnection(url, info);
+        String method = callingMethod();
+        long start = System.nanoTime();
+        Connection conn;
+        try {
+            conn = DriverManager.getConnection(url, info);
+        } catch (SQLException e) {
+            if (ENABLED) {
+                CONNECT.record(System.nanoTime() - start, 0, true);
+                timer("method:" + method).record(System.nanoTime() - start, 0, true);
+            }
+            throw e;
+        }
+        if (ENABLED) CONNECT.record(System.nanoTime() - start, 0, false);
+        return (Connection) Proxy.newProxyInstance(DbMetrics.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(conn, method, start));
+    }
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, Timer::new);
+    }
+
+    // All timers, slowest total first
+    public static List<Timer> snapshot() {
+        List<Timer> timers = new ArrayList<>(TIMERS.values());
+        timers.sort((a, b) -> Double.compare(b.totalMillis(), a.totalMillis()));
+        return timers;
+    }
+
+    public static void reset() {
+        for (Timer t : TIMERS.values()) t.clear();
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-60s %8s %6s %9s %9s %9s %9s %9s%n",
+                "name", "count", "errors", "rows", "mean ms", "p50 ms", "p99 ms", "max ms"));
+        for (Timer t : snapshot()) {
+            String name = t.name.length() > 60 ? t.name.substring(0, 57) + "..." : t.name;
+            sb.append(String.format("%-60s %8d %6d %9d %9.2f %9.2f %9.2f %9.2f%n", name, t.count(), t.errors(), t.rows(),
+                    t.meanMillis(), t.percentileMillis(0.50), t.percentileMillis(0.99), t.maxMillis()));
+        }
+        return sb.toString();
+    }
+
+    public static void dump(Path file) throws IOException {
+        Files.write(file, report().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Outermost DatabaseManager frame, so helper calls are charged to the public method
+    private static String callingMethod() {
+        return WALKER.walk(frames -> {
+            String found = "unknown";
+            boolean inManager = false;
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                if (f.getDeclaringClass() == DbMetrics.class) continue;
+                if (DatabaseManager.class.isAssignableFrom(f.getDeclaringClass()) && !f.getMethodName().startsWith("lambda$")) {
+                    found = f.getMethodName();
+                    inManager = true;
+                } else if (inManager) {
+                    break;
+                }
+            }
+            return found;
+        });
+    }
+
+    static String redact(String sql) {
+        return STRING_LITERAL.matcher(sql).replaceAll("?");
+    }
+
+    private static void finishStatement(String method, String sql, List<String> paramTypes, long start, long rows, boolean failed) {
+        long elapsed = System.nanoTime() - start;
+        String redacted = redact(sql);
+        timer("sql:" + redacted).record(elapsed, rows, failed);
+        if (elapsed >= SLOW_NANOS) logSlow(method, redacted, paramTypes, elapsed, rows, failed);
+    }
+
+    // Table name and the 1-based parameter bound to project_id (0 if none), parsed once per SQL string
+    private static final class SqlShape {
+        final String table;
+        final int projectParam;
+
+        SqlShape(String sql) {
+            java.util.regex.Matcher t = TABLE.matcher(sql);
+            table = t.find() ? t.group(1).toLowerCase() : "unknown";
+            projectParam = projectParameter(sql);
+        }
+
+        private static int projectParameter(String sql) {
+            java.util.regex.Matcher m = PROJECT_MATCH.matcher(sql);
+            if (m.find()) return countPlaceholders(sql, m.end());
+            // INSERT INTO t (a, project_id, ...) VALUES (?, ?, ...): position in the column list
+            String upper = sql.toUpperCase();
+            int open = sql.indexOf('('), close = sql.indexOf(')');
+            if (!upper.trim().startsWith("INSERT") || open < 0 || close < open) return 0;
+            String[] columns = sql.substring(open + 1, close).split(",");
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i].trim().equalsIgnoreCase("project_id")) return i + 1;
+            }
+            return 0;
+        }
+
+        private static int countPlaceholders(String sql, int end) {
+            int n = 0;
+            for (int i = 0; i < end; i++) if (sql.charAt(i) == '?') n++;
+            return n;
+        }
+    }
+
+    static SqlShape shape(String sql) {
+        return SHAPES.computeIfAbsent(sql, SqlShape::new);
+    }
+
+    private static synchronized void logSlow(String method, String sql, List<String> paramTypes, long nanos, long rows, boolean failed) {
+        StringBuilder line = new StringBuilder(160 + sql.length());
+        line.append("{\"ts\":\"").append(Instant.now()).append("\",\"thread\":");
+        appendJson(line, Thread.currentThread().getName());
+        line.append(",\"method\":");
+        appendJson(line, method);
+        line.append(",\"sql\":");
+        appendJson(line, sql);
+        line.append(",\"params\":[");
+        for (int i = 0; i < paramTypes.size(); i++) {
+            if (i > 0) line.append(',');
+            appendJson(line, paramTypes.get(i));
+        }
+        line.append("],\"elapsed_ms\":");
+        MoneyFormat.appendFixed(line, nanos / 1e6, 2);
+        line.append(",\"rows\":").append(rows).append(",\"failed\":").append(failed).append("}\n");
+        try {
+            if (slowLog == null) {
+                slowLog = Files.newBufferedWriter(SLOW_LOG, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            slowLog.write(line.toString());
+            slowLog.flush();
+        } catch (IOException e) {
+            System.err.println("❌ Slow query log write failed: " + e.getMessage());
+        }
+    }
+
+    private static void appendJson(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    private static Object invoke(Object target, Method m, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // ========================================================================
+    // PROXY HANDLERS
+    // ========================================================================
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final String method;
+        private final long opened;
+        private boolean failed, closed;
+
+        ConnectionHandler(Connection target, String method, long opened) {
+            this.target = target;
+            this.method = method;
+            this.opened = opened;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            switch (m.getName()) {
+                case "prepareStatement": {
+                    Object ps = DbMetrics.invoke(target, m, args);
+                    return Proxy.newProxyInstance(DbMetrics.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                            new StatementHandler(this, (Statement) ps, (String) args[0]));
+                }
+                case "createStatement": {
+                    Object st = DbMetrics.invoke(target, m, args);
+                    return Proxy.newProxyInstance(DbMetrics.class.getClassLoader(), new Class<?>[]{Statement.class},
+                            new StatementHandler(this, (Statement) st, null));
+                }
+                case "close": {
+                    try {
+                        return DbMetrics.invoke(target, m, args);
+                    } finally {
+                        if (!closed && ENABLED) {
+                            closed = true;
+                            timer("method:" + method).record(System.nanoTime() - opened, 0, failed);
+                        }
+                    }
+                }
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                default:
+                    return DbMetrics.invoke(target, m, args);
+            }
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final ConnectionHandler conn;
+        private final Statement target;
+        private final String preparedSql;
+        private final List<String> paramTypes = new ArrayList<>();
+        private final SqlShape preparedShape;
+        private String projectId;
+        // The statement currently being timed (until its result set is drained/closed)
+        private String activeSql;
+        private DatabaseEvent activeEvent;
+        private long activeStart;
+        private long activeRows;
+        private boolean activeFailed;
+
+        StatementHandler(ConnectionHandler conn, Statement target, String preparedSql) {
+            this.conn = conn;
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.preparedShape = preparedSql != null ? shape(preparedSql) : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            String name = m.getName();
+            if (name.startsWith("execute")) {
+                finishActive();
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+                activeSql = sql != null ? sql : "?";
+                activeStart = System.nanoTime();
+                activeRows = 0;
+                activeFailed = false;
+                if (DB_EVENTS.isEnabled()) {
+                    activeEvent = new DatabaseEvent();
+                    activeEvent.begin();
+                }
+                Object result;
+                try {
+                    result = DbMetrics.invoke(target, m, args);
+                } catch (Throwable t) {
+                    activeFailed = true;
+                    conn.failed = true;
+                    finishActive();
+                    throw t;
+                }
+                if (result instanceof ResultSet) {
+                    return Proxy.newProxyInstance(DbMetrics.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                            new ResultSetHandler(this, (ResultSet) result));
+                }
+                if (result instanceof Integer) activeRows = (Integer) result;
+                finishActive();
+                return result;
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                int index = (Integer) args[0];
+                while (paramTypes.size() < index) paramTypes.add("?");
+                paramTypes.set(index - 1, args[1] == null || name.equals("setNull") ? "null" : args[1].getClass().getSimpleName());
+                if (preparedShape != null && index == preparedShape.projectParam) projectId = args[1] instanceof String ? (String) args[1] : null;
+            } else if (name.equals("clearParameters")) {
+                paramTypes.clear();
+                projectId = null;
+            } else if (name.equals("close")) {
+                finishActive();
+            } else if (name.equals("unwrap")) {
+                return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+            } else if (name.equals("isWrapperFor")) {
+                return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+            }
+            return DbMetrics.invoke(target, m, args);
+        }
+
+        void finishActive() {
+            if (activeSql == null) return;
+            if (ENABLED) finishStatement(conn.method, activeSql, paramTypes, activeStart, activeRows, activeFailed);
+            if (activeEvent != null) {
+                activeEvent.end();
+                if (activeEvent.shouldCommit()) {
+                    SqlShape shape = preparedShape != null ? preparedShape : shape(activeSql);
+                    activeEvent.method = conn.method;
+                    activeEvent.entityType = shape.table;
+                    activeEvent.projectId = preparedShape != null ? projectId : null;
+                    activeEvent.rowCount = activeRows;
+                    activeEvent.sql = redact(activeSql);
+                    activeEvent.failed = activeFailed;
+                    activeEvent.commit();
+                }
+                activeEvent = null;
+            }
+            activeSql = null;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final StatementHandler statement;
+        private final ResultSet target;
+
+        ResultSetHandler(StatementHandler statement, ResultSet target) {
+            this.statement = statement;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+            switch (m.getName()) {
+                case "next": {
+                    Object more = DbMetrics.invoke(target, m, args);
+                    if ((Boolean) more) statement.activeRows++;
+                    return more;
+                }
+                case "close":
+                    try {
+                        return DbMetrics.invoke(target, m, args);
+                    } finally {
+                        statement.finishActive();
+                    }
+                case "getStatement":
+                    return DbMetrics.invoke(target, m, args);
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                default:
+                    return DbMetrics.invoke(target, m, args);
+            }
+        }
+    }
+}
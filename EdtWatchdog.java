@@ -0,0 +1,321 @@
+import java.awt.AWTEvent;
+import java.awt.ActiveEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ========================================================================
+// EDT WATCHDOG
+// Times every event the Swing event dispatch thread handles. A replacement
+// EventQueue wraps dispatchEvent; a daemon sampler checks the dispatch in
+// flight and, once it has run past the threshold, grabs the EDT stack while
+// the handler is still blocked. When the dispatch finishes it is charged to
+// an action: the first application method under the listener on the sampled
+// stack (ProjectManager.postProject, PaymentManager.loadMilestonesFor, ...),
+// or the event itself when it ended before the sampler saw it.
+// Per action the watchdog keeps the stall count, a duration histogram and
+// the stack of the worst stall; overall it keeps the dispatch latency of
+// every event, so report() gives both "where does the UI block" and "how
+// responsive is it in general". Time spent inside a nested event loop (a
+// modal JOptionPane or dialog) is not counted against the event that opened
+// it, since the UI keeps responding there.
+//
+//   -Dedt.watchdog=true           install at startup (off by default)
+//   -Dedt.stall.ms=100            stall threshold in milliseconds
+//   -Dedt.watchdog.log=false      do not print each stall to stderr
+//   -Dedt.watchdog.dump=<file>    write report() to <file> at exit
+// ========================================================================
+public final class EdtWatchdog extends EventQueue {
+    public static final boolean ENABLED = Boolean.getBoolean("edt.watchdog");
+    private static final long DEFAULT_STALL_MS = 100;
+    private static final int STACK_DEPTH = 25;
+    private static EdtWatchdog installed;   // guarded by EdtWatchdog.class
+
+    private final long thresholdNanos;
+    private final boolean logStalls;
+    private final Deque<Dispatch> nesting = new ArrayDeque<>();   // EDT only
+    private volatile Dispatch current;
+    private volatile boolean running = true;
+    private final Map<String, ActionStats> actions = new ConcurrentHashMap<>();
+    private final Object latencyLock = new Object();
+    private QuantileSketch dispatchLatency = new QuantileSketch();   // guarded by latencyLock
+    private final AtomicLong stalls = new AtomicLong();
+    private final AtomicLong stalledNanos = new AtomicLong();
+    private final long startedAt = System.nanoTime();
+
+    // One event being dispatched; active time excludes nested event loops
+    private static final class Dispatch {
+        final AWTEvent event;
+        final Thread thread;
+        long activeNanos;
+        long resumedAt;
+        volatile StackTraceElement[] stack;
+
+        Dispatch(AWTEvent event, Thread thread, long now) {
+            this.event = event;
+            this.thread = thread;
+            this.resumedAt = now;
+        }
+
+        long elapsed(long now) {
+            return activeNanos + (now - resumedAt);
+        }
+    }
+
+    // Stall statistics for one action
+    public static final class ActionStats {
+        public final String action;
+        private final QuantileSketch millis = new QuantileSketch();
+        private double worstStackMillis;
+        private StackTraceElement[] worstStack;
+
+        ActionStats(String action) {
+            this.action = action;
+        }
+
+        synchronized void record(double elapsedMillis, StackTraceElement[] stack) {
+            millis.add(elapsedMillis);
+            if (stack != null && elapsedMillis >= worstStackMillis) {
+                worstStackMillis = elapsedMillis;
+                worstStack = stack;
+            }
+        }
+
+        public synchronized long count() { return millis.count(); }
+
+        public synchronized double totalMillis() { return millis.count() * millis.mean(); }
+
+        public synchronized double percentileMillis(double q) { return millis.quantile(q); }
+
+        public synchronized double maxMillis() { return millis.max(); }
+
+        public synchronized double worstStackMillis() { return worstStackMillis; }
+
+        public synchronized StackTraceElement[] worstStack() {
+            return worstStack == null ? new StackTraceElement[0] : worstStack.clone();
+        }
+    }
+
+    private EdtWatchdog(long thresholdMillis, boolean logStalls) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.logStalls = logStalls;
+    }
+
+    // Install from system properties if -Dedt.watchdog=true; safe to call more than once
+    public static EdtWatchdog installIfEnabled() {
+        if (!ENABLED) return null;
+        EdtWatchdog watchdog = install(Long.getLong("edt.stall.ms", DEFAULT_STALL_MS),
+                !"false".equalsIgnoreCase(System.getProperty("edt.watchdog.log")));
+        String dump = System.getProperty("edt.watchdog.dump");
+        if (dump != null && !dump.trim().isEmpty()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    watchdog.dump(Paths.get(dump.trim()));
+                } catch (IOException e) {
+                    System.err.println("❌ Could not write EDT report: " + e.getMessage());
+                }
+            }, "edt-watchdog-dump"));
+        }
+        return watchdog;
+    }
+
+    public static synchronized EdtWatchdog install(long thresholdMillis, boolean logStalls) {
+        if (installed != null) return installed;
+        if (thresholdMillis < 1) throw new IllegalArgumentException("stall threshold must be at least 1 ms");
+        EdtWatchdog watchdog = new EdtWatchdog(thresholdMillis, logStalls);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+        Thread sampler = new Thread(watchdog::sample, "edt-watchdog");
+        sampler.setDaemon(true);
+        sampler.start();
+        installed = watchdog;
+        System.out.println("✅ EDT watchdog active, stall threshold " + thresholdMillis + " ms");
+        return watchdog;
+    }
+
+    public static synchronized EdtWatchdog current() {
+        return installed;
+    }
+
+    // Restore the previous queue and stop sampling
+    public static synchronized void uninstall() {
+        if (installed == null) return;
+        installed.running = false;
+        installed.pop();
+        installed = null;
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long now = System.nanoTime();
+        Dispatch outer = nesting.peek();
+        if (outer != null) outer.activeNanos += now - outer.resumedAt;   // a modal loop took over
+        Dispatch dispatch = new Dispatch(event, Thread.currentThread(), now);
+        nesting.push(dispatch);
+        current = dispatch;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long end = System.nanoTime();
+            nesting.pop();
+            current = outer;
+            if (outer != null) outer.resumedAt = end;
+            finish(dispatch, dispatch.elapsed(end));
+        }
+    }
+
+    // Sampler thread: capture the EDT stack once per dispatch, while it is still over the threshold
+    private void sample() {
+        long periodMillis = Math.max(5, thresholdNanos / 2_000_000L);
+        while (running) {
+            try {
+                Thread.sleep(periodMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Dispatch dispatch = current;
+            if (dispatch != null && dispatch.stack == null && dispatch.elapsed(System.nanoTime()) >= thresholdNanos) {
+                StackTraceElement[] stack = dispatch.thread.getStackTrace();
+                if (current == dispatch) dispatch.stack = stack;   // still the same handler
+            }
+        }
+    }
+
+    private void finish(Dispatch dispatch, long elapsedNanos) {
+        double elapsedMillis = elapsedNanos / 1e6;
+        synchronized (latencyLock) {
+            dispatchLatency.add(elapsedMillis);
+        }
+        if (elapsedNanos < thresholdNanos) return;
+        StackTraceElement[] stack = trim(dispatch.stack);
+        String action = actionFor(dispatch.event, stack);
+        actions.computeIfAbsent(action, ActionStats::new).record(elapsedMillis, stack);
+        stalls.incrementAndGet();
+        stalledNanos.addAndGet(elapsedNanos);
+        if (logStalls) {
+            String blockedIn = stack != null && stack.length > 0 ? " (blocked in " + stack[0] + ")" : "";
+            System.err.printf("⚠️ EDT stalled %.0f ms in %s%s%n", elapsedMillis, action, blockedIn);
+        }
+    }
+
+    // First application method under the Swing/AWT frames, skipping listener lambdas
+    static String actionFor(AWTEvent event, StackTraceElement[] stack) {
+        String lambda = null;
+        if (stack != null) {
+            for (int i = stack.length - 1; i >= 0; i--) {
+                StackTraceElement frame = stack[i];
+                String className = frame.getClassName();
+                if (className.indexOf('.') >= 0 || className.contains("$$Lambda")
+                        || className.startsWith(EdtWatchdog.class.getName())) continue;
+                String method = frame.getMethodName();
+                if (method.startsWith("lambda$") || method.startsWith("access$")) {
+                    if (lambda == null) lambda = className + "." + method;
+                    continue;
+                }
+                return className + "." + method;
+            }
+        }
+        return lambda != null ? lambda : "event:" + describe(event);
+    }
+
+    private static String describe(AWTEvent event) {
+        if (event instanceof ActionEvent) {
+            String command = ((ActionEvent) event).getActionCommand();
+            return "action[" + (command == null ? "" : command) + "]";
+        }
+        if (event instanceof ActiveEvent) return "invokeLater";
+        return event.getClass().getSimpleName() + "#" + event.getID();
+    }
+
+    private static StackTraceElement[] trim(StackTraceElement[] stack) {
+        if (stack == null) return null;
+        // Drop EventQueue and everything below it; those frames are the same for every event
+        int end = stack.length;
+        for (int i = 0; i < stack.length; i++) {
+            if (stack[i].getClassName().startsWith(EventQueue.class.getName())) {
+                end = i;
+                break;
+            }
+        }
+        List<StackTraceElement> kept = new ArrayList<>();
+        for (int i = 0; i < end; i++) kept.add(stack[i]);
+        if (kept.size() > STACK_DEPTH) {
+            // keep the blocking frames at the top and the handler frames at the bottom
+            List<StackTraceElement> head = kept.subList(0, STACK_DEPTH / 2);
+            List<StackTraceElement> tail = kept.subList(kept.size() - (STACK_DEPTH - STACK_DEPTH / 2), kept.size());
+            kept = new ArrayList<>(head);
+            kept.addAll(tail);
+        }
+        return kept.toArray(new StackTraceElement[0]);
+    }
+
+    public long thresholdMillis() {
+        return thresholdNanos / 1_000_000L;
+    }
+
+    // Actions sorted by total stalled time, worst first
+    public List<ActionStats> snapshot() {
+        List<ActionStats> list = new ArrayList<>(actions.values());
+        list.sort((a, b) -> Double.compare(b.totalMillis(), a.totalMillis()));
+        return list;
+    }
+
+    public void reset() {
+        actions.clear();
+        stalls.set(0);
+        stalledNanos.set(0);
+        synchronized (latencyLock) {
+            dispatchLatency = new QuantileSketch();
+        }
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        long events;
+        double p50, p99, p999, max;
+        synchronized (latencyLock) {
+            events = dispatchLatency.count();
+            p50 = dispatchLatency.quantile(0.50);
+            p99 = dispatchLatency.quantile(0.99);
+            p999 = dispatchLatency.quantile(0.999);
+            max = dispatchLatency.max();
+        }
+        double uptimeMillis = (System.nanoTime() - startedAt) / 1e6;
+        double stalledMillis = stalledNanos.get() / 1e6;
+        sb.append(String.format("EDT watchdog: threshold %d ms, uptime %.1f s%n", thresholdMillis(), uptimeMillis / 1000));
+        sb.append(String.format("dispatched %d events: p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                events, p50, p99, p999, max));
+        sb.append(String.format("stalls %d (%.2f%% of events), %.1f ms blocked (%.2f%% of uptime)%n%n",
+                stalls.get(), events == 0 ? 0 : 100.0 * stalls.get() / events,
+                stalledMillis, uptimeMillis == 0 ? 0 : 100.0 * stalledMillis / uptimeMillis));
+        List<ActionStats> list = snapshot();
+        sb.append(String.format("%-50s %7s %10s %9s %9s %9s%n", "action", "stalls", "total ms", "p50 ms", "p99 ms", "max ms"));
+        for (ActionStats a : list) {
+            String name = a.action.length() > 50 ? a.action.substring(0, 47) + "..." : a.action;
+            sb.append(String.format("%-50s %7d %10.1f %9.1f %9.1f %9.1f%n", name, a.count(), a.totalMillis(),
+                    a.percentileMillis(0.50), a.percentileMillis(0.99), a.maxMillis()));
+        }
+        for (ActionStats a : list) {
+            StackTraceElement[] stack = a.worstStack();
+            if (stack.length == 0) continue;
+            sb.append(String.format("%nworst stall in %s (%.1f ms):%n", a.action, a.worstStackMillis()));
+            for (StackTraceElement frame : stack) sb.append("    at ").append(frame).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    public void dump(Path file) throws IOException {
+        Files.write(file, report().getBytes(StandardCharsets.UTF_8));
+    }
+}
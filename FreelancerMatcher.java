@@ -0,0 +1,255 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ========================================================================
+// FUZZY FREELANCER MATCHER
+// Scores every freelancer against a free-text query in two tiers:
+//   1. the original exact substring match on name/skill (best scores), and
+//   2. typo-tolerant token matching: each query token is looked up in a
+//      BK-tree over the name/skill vocabulary within a bounded edit
+//      distance, so "Jva Swng" still finds "Java Swing Specialist".
+// All query tokens must match (AND). The last token may also match as a
+// prefix so results keep up while the user is typing.
+//
+// Tuning: maxEdits caps the edit distance for long tokens (higher = more
+// recall, larger BK-tree walks); minFuzzyLength is the shortest token that
+// is matched fuzzily at all (shorter tokens must match exactly or by prefix).
+// ========================================================================
+public class FreelancerMatcher {
+    public static final int DEFAULT_MAX_EDITS = 2;
+    public static final int DEFAULT_MIN_FUZZY_LENGTH = 3;
+
+    // Scores for the exact substring tier (same ordering as the old search)
+    private static final float NAME_PREFIX_SCORE = 1.0f;
+    private static final float NAME_CONTAINS_SCORE = 0.8f;
+    private static final float SKILL_CONTAINS_SCORE = 0.6f;
+    // Token matches are capped below the substring tier, skill hits weigh less than name hits
+    private static final float TOKEN_TIER_MAX = 0.55f;
+    private static final float SKILL_FIELD_WEIGHT = 0.85f;
+    private static final float PREFIX_TOKEN_SCORE = 0.9f;
+
+    private static final int FIELD_NAME = 1;
+    private static final int FIELD_SKILL = 2;
+
+    private final int maxEdits;
+    private final int minFuzzyLength;
+
+    private final String[] lowerNames;
+    private final String[] lowerSkills;
+    private final String[] vocabulary;          // sorted, for prefix range lookups
+    private final int[][] postings;             // token id -> freelancer indices
+    private final byte[][] postingFields;       // token id -> FIELD_* bitmask per posting
+    private final BkNode bkRoot;
+
+    public FreelancerMatcher(List<Main.Freelancer> freelancers) {
+        this(freelancers, DEFAULT_MAX_EDITS, DEFAULT_MIN_FUZZY_LENGTH);
+    }
+
+    public FreelancerMatcher(List<Main.Freelancer> freelancers, int maxEdits, int minFuzzyLength) {
+        if (maxEdits < 0) throw new IllegalArgumentException("maxEdits must be >= 0");
+        if (minFuzzyLength < 1) throw new IllegalArgumentException("minFuzzyLength must be >= 1");
+        this.maxEdits = maxEdits;
+        this.minFuzzyLength = minFuzzyLength;
+
+        int n = freelancers.size();
+        lowerNames = new String[n];
+        lowerSkills = new String[n];
+
+        // token -> (freelancer index -> field mask)
+        Map<String, Map<Integer, Integer>> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Main.Freelancer f = freelancers.get(i);
+            lowerNames[i] = f.name.toLowerCase();
+            lowerSkills[i] = f.skill.toLowerCase();
+            for (String t : tokenize(lowerNames[i])) index.computeIfAbsent(t, k -> new HashMap<>()).merge(i, FIELD_NAME, (a, b) -> a | b);
+            for (String t : tokenize(lowerSkills[i])) index.computeIfAbsent(t, k -> new HashMap<>()).merge(i, FIELD_SKILL, (a, b) -> a | b);
+        }
+
+        vocabulary = index.keySet().toArray(new String[0]);
+        Arrays.sort(vocabulary);
+        postings = new int[vocabulary.length][];
+        postingFields = new byte[vocabulary.length][];
+        BkNode root = null;
+        for (int id = 0; id < vocabulary.length; id++) {
+            Map<Integer, Integer> docs = index.get(vocabulary[id]);
+            postings[id] = new int[docs.size()];
+            postingFields[id] = new byte[docs.size()];
+            int p = 0;
+            for (Map.Entry<Integer, Integer> e : docs.entrySet()) {
+                postings[id][p] = e.getKey();
+                postingFields[id][p++] = (byte) (int) e.getValue();
+            }
+            if (root == null) root = new BkNode(id);
+            else root.insert(id, vocabulary);
+        }
+        bkRoot = root;
+    }
+
+    // Returns one score per freelancer (same order as the input list); 0 = no match
+    public float[] score(String query) {
+        int n = lowerNames.length;
+        float[] relevance = new float[n];
+        String lowerQuery = query.toLowerCase().trim();
+        if (lowerQuery.isEmpty()) {
+            Arrays.fill(relevance, 1.0f);
+            return relevance;
+        }
+
+        // Tier 2 first: token matches, AND-ed across query tokens
+        List<String> queryTokens = tokenize(lowerQuery);
+        if (!queryTokens.isEmpty()) {
+            float[] sum = new float[n];
+            int[] matchedTokens = new int[n];
+            float[] best = new float[n];
+            int[] touched = new int[n];
+
+            for (int q = 0; q < queryTokens.size(); q++) {
+                if (Thread.currentThread().isInterrupted()) return relevance;
+                boolean last = q == queryTokens.size() - 1;
+                int touchedCount = collectTokenMatches(queryTokens.get(q), last, best, touched);
+                for (int t = 0; t < touchedCount; t++) {
+                    int doc = touched[t];
+                    if (matchedTokens[doc] == q) { // only docs that matched every earlier token survive
+                        sum[doc] += best[doc];
+                        matchedTokens[doc]++;
+                    }
+                    best[doc] = 0f;
+                }
+            }
+            int required = queryTokens.size();
+            for (int i = 0; i < n; i++) {
+                if (matchedTokens[i] == required) relevance[i] = TOKEN_TIER_MAX * (sum[i] / required);
+            }
+        }
+
+        // Tier 1: exact substring hits always outrank token hits
+        for (int i = 0; i < n; i++) {
+            if ((i & 1023) == 0 && Thread.currentThread().isInterrupted()) return relevance;
+            if (lowerNames[i].startsWith(lowerQuery)) relevance[i] = NAME_PREFIX_SCORE;
+            else if (lowerNames[i].contains(lowerQuery)) relevance[i] = NAME_CONTAINS_SCORE;
+            else if (lowerSkills[i].contains(lowerQuery)) relevance[i] = Math.max(relevance[i], SKILL_CONTAINS_SCORE);
+        }
+        return relevance;
+    }
+
+    public int vocabularySize() { return vocabulary.length; }
+
+    // Fill best[doc] with this query token's best match score per freelancer; returns #touched docs
+    private int collectTokenMatches(String token, boolean allowPrefix, float[] best, int[] touched) {
+        int[] count = {0};
+        int edits = allowedEdits(token.length());
+
+        if (bkRoot != null) {
+            bkRoot.search(token, edits, vocabulary, (id, distance) -> {
+                float s = 1.0f - (float) distance / (token.length() + 1);
+                count[0] = addPostings(id, s, best, touched, count[0]);
+            });
+        }
+        if (allowPrefix) {
+            int from = lowerBound(token);
+            for (int id = from; id < vocabulary.length && vocabulary[id].startsWith(token); id++) {
+                if (vocabulary[id].length() == token.length()) continue; // exact hit already scored
+                count[0] = addPostings(id, PREFIX_TOKEN_SCORE, best, touched, count[0]);
+            }
+        }
+        return count[0];
+    }
+
+    private int addPostings(int id, float tokenScore, float[] best, int[] touched, int count) {
+        int[] docs = postings[id];
+        byte[] fields = postingFields[id];
+        for (int p = 0; p < docs.length; p++) {
+            int doc = docs[p];
+            float s = (fields[p] & FIELD_NAME) != 0 ? tokenScore : tokenScore * SKILL_FIELD_WEIGHT;
+            if (best[doc] == 0f) touched[count++] = doc;
+            if (s > best[doc]) best[doc] = s;
+        }
+        return count;
+    }
+
+    private int allowedEdits(int length) {
+        if (length < minFuzzyLength) return 0;
+        if (length <= 4) return Math.min(1, maxEdits);
+        return maxEdits;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0, hi = vocabulary.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (vocabulary[mid].compareTo(key) < 0) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static List<String> tokenize(String lower) {
+        List<String> tokens = new ArrayList<>();
+        for (String t : lower.split("[^\\p{L}\\p{N}#+]+")) {
+            if (!t.isEmpty()) tokens.add(t);
+        }
+        return tokens;
+    }
+
+    // Levenshtein distance that gives up (returns limit + 1) once it must exceed limit
+    static int boundedDistance(String a, String b, int limit) {
+        int la = a.length(), lb = b.length();
+        if (Math.abs(la - lb) > limit) return limit + 1;
+        int[] prev = new int[lb + 1];
+        int[] curr = new int[lb + 1];
+        for (int j = 0; j <= lb; j++) prev[j] = j;
+        for (int i = 1; i <= la; i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= lb; j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                if (curr[j] < rowMin) rowMin = curr[j];
+            }
+            if (rowMin > limit) return limit + 1;
+            int[] tmp = prev; prev = curr; curr = tmp;
+        }
+        return prev[lb];
+    }
+
+    // --- BK-tree over the vocabulary (edges keyed by edit distance) ---
+    private interface MatchSink { void accept(int tokenId, int distance); }
+
+    private static class BkNode {
+        final int tokenId;
+        Map<Integer, BkNode> children;
+
+        BkNode(int tokenId) { this.tokenId = tokenId; }
+
+        void insert(int id, String[] vocab) {
+            BkNode node = this;
+            while (true) {
+                int d = boundedDistance(vocab[id], vocab[node.tokenId], Integer.MAX_VALUE - 1);
+                if (node.children == null) node.children = new HashMap<>(4);
+                BkNode child = node.children.get(d);
+                if (child == null) { node.children.put(d, new BkNode(id)); return; }
+                node = child;
+            }
+        }
+
+        void search(String query, int maxDistance, String[] vocab, MatchSink sink) {
+            List<BkNode> stack = new ArrayList<>();
+            stack.add(this);
+            while (!stack.isEmpty()) {
+                BkNode node = stack.remove(stack.size() - 1);
+                String word = vocab[node.tokenId];
+                // Exact distance is needed to prune children, so bound it generously
+                int d = boundedDistance(query, word, Math.max(query.length(), word.length()));
+                if (d <= maxDistance) sink.accept(node.tokenId, d);
+                if (node.children == null) continue;
+                for (int k = Math.max(1, d - maxDistance); k <= d + maxDistance; k++) {
+                    BkNode child = node.children.get(k);
+                    if (child != null) stack.add(child);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// ========================================================================
+// FREELANCER RANKING ENGINE
+// The freelancer list is fixed once loaded, so every query-independent order
+// (rating, name) is sorted once up front as an index view. A query then only
+// has to walk a view and keep its matches - no per-query sort. Query-dependent
+// orders (relevance blended with rating) use a bounded min-heap to pick the
+// top K without sorting the full match set.
+// ========================================================================
+public class FreelancerRanker {
+    public enum SortKey { DEFAULT, RATING, NAME, BEST_MATCH }
+
+    // Weight of text relevance vs. rating in the BEST_MATCH score (0..1)
+    public static final double DEFAULT_RELEVANCE_WEIGHT = 0.7;
+    private static final double MAX_RATING = 5.0;
+
+    private final List<Main.Freelancer> corpus;
+    private final int[] byRating;   // rating high→low, ties keep corpus order
+    private final int[] byName;     // name A→Z, ties keep corpus order
+    private final double relevanceWeight;
+
+    public FreelancerRanker(List<Main.Freelancer> corpus) {
+        this(corpus, DEFAULT_RELEVANCE_WEIGHT);
+    }
+
+    public FreelancerRanker(List<Main.Freelancer> corpus, double relevanceWeight) {
+        if (relevanceWeight < 0 || relevanceWeight > 1) {
+            throw new IllegalArgumentException("relevanceWeight must be between 0 and 1");
+        }
+        this.corpus = new ArrayList<>(corpus);
+        this.relevanceWeight = relevanceWeight;
+        this.byRating = sortedView(Comparator.comparingDouble((Main.Freelancer f) -> f.rating).reversed());
+        this.byName = sortedView(Comparator.comparing((Main.Freelancer f) -> f.name));
+    }
+
+    public int size() { return corpus.size(); }
+
+    public Main.Freelancer get(int index) { return corpus.get(index); }
+
+    // relevance[i] > 0 means corpus[i] matched; higher is a better text match.
+    // Returns at most `limit` results in the requested order.
+    public List<Main.Freelancer> rank(float[] relevance, SortKey key, int limit) {
+        checkScores(relevance);
+        switch (key) {
+            case RATING: return walk(byRating, relevance, limit);
+            case NAME: return walk(byName, relevance, limit);
+            case BEST_MATCH: return topK(relevance, limit);
+            case DEFAULT:
+            default: return walk(null, relevance, limit);
+        }
+    }
+
+    // Blend of text relevance (0..1) and rating scaled to 0..1
+    public double score(float relevance, double rating) {
+        return relevanceWeight * relevance + (1 - relevanceWeight) * (rating / MAX_RATING);
+    }
+
+    // Walk a pre-sorted view (or corpus order when view == null), keeping matches
+    private List<Main.Freelancer> walk(int[] view, float[] relevance, int limit) {
+        List<Main.Freelancer> out = new ArrayList<>(Math.min(limit, 64));
+        int n = corpus.size();
+        for (int i = 0; i < n && out.size() < limit; i++) {
+            int idx = view == null ? i : view[i];
+            if (relevance[idx] > 0) out.add(corpus.get(idx));
+        }
+        return out;
+    }
+
+    // Bounded min-heap of size k over (score, index); the root is the weakest kept result
+    private List<Main.Freelancer> topK(float[] relevance, int k) {
+        if (k <= 0) return new ArrayList<>();
+        int[] heapIdx = new int[Math.min(k, corpus.size())];
+        double[] heapScore = new double[heapIdx.length];
+        int size = 0;
+
+        for (int i = 0; i < relevance.length; i++) {
+            if (relevance[i] <= 0) continue;
+            double s = score(relevance[i], corpus.get(i).rating);
+            if (size < heapIdx.length) {
+                heapIdx[size] = i;
+                heapScore[size] = s;
+                siftUp(heapIdx, heapScore, size++);
+            } else if (better(s, i, heapScore[0], heapIdx[0])) {
+                heapIdx[0] = i;
+                heapScore[0] = s;
+                siftDown(heapIdx, heapScore, 0, size);
+            }
+        }
+
+        // Drain weakest-first, filling the page from the back
+        Main.Freelancer[] page = new Main.Freelancer[size];
+        for (int end = size; end > 0; end--) {
+            page[end - 1] = corpus.get(heapIdx[0]);
+            heapIdx[0] = heapIdx[end - 1];
+            heapScore[0] = heapScore[end - 1];
+            siftDown(heapIdx, heapScore, 0, end - 1);
+        }
+        return new ArrayList<>(Arrays.asList(page));
+    }
+
+    // Higher score wins; on ties the earlier corpus entry wins
+    private static boolean better(double s1, int i1, double s2, int i2) {
+        return s1 > s2 || (s1 == s2 && i1 < i2);
+    }
+
+    private static void siftUp(int[] idx, double[] score, int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!better(score[parent], idx[parent], score[pos], idx[pos])) break;
+            swap(idx, score, pos, parent);
+            pos = parent;
+        }
+    }
+
+    private static void siftDown(int[] idx, double[] score, int pos, int size) {
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) break;
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && better(score[weakest], idx[weakest], score[right], idx[right])) weakest = right;
+            if (!better(score[pos], idx[pos], score[weakest], idx[weakest])) break;
+            swap(idx, score, pos, weakest);
+            pos = weakest;
+        }
+    }
+
+    private static void swap(int[] idx, double[] score, int a, int b) {
+        int ti = idx[a]; idx[a] = idx[b]; idx[b] = ti;
+        double ts = score[a]; score[a] = score[b]; score[b] = ts;
+    }
+
+    private int[] sortedView(Comparator<Main.Freelancer> order) {
+        Integer[] boxed = new Integer[corpus.size()];
+        for (int i = 0; i < boxed.length; i++) boxed[i] = i;
+        Arrays.sort(boxed, (a, b) -> order.compare(corpus.get(a), corpus.get(b))); // stable: ties keep corpus order
+        int[] view = new int[boxed.length];
+        for (int i = 0; i < view.length; i++) view[i] = boxed[i];
+        return view;
+    }
+
+    private void checkScores(float[] relevance) {
+        if (relevance.length != corpus.size()) {
+            throw new IllegalArgumentException("Expected " + corpus.size() + " relevance scores, got " + relevance.length);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfImportedPage;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.awt.Desktop;
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// ========================================================================
+// INVOICE PDF SERVICE
+// Renders rows of the invoices table with the shared PdfStyles fonts and
+// letterhead:
+//   render(...)       one invoice -> Invoice_<id>.pdf
+//   renderAll(...)    many invoices at once on PlatformExecutors; each task
+//                     holds a database permit only while it reads its row
+//   exportMerged(...) every matching invoice as one page of a single PDF
+//   exportZip(...)    every matching invoice as its own PDF inside a zip
+// Batch exports stream rows from DatabaseManager.forEachInvoice and write
+// each page/entry out as soon as it is laid out, so memory use does not
+// grow with the number of invoices. Amounts are printed as "INR" because
+// the standard PDF fonts have no rupee glyph.
+// ========================================================================
+public class InvoicePdfService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final PdfStyles.Letterhead LETTERHEAD =
+            new PdfStyles.Letterhead("FREELANCE FAIR-WAGE PLATFORM", "Tax Invoice");
+    private static final MoneyFormat AMOUNT = new MoneyFormat("INR ");
+
+    private final DatabaseManager dbManager;
+
+    public InvoicePdfService(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    // Render one invoice into dir; null when the invoice does not exist
+    public Path render(String invoiceId, Path dir) throws IOException {
+        Object[] row = dbManager.getInvoiceById(invoiceId);
+        return row == null ? null : render(invoiceId, row, dir);
+    }
+
+    // Render the given invoices into dir concurrently. Paths come back in input order,
+    // null for invoices that do not exist; the first failure is rethrown.
+    public List<Path> renderAll(List<String> invoiceIds, Path dir) throws IOException {
+        ExecutorService executor = PlatformExecutors.newExecutor("invoice-pdf");
+        try {
+            List<Future<Path>> futures = new ArrayList<>(invoiceIds.size());
+            for (String invoiceId : invoiceIds) {
+                futures.add(executor.submit(() -> {
+                    Object[] row = PlatformExecutors.withDbPermit(() -> dbManager.getInvoiceById(invoiceId));
+                    return row == null ? null : render(invoiceId, row, dir);
+                }));
+            }
+            List<Path> paths = new ArrayList<>(futures.size());
+            for (Future<Path> f : futures) paths.add(f.get());
+            return paths;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering invoices");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Path render(String invoiceId, Object[] row, Path dir) throws IOException {
+        Path file = dir.resolve("Invoice_" + invoiceId + ".pdf");
+        PdfRenderEvent event = new PdfRenderEvent();
+        event.begin();
+        boolean complete = false;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+            Document document = LETTERHEAD.newDocument();
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            document.open();
+            PdfStyles.Letterhead.stamp(writer, LETTERHEAD.importInto(writer));
+            addInvoice(document, row);
+            document.close();
+            complete = true;
+        } catch (DocumentException e) {
+            throw new IOException("Invoice rendering failed: " + e.getMessage(), e);
+        } finally {
+            if (!complete) Files.deleteIfExists(file);
+            event.finish("invoice", invoiceId, (String) row[1], 1, file, complete);
+        }
+        return file;
+    }
+
+    // All matching invoices, one per page, in a single PDF. projectId '' = all projects,
+    // fromDate/toDate are inclusive yyyy-MM-dd or null. Returns the number of invoices written.
+    public int exportMerged(String projectId, String fromDate, String toDate, Path file, IntConsumer onInvoice) throws IOException {
+        int[] written = {0};
+        PdfRenderEvent event = new PdfRenderEvent();
+        event.begin();
+        boolean complete = false;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+            Document document = LETTERHEAD.newDocument();
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            document.open();
+            PdfImportedPage letterhead = LETTERHEAD.importInto(writer);   // one XObject shared by all pages
+
+            stream(projectId, fromDate, toDate, row -> {
+                if (written[0] > 0) document.newPage();   // finished pages are flushed to the stream here
+                PdfStyles.Letterhead.stamp(writer, letterhead);
+                addInvoice(document, row);
+                onInvoice.accept(++written[0]);
+            });
+            if (written[0] == 0) document.add(new Paragraph("No invoices match the selected filters.", PdfStyles.NORMAL_FONT));
+            document.close();
+            complete = true;
+        } catch (DocumentException e) {
+            throw new IOException("Invoice export failed: " + e.getMessage(), e);
+        } finally {
+            if (!complete) Files.deleteIfExists(file);
+            event.finish("invoice batch", file.getFileName().toString(), projectId, written[0], file, complete);
+        }
+        return written[0];
+    }
+
+    // All matching invoices as separate Invoice_<id>.pdf entries of one zip
+    public int exportZip(String projectId, String fromDate, String toDate, Path file, IntConsumer onInvoice) throws IOException {
+        int[] written = {0};
+        PdfRenderEvent event = new PdfRenderEvent();
+        event.begin();
+        boolean complete = false;
+        try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+            stream(projectId, fromDate, toDate, row -> {
+                zip.putNextEntry(new ZipEntry("Invoice_" + row[0] + ".pdf"));
+                Document document = LETTERHEAD.newDocument();
+                PdfWriter writer = PdfWriter.getInstance(document, zip);
+                writer.setCloseStream(false);              // closing the document must not close the zip
+                document.open();
+                PdfStyles.Letterhead.stamp(writer, LETTERHEAD.importInto(writer));
+                addInvoice(document, row);
+                document.close();
+                zip.closeEntry();
+                onInvoice.accept(++written[0]);
+            });
+            complete = true;
+        } catch (DocumentException e) {
+            throw new IOException("Invoice export failed: " + e.getMessage(), e);
+        } finally {
+            if (!complete) Files.deleteIfExists(file);
+            event.finish("invoice batch", file.getFileName().toString(), projectId, written[0], file, complete);
+        }
+        return written[0];
+    }
+
+    // Open in the system viewer when there is one; returns whether it was opened
+    public static boolean open(Path file) throws IOException {
+        if (GraphicsEnvironment.isHeadless() || !Desktop.isDesktopSupported()) return false;
+        Desktop.getDesktop().open(file.toFile());
+        return true;
+    }
+
+    private void addInvoice(Document document, Object[] row) throws DocumentException {
+        document.add(new Paragraph("Invoice " + row[0], PdfStyles.HEADING_FONT));
+        document.add(new Paragraph(" ", PdfStyles.NORMAL_FONT));
+
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(100);
+        PdfStyles.addRow(table, "Invoice #", String.valueOf(row[0]));
+        PdfStyles.addRow(table, "Project", String.valueOf(row[1]));
+        PdfStyles.addRow(table, "Client", row[2] != null ? "Client_" + row[2] : "N/A");
+        PdfStyles.addRow(table, "Freelancer", row[3] != null ? "Freelancer_" + row[3] : "-");
+        PdfStyles.addRow(table, "Description", row[6] != null ? (String) row[6] : "-");
+        PdfStyles.addRow(table, "Status", String.valueOf(row[5]));
+        PdfStyles.addRow(table, "Created", datePart((String) row[7]));
+        PdfStyles.addRow(table, "Due Date", datePart((String) row[8]));
+        PdfStyles.addRow(table, "Amount Due", AMOUNT.format((Double) row[4]));
+        document.add(table);
+
+        document.add(new Paragraph("\nPlease quote the invoice number with your payment.", PdfStyles.NORMAL_FONT));
+    }
+
+    private static String datePart(String timestamp) {
+        return timestamp != null ? timestamp.split(" ")[0] : "N/A";
+    }
+
+    private interface RowWriter {
+        void write(Object[] row) throws IOException, DocumentException;
+    }
+
+    // Drive forEachInvoice, tunnelling checked exceptions and honouring interrupts. A failed
+    // query is an IOException, so the caller deletes the partly written file.
+    private void stream(String projectId, String fromDate, String toDate, RowWriter writer) throws IOException, DocumentException {
+        int streamed;
+        try {
+            streamed = dbManager.forEachInvoice(projectId == null ? "" : projectId.trim(), fromDate, toDate, row -> {
+                if (Thread.currentThread().isInterrupted()) throw new UncheckedIOException(new InterruptedIOException("Invoice export cancelled"));
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (DocumentException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof DocumentException) throw (DocumentException) e.getCause();
+            throw e;
+        }
+        if (streamed < 0) {
+            java.sql.SQLException cause = DatabaseManager.lastError();
+            throw new IOException("Invoice query failed: " + (cause == null ? "unknown error" : cause.getMessage()), cause);
+        }
+    }
+}
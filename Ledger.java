@@ -0,0 +1,372 @@
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// ========================================================================
+// LEDGER
+// Double-entry book of the money the platform holds. Escrow status strings
+// say where funds should be; the ledger records every move as an immutable
+// journal entry whose postings sum to zero (triggers refuse updates and
+// deletes). Chart of accounts:
+//   cash                         Asset      money received and not paid back
+//   escrow:<project>   (escrow)  Liability  funds held for a project
+//   payable:<freelancer> (payable) Liability released, owed to the freelancer
+//   receivable:<project> (receivable) Asset platform fees invoiced
+//   revenue:fees                 Revenue    platform fee income
+// Each escrow account is in exactly one place: Held (any of
+// DatabaseManager.HELD_ESCROW_STATUSES), Released, or Out (never funded,
+// Refunded).
+// syncEscrow() moves it to where its status says with one entry,
+// Dr <from> / Cr <to>, so funding is Dr cash / Cr escrow:P, release is
+// Dr escrow:P / Cr payable:F, a refund is Dr escrow:P / Cr cash, and a
+// release put back on hold reverses itself. References are unique, so a
+// retried or concurrent sync posts once.
+//
+// Every posting updates its account's running balance and its parent's
+// inside the insert (trigger), so balance queries are one primary-key read:
+// escrowHeld("PRJ001") reads escrow:PRJ001, escrowHeld("") reads escrow.
+// reconcile(month) is one streaming pass over the journal that checks every
+// entry balances, every running balance equals its postings and the escrow
+// statuses agree with the ledger, in memory proportional to accounts.
+//   java Ledger [yyyy-MM] [--db jdbc:sqlite:file.db]   month-end report
+//   java Ledger [yyyy-MM] --sync                      post catch-up entries first
+// ========================================================================
+public class Ledger {
+    public static final String CASH = "cash";
+    public static final String ESCROW = "escrow";
+    public static final String PAYABLE = "payable";
+    public static final String RECEIVABLE = "receivable";
+    public static final String FEE_REVENUE = "revenue:fees";
+
+    static final String HELD = "Held", RELEASED = "Released", OUT = "Out";
+
+    // One line of an entry; amountCents is debit positive, credit negative
+    public static final class Posting {
+        public final String accountId;
+        public final String type;     // Asset, Liability, Revenue, Expense
+        public final String parent;   // roll-up account, or null
+        public final long amountCents;
+
+        public Posting(String accountId, String type, String parent, long amountCents) {
+            this.accountId = accountId;
+            this.type = type;
+            this.parent = parent;
+            this.amountCents = amountCents;
+        }
+    }
+
+    private final DatabaseManager db;
+
+    public Ledger(DatabaseManager db) {
+        this.db = db;
+    }
+
+    public static String escrowAccount(String projectId) {
+        return ESCROW + ":" + projectId;
+    }
+
+    public static String payableAccount(Integer freelancerId) {
+        return PAYABLE + ":" + (freelancerId == null ? "unassigned" : "F" + freelancerId);
+    }
+
+    public static String receivableAccount(String projectId) {
+        return RECEIVABLE + ":" + projectId;
+    }
+
+    // ====================================================================
+    // POSTING
+    // ====================================================================
+
+    // Bring one escrow account's ledger position in line with its status. True when the two
+    // agree afterwards (including when nothing had to move), false if the escrow is unknown or
+    // the entry could not be written.
+    public boolean syncEscrow(String escrowId) {
+        List<Object[]> rows = new ArrayList<>(1);
+        if (db.forEachEscrowWithLedgerState(escrowId, rows::add) <= 0) return false;
+        return post(rows.get(0)) >= 0;
+    }
+
+    // Every escrow account of a milestone; returns how many are in sync afterwards
+    public int syncMilestone(String milestoneId) {
+        int synced = 0;
+        for (String escrowId : db.getEscrowIdsByMilestone(milestoneId)) {
+            if (syncEscrow(escrowId)) synced++;
+        }
+        return synced;
+    }
+
+    // Catch the ledger up with every escrow account (first run on an existing database, or after
+    // writes that bypassed PaymentService). Returns entries posted, -1 if the scan failed.
+    public int syncAll() {
+        // Collect first, post after: the scan's read transaction must be closed before writing
+        List<Object[]> behind = behind();
+        if (behind == null) return -1;
+        int posted = 0;
+        for (Object[] row : behind) {
+            if (post(row) > 0) posted++;
+        }
+        return posted;
+    }
+
+    // Escrow rows whose ledger state lags their status, or null if the scan failed
+    private List<Object[]> behind() {
+        List<Object[]> behind = new ArrayList<>();
+        int scanned = db.forEachEscrowWithLedgerState(null, row -> {
+            if (!targetState((String) row[4]).equals(currentState(row))) behind.add(row);
+        });
+        return scanned < 0 ? null : behind;
+    }
+
+    // Fee income for a platform-fee invoice: Dr receivable:P / Cr revenue:fees
+    public boolean recordPlatformFee(String invoiceId, String projectId, double amount) {
+        long cents = toCents(amount);
+        if (cents <= 0) return false;
+        return db.postLedgerEntry("fee:" + invoiceId, "fee", invoiceId, null, "Platform fee " + invoiceId + " for " + projectId,
+                Arrays.asList(new Posting(receivableAccount(projectId), "Asset", RECEIVABLE, cents),
+                              new Posting(FEE_REVENUE, "Revenue", null, -cents)));
+    }
+
+    // row = {escrow_id, project_id, freelancer_id, amount, status, ledger_state, ledger_moves};
+    // 1 = posted, 0 = already in place, -1 = failed
+    private int post(Object[] row) {
+        String escrowId = (String) row[0];
+        String projectId = (String) row[1];
+        Integer freelancerId = (Integer) row[2];
+        long cents = toCents((Double) row[3]);
+        String from = currentState(row);
+        String to = targetState((String) row[4]);
+        if (from.equals(to) || cents == 0) return 0;
+
+        long move = ((Number) row[6]).longValue() + 1;
+        String reference = "escrow:" + escrowId + ":" + move;
+        String description = escrowId + " " + from + " -> " + to + " (" + row[4] + ")";
+        List<Posting> postings = Arrays.asList(
+                position(from, projectId, freelancerId, cents),
+                position(to, projectId, freelancerId, -cents));
+        if (db.postLedgerEntry(reference, kind(from, to), escrowId, to, description, postings)) return 1;
+        // Lost a race with another sync of the same move, or the insert failed
+        Object[][] now = new Object[1][];
+        db.forEachEscrowWithLedgerState(escrowId, r -> now[0] = r);
+        if (now[0] != null && currentState(now[0]).equals(targetState((String) now[0][4]))) return 0;
+        System.err.println("❌ Ledger could not move " + escrowId + " " + from + " -> " + to);
+        return -1;
+    }
+
+    private static Posting position(String state, String projectId, Integer freelancerId, long cents) {
+        switch (state) {
+            case HELD: return new Posting(escrowAccount(projectId), "Liability", ESCROW, cents);
+            case RELEASED: return new Posting(payableAccount(freelancerId), "Liability", PAYABLE, cents);
+            default: return new Posting(CASH, "Asset", null, cents);
+        }
+    }
+
+    private static String kind(String from, String to) {
+        if (OUT.equals(from)) return "fund";
+        if (RELEASED.equals(to)) return "release";
+        if (OUT.equals(to)) return "refund";
+        return "reinstate";
+    }
+
+    private static String currentState(Object[] row) {
+        return row[5] == null ? OUT : (String) row[5];
+    }
+
+    static String targetState(String escrowStatus) {
+        // Partial releases are not split out; the whole amount stays held until Released
+        if (DatabaseManager.HELD_ESCROW_STATUSES.contains(escrowStatus)) return HELD;
+        if ("Released".equals(escrowStatus)) return RELEASED;
+        return OUT;   // Refunded
+    }
+
+    static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // ====================================================================
+    // BALANCES (one primary-key read each)
+    // ====================================================================
+
+    // Balance in cents with the account's natural sign: liabilities and revenue read positive when in credit
+    public long balanceCents(String accountId) {
+        Object[] account = db.getLedgerAccount(accountId);
+        if (account == null) return 0;
+        long debit = (Long) account[1];
+        return creditNormal((String) account[0]) ? -debit : debit;
+    }
+
+    public double balance(String accountId) {
+        return balanceCents(accountId) / 100.0;
+    }
+
+    // Funds held in escrow for one project, or for all of them when projectId is blank
+    public double escrowHeld(String projectId) {
+        return balance(projectId == null || projectId.trim().isEmpty() ? ESCROW : escrowAccount(projectId.trim()));
+    }
+
+    // Platform fees invoiced for one project, or all fee income when projectId is blank
+    public double feesInvoiced(String projectId) {
+        return balance(projectId == null || projectId.trim().isEmpty() ? FEE_REVENUE : receivableAccount(projectId.trim()));
+    }
+
+    static boolean creditNormal(String type) {
+        return "Liability".equals(type) || "Revenue".equals(type);
+    }
+
+    // ====================================================================
+    // MONTH-END RECONCILIATION
+    // ====================================================================
+
+    public static final class Reconciliation {
+        public final YearMonth month;
+        public long entries, postings;
+        public long monthDebitsCents, monthCreditsCents;
+        public final Map<String, Long> closingCents = new TreeMap<>();   // debit positive, as of month end
+        public final List<String> problems = new ArrayList<>();
+
+        Reconciliation(YearMonth month) {
+            this.month = month;
+        }
+
+        public boolean clean() {
+            return problems.isEmpty();
+        }
+
+        public String report() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("ledger reconciliation %s: %d entries, %d postings%n", month, entries, postings));
+            sb.append(String.format("month activity: debits %s, credits %s%n",
+                    MoneyFormat.DOLLARS.format(monthDebitsCents / 100.0), MoneyFormat.DOLLARS.format(monthCreditsCents / 100.0)));
+            sb.append(String.format("%-28s %16s%n", "closing balance (Dr +)", "amount"));
+            long trial = 0;
+            for (Map.Entry<String, Long> e : closingCents.entrySet()) {
+                sb.append(String.format("%-28s %16s%n", e.getKey(), MoneyFormat.DOLLARS.format(e.getValue() / 100.0)));
+                trial += e.getValue();
+            }
+            sb.append(String.format("%-28s %16s%n", "trial balance", MoneyFormat.DOLLARS.format(trial / 100.0)));
+            if (problems.isEmpty()) {
+                sb.append("✅ ledger balances and agrees with escrow\n");
+            } else {
+                for (String p : problems) sb.append("❌ ").append(p).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    // One pass over the journal in entry order: each entry must net to zero, closing balances
+    // are summed for entries up to the end of the month, and all-time sums are checked against
+    // the running balances. Then the current held escrow per project (status view) is compared
+    // with the escrow accounts. Memory is per account, never per posting.
+    public Reconciliation reconcile(YearMonth month) {
+        Reconciliation r = new Reconciliation(month);
+        String start = month.atDay(1) + " 00:00:00";
+        String end = month.plusMonths(1).atDay(1) + " 00:00:00";
+        Map<String, Long> allTime = new HashMap<>();
+        long[] entry = {-1, 0};   // current entry id, its running sum
+
+        long scanned = db.forEachLedgerPosting(p -> {
+            long entryId = (Long) p[0];
+            String account = (String) p[1];
+            long cents = (Long) p[2];
+            String created = (String) p[3];
+            if (entryId != entry[0]) {
+                if (entry[0] >= 0 && entry[1] != 0) r.problems.add("entry " + entry[0] + " is unbalanced by " + entry[1] + " cents");
+                entry[0] = entryId;
+                entry[1] = 0;
+                r.entries++;
+            }
+            entry[1] += cents;
+            r.postings++;
+            allTime.merge(account, cents, Long::sum);
+            if (created != null && created.compareTo(end) < 0) {
+                r.closingCents.merge(account, cents, Long::sum);
+                if (created.compareTo(start) >= 0) {
+                    if (cents > 0) r.monthDebitsCents += cents; else r.monthCreditsCents -= cents;
+                }
+            }
+        });
+        if (scanned < 0) {
+            r.problems.add("journal scan failed: " + DatabaseManager.lastError());
+            return r;
+        }
+        if (entry[0] >= 0 && entry[1] != 0) r.problems.add("entry " + entry[0] + " is unbalanced by " + entry[1] + " cents");
+
+        // Running balances: leaves equal their own postings, parents their children's plus their own
+        List<Object[]> accounts = db.getLedgerAccounts();
+        Map<String, Long> expected = new HashMap<>(allTime);
+        for (Object[] a : accounts) {
+            String parent = (String) a[2];
+            if (parent != null) expected.merge(parent, allTime.getOrDefault((String) a[0], 0L), Long::sum);
+        }
+        Map<String, Long> escrowBalances = new HashMap<>();
+        for (Object[] a : accounts) {
+            String id = (String) a[0];
+            long running = (Long) a[3];
+            long sum = expected.getOrDefault(id, 0L);
+            if (running != sum) r.problems.add(id + " running balance " + running + " != postings " + sum + " (cents)");
+            if (ESCROW.equals(a[2])) escrowBalances.put(id.substring(ESCROW.length() + 1), -running);
+        }
+
+        // Status view (held escrow per project) against the escrow liability accounts
+        int projects = db.forEachHeldEscrowByProject(row -> {
+            String projectId = (String) row[0];
+            long held = toCents((Double) row[1]);
+            long booked = escrowBalances.getOrDefault(projectId, 0L);
+            escrowBalances.remove(projectId);
+            if (held != booked) r.problems.add(projectId + " escrow statuses hold " + held + " cents, ledger holds " + booked);
+        });
+        if (projects < 0) r.problems.add("escrow scan failed: " + DatabaseManager.lastError());
+        for (Map.Entry<String, Long> e : escrowBalances.entrySet()) {
+            if (e.getValue() != 0) r.problems.add(e.getKey() + " has no held escrow but the ledger holds " + e.getValue() + " cents");
+        }
+
+        // Escrow accounts whose status moved without the matching entry (writes that bypassed
+        // PaymentService); the per-project totals above can hide these when they net out
+        List<Object[]> behind = behind();
+        if (behind == null) {
+            r.problems.add("escrow state scan failed: " + DatabaseManager.lastError());
+        } else {
+            for (Object[] row : behind) {
+                r.problems.add(row[0] + " is " + row[4] + " but the ledger has it " + currentState(row) + " (catch-up entry not posted)");
+            }
+        }
+        return r;
+    }
+
+    // Month-end job: java Ledger [yyyy-MM] [--db url] [--sync]; defaults to last month. Exit code 1 on
+    // problems. Escrow accounts the ledger has not caught up with are reported as problems; --sync
+    // posts their catch-up entries first (and lists how many) instead.
+    public static void main(String[] args) {
+        YearMonth month = YearMonth.from(LocalDate.now()).minusMonths(1);
+        String url = System.getProperty(DatabaseManager.URL_PROPERTY, DatabaseManager.DEFAULT_URL);
+        boolean sync = false;
+        for (int i = 0; i < args.length; i++) {
+            if ("--db".equals(args[i]) && i + 1 < args.length) {
+                url = args[++i];
+            } else if ("--sync".equals(args[i])) {
+                sync = true;
+            } else {
+                try {
+                    month = YearMonth.parse(args[i]);
+                } catch (DateTimeParseException e) {
+                    System.err.println("Usage: java Ledger [yyyy-MM] [--db jdbc:sqlite:file.db] [--sync]");
+                    System.exit(2);
+                }
+            }
+        }
+        Ledger ledger = new Ledger(new DatabaseManager(url));
+        if (sync) {
+            int caughtUp = ledger.syncAll();
+            if (caughtUp < 0) System.err.println("❌ Catch-up scan failed: " + DatabaseManager.lastError());
+            else System.out.println("Posted " + caughtUp + " entries to catch up with escrow statuses");
+        }
+        Reconciliation r = ledger.reconcile(month);
+        System.out.print(r.report());
+        System.exit(r.clean() ? 0 : 1);
+    }
+}
@@ -0,0 +1,400 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ========================================================================
+// LOAD GENERATOR
+// Fills a database to a chosen scale and then replays a mixed workload
+// against it, entirely through the DatabaseManager API (the same calls the
+// Swing modules make, one connection per call).
+//
+//   java -cp ".:sqlite-jdbc-3.50.3.0.jar:itextpdf-5.5.13.3.jar" LoadGenerator [options]
+//     --db FILE          database file (default loadtest.db)
+//     --users N          users to create (default 200)
+//     --projects N       projects to create (default 500)
+//     --bids N           bids to create (default 5000)
+//     --milestones N     milestones, each with escrow; some get invoices/disputes (default 1000)
+//     --threads N        concurrent workload threads (default 8)
+//     --seconds N        workload duration, 0 = fill only (default 30)
+//     --mix op=w,...     workload weights (default browse=40,dashboard=10,post=10,bid=25,accept=5,release=5,dispute=5)
+//     --zipf S           popularity skew of projects, 0 = uniform (default 1.1)
+//     --seed N           random seed (default 42)
+//     --verbose          keep DatabaseManager's error output during the run
+//
+// Bids and milestones land on projects drawn from a Zipf distribution, so a
+// few hot projects see most of the traffic. Every operation reports its
+// count, throughput, p50/p99/max latency, failures and how many failures
+// were SQLITE_BUSY/LOCKED. Ids carry a per-run tag ("PRJ-LT<tag>-17") so
+// runs never collide with each other or with ids created in the UI.
+// ========================================================================
+public class LoadGenerator {
+    private static final String[] CATEGORIES = {"Web Development", "Mobile Development", "Data Science",
+            "UI/UX Design", "Content Writing", "Digital Marketing"};
+    private static final String[] DIFFICULTIES = {"Beginner", "Intermediate", "Expert"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced", "Expert"};
+    private static final String DEFAULT_MIX = "browse=40,dashboard=10,post=10,bid=25,accept=5,release=5,dispute=5";
+
+    // Per-operation latency sketch and counters; one per thread, merged at the end
+    private static final class OpStats {
+        final QuantileSketch latency = new QuantileSketch();
+        long count, errors, busy;
+
+        void merge(OpStats other) {
+            latency.merge(other.latency);
+            count += other.count;
+            errors += other.errors;
+            busy += other.busy;
+        }
+    }
+
+    private interface Operation {
+        // Returns false when a DatabaseManager call reported failure
+        boolean run(SplittableRandom random);
+    }
+
+    private final DatabaseManager db;
+    private final String tag;
+    private final long seed;
+    private final Zipf projectPicker;
+    private final int initialProjects;
+    private final AtomicInteger projects = new AtomicInteger();
+    private final AtomicInteger bids = new AtomicInteger();
+    private final AtomicInteger milestones = new AtomicInteger();
+    private final AtomicInteger disputes = new AtomicInteger();
+    private final Map<String, Operation> operations = new LinkedHashMap<>();
+
+    public LoadGenerator(DatabaseManager db, int projects, double zipf, long seed) {
+        this.db = db;
+        this.seed = seed;
+        this.initialProjects = Math.max(1, projects);
+        this.projectPicker = new Zipf(initialProjects, zipf);
+        this.tag = Long.toString(System.currentTimeMillis() / 1000 % 46_656L * 1_000 + Math.floorMod(seed, 1_000L), 36).toUpperCase();
+
+        operations.put("browse", r -> {
+            db.getBidsByProject(projectId(projectPicker.sample(r)));
+            return DatabaseManager.lastError() == null;
+        });
+        operations.put("dashboard", r -> {
+            db.getTotalProjects();
+            db.getActiveProjects();
+            db.getCompletedProjects();
+            db.getTotalBids();
+            db.getPendingBids();
+            return DatabaseManager.lastError() == null;
+        });
+        operations.put("post", r -> db.insertProject(newProject(r, this.projects.incrementAndGet())));
+        operations.put("bid", r -> db.insertBid(newBid(r, bids.incrementAndGet())));
+        operations.put("accept", r -> {
+            int bid = 1 + r.nextInt(Math.max(1, bids.get()));
+            return db.updateBidStatus(bidId(bid), "Accepted")
+                    && db.updateProjectStatus(projectId(projectOfBid(bid)), "In Progress");
+        });
+        operations.put("release", r -> {
+            int m = milestones.incrementAndGet();
+            return fundMilestone(r, m)
+                    && db.updateMilestoneStatus(milestoneId(m), "Released") > 0
+                    && db.updateEscrowStatus(escrowId(m), "Released") > 0
+                    && db.insertInvoice(invoiceId(m), projectId(projectOfMilestone(m)), null, null,
+                            milestoneAmount(m), "Milestone " + m, null) > 0;
+        });
+        operations.put("dispute", r -> {
+            int m = 1 + r.nextInt(Math.max(1, milestones.get()));
+            return db.insertDispute(disputeId(disputes.incrementAndGet()), projectId(projectOfMilestone(m)),
+                    milestoneId(m), r.nextBoolean() ? "Client" : "Freelancer", "Load test dispute") > 0
+                    && db.updateMilestoneStatus(milestoneId(m), "Disputed") > 0;
+        });
+    }
+
+    // ========================================================================
+    // FILL PHASE
+    // ========================================================================
+    public void populate(int users, int bidCount, int milestoneCount) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long start = System.nanoTime();
+        for (int i = 1; i <= users; i++) {
+            boolean freelancer = random.nextInt(4) != 0;
+            db.addUser(new String[]{null, (freelancer ? "Freelancer " : "Client ") + tag + "-" + i,
+                    "lt" + tag.toLowerCase() + "." + i + "@example.com", freelancer ? "Freelancer" : "Client",
+                    freelancer ? CATEGORIES[random.nextInt(CATEGORIES.length)] : "N/A",
+                    freelancer ? LEVELS[random.nextInt(LEVELS.length)] : "N/A",
+                    random.nextInt(5) == 0 ? "Pending" : "Active"});
+        }
+        progress("users", users, start);
+        for (int i = 1; i <= initialProjects; i++) db.insertProject(newProject(random, projects.incrementAndGet()));
+        progress("projects", initialProjects, start);
+        for (int i = 1; i <= bidCount; i++) db.insertBid(newBid(random, bids.incrementAndGet()));
+        progress("bids", bidCount, start);
+        int invoiced = 0, disputed = 0;
+        for (int i = 1; i <= milestoneCount; i++) {
+            int m = milestones.incrementAndGet();
+            fundMilestone(random, m);
+            if (random.nextInt(2) == 0) {
+                db.insertInvoice(invoiceId(m), projectId(projectOfMilestone(m)), null, null, milestoneAmount(m),
+                        "Milestone " + m, null);
+                invoiced++;
+            }
+            if (random.nextInt(20) == 0) {
+                db.insertDispute(disputeId(disputes.incrementAndGet()), projectId(projectOfMilestone(m)), milestoneId(m),
+                        "Client", "Deliverable does not match the brief");
+                disputed++;
+            }
+        }
+        progress("milestones + escrow (" + invoiced + " invoices, " + disputed + " disputes)", milestoneCount, start);
+    }
+
+    private static void progress(String what, int count, long start) {
+        System.out.printf("  %,d %s  [%.1fs]%n", count, what, (System.nanoTime() - start) / 1e9);
+    }
+
+    // ========================================================================
+    // WORKLOAD PHASE
+    // ========================================================================
+    // Rejects operation names this generator does not know and a mix with no positive weight
+    public void checkMix(Map<String, Integer> mix) {
+        for (String name : mix.keySet()) {
+            if (!operations.containsKey(name)) throw new IllegalArgumentException("Unknown operation '" + name + "', expected one of " + operations.keySet());
+        }
+        if (mix.isEmpty()) throw new IllegalArgumentException("Workload mix needs a positive weight");
+    }
+
+    public Map<String, OpStats> run(Map<String, Integer> mix, int threads, int seconds) throws InterruptedException {
+        checkMix(mix);
+        String[] names = mix.keySet().toArray(new String[0]);
+        Operation[] ops = new Operation[names.length];
+        double[] cdf = new double[names.length];
+        double total = 0;
+        for (int i = 0; i < names.length; i++) {
+            ops[i] = operations.get(names[i]);
+            total += mix.get(names[i]);
+            cdf[i] = total;
+        }
+
+        List<OpStats[]> perThread = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        SplittableRandom root = new SplittableRandom(seed ^ 0x9E3779B97F4A7C15L);
+        for (int t = 0; t < threads; t++) {
+            OpStats[] stats = new OpStats[names.length];
+            for (int i = 0; i < stats.length; i++) stats[i] = new OpStats();
+            perThread.add(stats);
+            SplittableRandom random = root.split();
+            double weight = total;
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        double u = random.nextDouble() * weight;
+                        int op = 0;
+                        while (u >= cdf[op]) op++;
+                        DatabaseManager.clearLastError();
+                        long begin = System.nanoTime();
+                        boolean ok = ops[op].run(random);
+                        long elapsed = System.nanoTime() - begin;
+                        OpStats s = stats[op];
+                        s.count++;
+                        s.latency.add(elapsed);
+                        if (!ok) {
+                            s.errors++;
+                            if (DatabaseManager.isBusy(DatabaseManager.lastError())) s.busy++;
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + t);
+            worker.start();
+        }
+        done.await();
+
+        Map<String, OpStats> merged = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            OpStats sum = new OpStats();
+            for (OpStats[] stats : perThread) sum.merge(stats[i]);
+            merged.put(names[i], sum);
+        }
+        return merged;
+    }
+
+    static void report(Map<String, OpStats> results, int seconds) {
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %8s %8s%n",
+                "operation", "count", "ops/s", "p50 ms", "p99 ms", "max ms", "errors", "busy");
+        OpStats all = new OpStats();
+        for (Map.Entry<String, OpStats> e : results.entrySet()) {
+            printRow(e.getKey(), e.getValue(), seconds);
+            all.merge(e.getValue());
+        }
+        printRow("total", all, seconds);
+    }
+
+    private static void printRow(String name, OpStats s, int seconds) {
+        if (s.count == 0) {
+            System.out.printf("%-10s %10d %10s %10s %10s %10s %8d %8d%n", name, 0, "-", "-", "-", "-", 0, 0);
+            return;
+        }
+        System.out.printf("%-10s %10d %10.1f %10.2f %10.2f %10.2f %8d %8d%n", name, s.count, (double) s.count / seconds,
+                s.latency.quantile(0.50) / 1e6, s.latency.quantile(0.99) / 1e6, s.latency.max() / 1e6, s.errors, s.busy);
+    }
+
+    // ========================================================================
+    // SYNTHETIC ROWS
+    // Bids and milestones derive their project from their own index, so the
+    // workload can find a bid's project again without keeping a table of them.
+    // ========================================================================
+    private ProjectData newProject(SplittableRandom random, int i) {
+        ProjectData p = new ProjectData();
+        int difficulty = random.nextInt(DIFFICULTIES.length);
+        p.projectId = projectId(i);
+        p.title = "Load test project " + i;
+        p.description = "Synthetic project created by LoadGenerator run " + tag;
+        p.clientName = "Client " + tag + "-" + (1 + random.nextInt(1000));
+        p.category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        p.budget = Math.round(200 * (1 + difficulty) * (1 + random.nextDouble() * 9));
+        p.difficulty = DIFFICULTIES[difficulty];
+        p.deadlineDays = 7 + random.nextInt(84);
+        p.status = "Open";
+        return p;
+    }
+
+    private BidData newBid(SplittableRandom random, int i) {
+        BidData b = new BidData();
+        b.bidId = bidId(i);
+        b.projectId = projectId(projectOfBid(i));
+        b.freelancerName = "Freelancer " + tag + "-" + (1 + random.nextInt(1000));
+        b.amount = Math.round(100 + random.nextDouble() * 4900);
+        b.completionDays = 1 + random.nextInt(60);
+        b.proposal = "Load test proposal " + i;
+        b.status = "Pending";
+        return b;
+    }
+
+    private boolean fundMilestone(SplittableRandom random, int m) {
+        String projectId = projectId(projectOfMilestone(m));
+        return db.insertMilestone(milestoneId(m), projectId, "Milestone " + m, milestoneAmount(m), "Escrow", null) > 0
+                && db.insertEscrow(escrowId(m), projectId, milestoneId(m), null, null, milestoneAmount(m)) > 0
+                && db.updateMilestoneStatus(milestoneId(m), "Funded") > 0;
+    }
+
+    private int projectOfBid(int bid) {
+        return projectPicker.sample(new SplittableRandom(seed * 31 + bid));
+    }
+
+    private int projectOfMilestone(int milestone) {
+        return projectPicker.sample(new SplittableRandom(seed * 37 - milestone));
+    }
+
+    private static double milestoneAmount(int m) {
+        return 100 + (m * 7919L) % 4900;
+    }
+
+    private String projectId(int i) { return "PRJ-LT" + tag + "-" + i; }
+    private String bidId(int i) { return "BID-LT" + tag + "-" + i; }
+    private String milestoneId(int i) { return "MIL-LT" + tag + "-" + i; }
+    private String escrowId(int i) { return "ESC-LT" + tag + "-" + i; }
+    private String invoiceId(int i) { return "INV-LT" + tag + "-" + i; }
+    private String disputeId(int i) { return "DSP-LT" + tag + "-" + i; }
+
+    // Zipf(n, s) over 1..n by inverse CDF; s = 0 is uniform
+    private static final class Zipf {
+        private final double[] cdf;
+
+        Zipf(int n, double s) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int k = 1; k <= n; k++) {
+                sum += 1 / Math.pow(k, s);
+                cdf[k - 1] = sum;
+            }
+            for (int k = 0; k < n; k++) cdf[k] /= sum;
+        }
+
+        int sample(SplittableRandom random) {
+            int i = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(cdf.length, (i >= 0 ? i : -i - 1) + 1);
+        }
+    }
+
+    // ========================================================================
+    // COMMAND LINE
+    // ========================================================================
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad mix entry '" + part + "', expected op=weight");
+            int weight;
+            try {
+                weight = Integer.parseInt(kv[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad weight '" + kv[1].trim() + "' for " + kv[0].trim());
+            }
+            if (weight < 0) throw new IllegalArgumentException("Negative weight for " + kv[0]);
+            if (weight > 0) mix.put(kv[0].trim(), weight);
+        }
+        return mix;
+    }
+
+    private static void usage(RuntimeException e) {
+        System.err.println("❌ " + e.getMessage());
+        System.err.println("See the header of LoadGenerator.java for the options.");
+        System.exit(2);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String file = "loadtest.db", mix = DEFAULT_MIX;
+        Map<String, Integer> weights;
+        int users = 200, projects = 500, bids = 5000, milestones = 1000, threads = 8, seconds = 30;
+        double zipf = 1.1;
+        long seed = 42;
+        boolean verbose = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--db": file = args[++i]; break;
+                    case "--users": users = Integer.parseInt(args[++i]); break;
+                    case "--projects": projects = Integer.parseInt(args[++i]); break;
+                    case "--bids": bids = Integer.parseInt(args[++i]); break;
+                    case "--milestones": milestones = Integer.parseInt(args[++i]); break;
+                    case "--threads": threads = Integer.parseInt(args[++i]); break;
+                    case "--seconds": seconds = Integer.parseInt(args[++i]); break;
+                    case "--mix": mix = args[++i]; break;
+                    case "--zipf": zipf = Double.parseDouble(args[++i]); break;
+                    case "--seed": seed = Long.parseLong(args[++i]); break;
+                    case "--verbose": verbose = true; break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (threads < 1 || seconds < 0) throw new IllegalArgumentException("--threads must be >= 1 and --seconds >= 0");
+            weights = parseMix(mix);
+        } catch (RuntimeException e) {
+            usage(e);
+            return;
+        }
+
+        DatabaseManager db = new DatabaseManager("jdbc:sqlite:" + file);
+        LoadGenerator generator = new LoadGenerator(db, projects, zipf, seed);
+        try {
+            generator.checkMix(weights);   // before populate() writes the fill
+        } catch (IllegalArgumentException e) {
+            usage(e);
+            return;
+        }
+        PrintStream err = System.err;
+        if (!verbose) System.setErr(new PrintStream(OutputStream.nullOutputStream()));   // failures are counted instead
+        try {
+            System.out.println("Filling " + file + " (run " + generator.tag + ")...");
+            generator.populate(users, bids, milestones);
+            if (seconds > 0) {
+                System.out.printf("Running %s for %ds on %d threads...%n", weights, seconds, threads);
+                report(generator.run(weights, threads, seconds), seconds);
+            }
+        } finally {
+            System.setErr(err);
+        }
+    }
+}
@@ -23,15 +23,21 @@ public class LoginDialog extends JDialog {
     private CardLayout cardLayout = new CardLayout();
     private JPanel cardPanel;
 
-    private final String DB_URL = "jdbc:sqlite:freelance_platform.db";
+    private final String dbUrl;
 
     public LoginDialog() {
+        this(System.getProperty(DatabaseManager.URL_PROPERTY, DatabaseManager.DEFAULT_URL));
+    }
+
+    // dbUrl should be the app's DatabaseManager.url(), so logins and -Dfreelance.db.url agree
+    public LoginDialog(String dbUrl) {
+        this.dbUrl = dbUrl;
         setupLoginDialog();
         ensurePasswordColumn();
     }
 
     private void ensurePasswordColumn() {
-        try (Connection conn = DriverManager.getConnection(DB_URL)) {
+        try (Connection conn = DriverManager.getConnection(dbUrl)) {
             DatabaseMetaData meta = conn.getMetaData();
             ResultSet rs = meta.getColumns(null, null, "users", "password");
             if (!rs.next()) {
@@ -260,7 +266,7 @@ public class LoginDialog extends JDialog {
         }
 
         String sql = "INSERT INTO users (name, email, type, skill, level, status, password) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, username);
             pstmt.setString(2, email);
@@ -287,7 +293,7 @@ public class LoginDialog extends JDialog {
         }
 
         String sql = "SELECT * FROM users WHERE name = ? AND password = ? AND status = 'Active'";
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = DriverManager.getConnection(dbUrl);
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, username);
             pstmt.setString(2, password);
@@ -6,12 +6,10 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.stream.Collectors;
 
 public class Main extends JFrame {
 
@@ -28,22 +26,27 @@ public class Main extends JFrame {
     private static final Color SLATE_300 = new Color(203, 213, 225);
 
     // Backend Managers
-    private final DatabaseManager db = new DatabaseManager();
+    private final DatabaseManager db = CachingDatabaseManager.create();
     private final ProjectManager projectManager = new ProjectManager(db);
-    private final WageCalculator wageCalculator = new WageCalculator();
+    private final WageCalculator wageCalculator = new WageCalculator(db);
     private final PaymentManager paymentManager = new PaymentManager(db);
     
     // --- Fake Freelancer Database ---
     private final List<Freelancer> allFreelancers = new ArrayList<>();
+    private final FreelancerRanker freelancerRanker;
+    private FreelancerMatcher freelancerMatcher; // built lazily on the first (background) search
+    private static final int BEST_MATCH_PAGE_SIZE = 200;
 
     public Main() {
         initializeFreelancerData();
+        freelancerRanker = new FreelancerRanker(allFreelancers);
         
-        LoginDialog loginDialog = new LoginDialog();
+        LoginDialog loginDialog = new LoginDialog(db.url());
         loginDialog.setVisible(true);
         if(loginDialog.isAuthenticated()){
             String username = loginDialog.getUsername();
             setupMainWindow(username);
+            PlatformApiServer.startIfConfigured(db);   // -Dapi.port=8080 to expose the data over HTTP
         } else {
             System.exit(0);
         }
@@ -172,7 +175,7 @@ public class Main extends JFrame {
         topPanel.add(sortLabel, gbc);
         
         JComboBox<String> sortComboBox = new JComboBox<>(new String[]{
-            "Default", "Rating (High to Low)", "Name (A-Z)"
+            "Default", "Best Match", "Rating (High to Low)", "Name (A-Z)"
         });
         sortComboBox.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         sortComboBox.setPreferredSize(new Dimension(180, 35));
@@ -182,24 +185,41 @@ public class Main extends JFrame {
         backgroundPanel.add(topPanel, BorderLayout.NORTH);
 
         // --- Results Scroll Panel ---
-        JPanel resultsPanel = new JPanel();
-        resultsPanel.setLayout(new BoxLayout(resultsPanel, BoxLayout.Y_AXIS));
-        resultsPanel.setOpaque(false);
-        resultsPanel.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 5));
+        // Virtualized list: only visible rows are painted, through one recycled card renderer
+        FreelancerListModel resultsModel = new FreelancerListModel();
+        JList<Freelancer> resultsList = createFreelancerList(resultsModel);
 
-        JScrollPane scrollPane = new JScrollPane(resultsPanel);
+        JScrollPane scrollPane = new JScrollPane(resultsList);
         scrollPane.setOpaque(false);
         scrollPane.getViewport().setOpaque(false);
         scrollPane.setBorder(BorderFactory.createEmptyBorder());
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
         scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-        backgroundPanel.add(scrollPane, BorderLayout.CENTER);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(FreelancerCard.ROW_HEIGHT / 4);
+
+        JLabel emptyLabel = new JLabel("No freelancers found matching your search.", JLabel.CENTER);
+        emptyLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
+        emptyLabel.setForeground(SLATE_400);
+        emptyLabel.setVerticalAlignment(JLabel.TOP);
+        emptyLabel.setBorder(BorderFactory.createEmptyBorder(50, 0, 0, 0));
+
+        CardLayout resultsCards = new CardLayout();
+        JPanel resultsPanel = new JPanel(resultsCards);
+        resultsPanel.setOpaque(false);
+        resultsPanel.add(scrollPane, "RESULTS");
+        resultsPanel.add(emptyLabel, "EMPTY");
+        backgroundPanel.add(resultsPanel, BorderLayout.CENTER);
 
         // --- Footer ---
-        JPanel footerPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 10));
+        JPanel footerPanel = new JPanel(new BorderLayout());
         footerPanel.setOpaque(false);
         footerPanel.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
 
+        JLabel resultCountLabel = new JLabel(" ");
+        resultCountLabel.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        resultCountLabel.setForeground(SLATE_300);
+        footerPanel.add(resultCountLabel, BorderLayout.WEST);
+
         JButton closeBtn = new JButton("Close");
         closeBtn.setFont(new Font("Segoe UI", Font.BOLD, 14));
         closeBtn.setBackground(WARNING_ORANGE);
@@ -209,70 +229,141 @@ public class Main extends JFrame {
         closeBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
         closeBtn.setPreferredSize(new Dimension(100, 40));
         closeBtn.addActionListener(e -> searchDialog.dispose());
-        footerPanel.add(closeBtn);
+        footerPanel.add(closeBtn, BorderLayout.EAST);
         backgroundPanel.add(footerPanel, BorderLayout.SOUTH);
 
-        // --- Search & Sort Updates ---
-        Runnable updateAction = () -> {
-            String searchTerm = searchField.getText();
-            String sortOrder = (String) sortComboBox.getSelectedItem();
-            updateFreelancerList(resultsPanel, searchTerm, sortOrder);
-        };
+        // --- Search & Sort Updates (debounced, matched off the EDT) ---
+        SearchExecutor<String[], SearchResult> searchExecutor = new SearchExecutor<>(
+            query -> findFreelancers(query[0], query[1]),
+            result -> {
+                resultsModel.setResults(result.freelancers);
+                resultsList.clearSelection();
+                scrollPane.getViewport().setViewPosition(new Point(0, 0));
+                resultsCards.show(resultsPanel, result.freelancers.isEmpty() ? "EMPTY" : "RESULTS");
+                resultCountLabel.setText(result.freelancers.size() < result.totalMatches
+                        ? "Top " + result.freelancers.size() + " of " + result.totalMatches + " matches"
+                        : result.totalMatches + (result.totalMatches == 1 ? " freelancer found" : " freelancers found"));
+            }
+        );
 
         DocumentListener searchListener = new DocumentListener() {
-            public void insertUpdate(DocumentEvent e) { updateAction.run(); }
-            public void removeUpdate(DocumentEvent e) { updateAction.run(); }
-            public void changedUpdate(DocumentEvent e) { updateAction.run(); }
+            public void insertUpdate(DocumentEvent e) { searchExecutor.submit(readQuery(searchField, sortComboBox)); }
+            public void removeUpdate(DocumentEvent e) { searchExecutor.submit(readQuery(searchField, sortComboBox)); }
+            public void changedUpdate(DocumentEvent e) { searchExecutor.submit(readQuery(searchField, sortComboBox)); }
         };
         searchField.getDocument().addDocumentListener(searchListener);
-        sortComboBox.addActionListener(e -> updateAction.run());
+        sortComboBox.addActionListener(e -> searchExecutor.submitNow(readQuery(searchField, sortComboBox)));
 
-        updateAction.run();
+        searchDialog.addWindowListener(new WindowAdapter() {
+            @Override public void windowClosed(WindowEvent e) { searchExecutor.shutdown(); }
+        });
+
+        searchExecutor.submitNow(readQuery(searchField, sortComboBox));
 
         searchDialog.add(backgroundPanel);
         searchDialog.setVisible(true);
     }
 
-    private void updateFreelancerList(JPanel parentPanel, String searchTerm, String sortOrder) {
-        parentPanel.removeAll();
-        String lowerSearch = searchTerm.toLowerCase();
+    // Snapshot the inputs on the EDT so the background search never touches Swing
+    private static String[] readQuery(JTextField searchField, JComboBox<String> sortComboBox) {
+        return new String[]{ searchField.getText(), (String) sortComboBox.getSelectedItem() };
+    }
 
-        List<Freelancer> filteredList = allFreelancers.stream()
-            .filter(f -> f.name.toLowerCase().contains(lowerSearch) ||
-                         f.skill.toLowerCase().contains(lowerSearch))
-            .collect(Collectors.toList());
+    // Runs on a background thread: fuzzy-scores every freelancer, then lets the ranker order them
+    private SearchResult findFreelancers(String searchTerm, String sortOrder) {
+        float[] relevance = getFreelancerMatcher().score(searchTerm);
+        if (Thread.currentThread().isInterrupted()) return new SearchResult(new ArrayList<>(), 0); // superseded by newer input
 
+        int totalMatches = 0;
+        for (float r : relevance) {
+            if (r > 0) totalMatches++;
+        }
+
+        FreelancerRanker.SortKey key;
+        int limit = Integer.MAX_VALUE;
         switch (sortOrder) {
-            case "Rating (High to Low)" : filteredList.sort(Comparator.comparing(Freelancer::getRating).reversed());
-            case "Name (A-Z)" : filteredList.sort(Comparator.comparing(Freelancer::getName));
+            case "Best Match": key = FreelancerRanker.SortKey.BEST_MATCH; limit = BEST_MATCH_PAGE_SIZE; break;
+            case "Rating (High to Low)": key = FreelancerRanker.SortKey.RATING; break;
+            case "Name (A-Z)": key = FreelancerRanker.SortKey.NAME; break;
+            default: key = FreelancerRanker.SortKey.DEFAULT; break;
         }
+        return new SearchResult(freelancerRanker.rank(relevance, key, limit), totalMatches);
+    }
 
-        if (filteredList.isEmpty()) {
-            JLabel emptyLabel = new JLabel("No freelancers found matching your search.");
-            emptyLabel.setFont(new Font("Segoe UI", Font.ITALIC, 14));
-            emptyLabel.setForeground(SLATE_400);
-            emptyLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            parentPanel.add(Box.createVerticalStrut(50));
-            parentPanel.add(emptyLabel);
-        } else {
-            for (Freelancer f : filteredList) {
-                addFreelancerCard(parentPanel, f);
-            }
+    private synchronized FreelancerMatcher getFreelancerMatcher() {
+        if (freelancerMatcher == null) {
+            freelancerMatcher = new FreelancerMatcher(allFreelancers);
         }
+        return freelancerMatcher;
+    }
+
+    private static class SearchResult {
+        final List<Freelancer> freelancers;
+        final int totalMatches;
+
+        SearchResult(List<Freelancer> freelancers, int totalMatches) {
+            this.freelancers = freelancers;
+            this.totalMatches = totalMatches;
+        }
+    }
 
-        parentPanel.revalidate();
-        parentPanel.repaint();
+    private JList<Freelancer> createFreelancerList(FreelancerListModel model) {
+        JList<Freelancer> list = new JList<>(model);
+        list.setOpaque(false);
+        list.setBorder(BorderFactory.createEmptyBorder(0, 5, 0, 5));
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Fixed cell sizes stop JList from measuring every row on each layout;
+        // the width still stretches to the viewport
+        list.setFixedCellHeight(FreelancerCard.ROW_HEIGHT);
+        list.setFixedCellWidth(FreelancerCard.MIN_WIDTH);
+        list.setVisibleRowCount(6);
+
+        FreelancerCard renderer = new FreelancerCard();
+        list.setCellRenderer(renderer);
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            @Override public void mouseMoved(MouseEvent e) { setHoveredRow(list, renderer, rowAt(list, e.getPoint())); }
+            @Override public void mouseExited(MouseEvent e) { setHoveredRow(list, renderer, -1); }
+            @Override public void mouseClicked(MouseEvent e) {
+                int row = rowAt(list, e.getPoint());
+                if (row == -1) return;
+                Window owner = SwingUtilities.getWindowAncestor(list);
+                FreelancerContactDialog dialog = new FreelancerContactDialog(owner, model.getElementAt(row));
+                dialog.setVisible(true);
+            }
+        };
+        list.addMouseListener(mouseHandler);
+        list.addMouseMotionListener(mouseHandler);
+        return list;
+    }
+
+    // locationToIndex snaps to the nearest row, so confirm the point is really inside it
+    private static int rowAt(JList<Freelancer> list, Point p) {
+        int row = list.locationToIndex(p);
+        if (row == -1) return -1;
+        Rectangle bounds = list.getCellBounds(row, row);
+        return bounds != null && bounds.contains(p) ? row : -1;
+    }
+
+    private static void setHoveredRow(JList<Freelancer> list, FreelancerCard renderer, int row) {
+        int previous = renderer.hoveredRow;
+        if (previous == row) return;
+        renderer.hoveredRow = row;
+        list.setCursor(row == -1 ? Cursor.getDefaultCursor() : Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        repaintRow(list, previous);
+        repaintRow(list, row);
     }
 
-    private void addFreelancerCard(JPanel parent, Freelancer freelancer) {
-        parent.add(new FreelancerCard(freelancer));
-        parent.add(Box.createVerticalStrut(12));
+    private static void repaintRow(JList<Freelancer> list, int row) {
+        if (row < 0 || row >= list.getModel().getSize()) return;
+        Rectangle bounds = list.getCellBounds(row, row);
+        if (bounds != null) list.repaint(bounds);
     }
 
     // =============================================================
     // 🧑‍💻 FREELANCER DATA MODEL & CARD UI
     // =============================================================
-    private static class Freelancer {
+    static class Freelancer {
         String name;
         String skill;
         double rating;
@@ -298,70 +389,69 @@ public class Main extends JFrame {
         public String getName() { return name; }
     }
 
-    private static class FreelancerCard extends JPanel {
-        private final Freelancer freelancer;
+    // One instance renders every visible row of the results list
+    private static class FreelancerCard extends JPanel implements ListCellRenderer<Freelancer> {
+        static final int CARD_HEIGHT = 110;
+        static final int CARD_GAP = 12;
+        static final int ROW_HEIGHT = CARD_HEIGHT + CARD_GAP;
+        static final int MIN_WIDTH = 400;
+        private static final Color HOVER_COLOR = new Color(81, 95, 115, 220);
+        private static final BasicStroke HOVER_STROKE = new BasicStroke(1.5f);
+        private static final Font INITIALS_FONT = RenderCache.font("Segoe UI", Font.BOLD, 18);
+        private static final Font NAME_FONT = RenderCache.font("Segoe UI", Font.BOLD, 18);
+        private static final Font SKILL_FONT = RenderCache.font("Segoe UI", Font.PLAIN, 14);
+        private static final Font RATING_FONT = RenderCache.font("Segoe UI", Font.BOLD, 16);
+
+        private Freelancer freelancer;
         private boolean isHovered = false;
+        int hoveredRow = -1;
 
-        public FreelancerCard(Freelancer freelancer) {
-            this.freelancer = freelancer;
-            setLayout(new BorderLayout(15, 5));
+        public FreelancerCard() {
             setOpaque(false);
-            setBorder(BorderFactory.createEmptyBorder(12, 15, 12, 20));
-            setMinimumSize(new Dimension(0, 110));
-            setMaximumSize(new Dimension(Integer.MAX_VALUE, 110));
-            setPreferredSize(new Dimension(Integer.MAX_VALUE, 110));
-
-            setCursor(new Cursor(Cursor.HAND_CURSOR));
+        }
 
-            addMouseListener(new MouseAdapter() {
-                public void mouseEntered(MouseEvent e) { isHovered = true; repaint(); }
-                public void mouseExited(MouseEvent e) { isHovered = false; repaint(); }
-                public void mouseClicked(MouseEvent e) {
-                    Window owner = SwingUtilities.getWindowAncestor(FreelancerCard.this);
-                    FreelancerContactDialog dialog = new FreelancerContactDialog(owner, freelancer);
-                    dialog.setVisible(true);
-                }
-            });
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Freelancer> list, Freelancer value,
+                                                      int index, boolean isSelected, boolean cellHasFocus) {
+            this.freelancer = value;
+            this.isHovered = index == hoveredRow;
+            return this;
         }
 
         @Override
         protected void paintComponent(Graphics g) {
-            super.paintComponent(g); // ✅ Clears background first
+            if (freelancer == null) return;
 
             Graphics2D g2d = (Graphics2D) g.create();
             g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-            // Full clear to remove ghost lines
-            g2d.setComposite(AlphaComposite.Clear);
-            g2d.fillRect(0, 0, getWidth(), getHeight());
-            g2d.setComposite(AlphaComposite.SrcOver);
+            int cardHeight = getHeight() - CARD_GAP;
 
             // Background color (changes slightly on hover)
-            Color bgColor = isHovered ? new Color(81, 95, 115, 220) : SLATE_500;
+            Color bgColor = isHovered ? HOVER_COLOR : SLATE_500;
             g2d.setColor(bgColor);
-            g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 12, 12);
+            g2d.fillRoundRect(0, 0, getWidth(), cardHeight, 12, 12);
 
             // Accent line on the left
             g2d.setColor(ROYAL_BLUE);
-            g2d.fillRoundRect(0, 0, 5, getHeight(), 12, 12);
+            g2d.fillRoundRect(0, 0, 5, cardHeight, 12, 12);
 
             // Hover border outline
             if (isHovered) {
                 g2d.setColor(ROYAL_BLUE);
-                g2d.setStroke(new BasicStroke(1.5f));
-                g2d.drawRoundRect(0, 0, getWidth() - 1, getHeight() - 1, 12, 12);
+                g2d.setStroke(HOVER_STROKE);
+                g2d.drawRoundRect(0, 0, getWidth() - 1, cardHeight - 1, 12, 12);
             }
 
             // Avatar circle
             int avatarSize = 60;
             int avatarX = 25;
-            int avatarY = (getHeight() - avatarSize) / 2;
+            int avatarY = (cardHeight - avatarSize) / 2;
             g2d.setColor(PURPLE_ACCENT);
             g2d.fillOval(avatarX, avatarY, avatarSize, avatarSize);
 
             // Avatar initials
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Segoe UI", Font.BOLD, 18));
+            g2d.setFont(INITIALS_FONT);
             String initials = freelancer.getInitials();
             FontMetrics fm = g2d.getFontMetrics();
             int textX = avatarX + (avatarSize - fm.stringWidth(initials)) / 2;
@@ -371,25 +461,40 @@ public class Main extends JFrame {
             // Name and Skill text
             int textXOffset = avatarX + avatarSize + 25;
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Segoe UI", Font.BOLD, 18));
+            g2d.setFont(NAME_FONT);
             g2d.drawString(freelancer.name, textXOffset, 40);
 
             g2d.setColor(SLATE_300);
-            g2d.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+            g2d.setFont(SKILL_FONT);
             g2d.drawString(freelancer.skill, textXOffset, 65);
 
             // Rating
             String rating = String.format("⭐ %.1f", freelancer.rating);
             g2d.setColor(SUCCESS_GREEN);
-            g2d.setFont(new Font("Segoe UI", Font.BOLD, 16));
+            g2d.setFont(RATING_FONT);
             FontMetrics fmRating = g2d.getFontMetrics();
             int ratingX = getWidth() - fmRating.stringWidth(rating) - 25;
-            int ratingY = (getHeight() - fmRating.getHeight()) / 2 + fmRating.getAscent();
+            int ratingY = (cardHeight - fmRating.getHeight()) / 2 + fmRating.getAscent();
             g2d.drawString(rating, ratingX, ratingY);
 
             g2d.dispose();
         }
     }
+    // Thin view over the latest result list; no per-row copies or components
+    private static class FreelancerListModel extends AbstractListModel<Freelancer> {
+        private List<Freelancer> results = new ArrayList<>();
+
+        void setResults(List<Freelancer> newResults) {
+            int oldSize = results.size();
+            results = newResults;
+            if (oldSize > 0) fireIntervalRemoved(this, 0, oldSize - 1);
+            if (!newResults.isEmpty()) fireIntervalAdded(this, 0, newResults.size() - 1);
+        }
+
+        @Override public int getSize() { return results.size(); }
+        @Override public Freelancer getElementAt(int index) { return results.get(index); }
+    }
+
         // =============================================================
     // 💬 FREELANCER CONTACT DIALOG
     // =============================================================
@@ -422,7 +527,7 @@ public class Main extends JFrame {
                     g2d.fillOval(0, 0, avatarSize, avatarSize);
 
                     g2d.setColor(Color.WHITE);
-                    g2d.setFont(new Font("Segoe UI", Font.BOLD, 28));
+                    g2d.setFont(RenderCache.font("Segoe UI", Font.BOLD, 28));
                     String initials = freelancer.getInitials();
                     FontMetrics fm = g2d.getFontMetrics();
                     int textX = (avatarSize - fm.stringWidth(initials)) / 2;
@@ -559,8 +664,13 @@ public class Main extends JFrame {
     private static class RoleCard extends JPanel {
         private boolean hovered = false;
         private final String icon, title, description;
-        private final Color baseColor = new Color(52, 73, 94);
-        private final Color hoverColor = new Color(82, 103, 124);
+        private static final Color BASE_COLOR = new Color(52, 73, 94);
+        private static final Color HOVER_COLOR = new Color(82, 103, 124);
+        private static final Color DESCRIPTION_COLOR = new Color(200, 200, 200);
+        private static final BasicStroke HOVER_STROKE = new BasicStroke(2);
+        private static final Font ICON_FONT = RenderCache.font("Segoe UI Emoji", Font.PLAIN, 48);
+        private static final Font TITLE_FONT = RenderCache.font("Segoe UI", Font.BOLD, 22);
+        private static final Font DESCRIPTION_FONT = RenderCache.font("Segoe UI", Font.PLAIN, 14);
 
         public RoleCard(String icon, String title, String desc,
                         ProjectManager.UserRole role, RoleSelectionDialog parent) {
@@ -577,23 +687,23 @@ public class Main extends JFrame {
         protected void paintComponent(Graphics g) {
             Graphics2D g2 = (Graphics2D) g.create();
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2.setColor(hovered ? hoverColor : baseColor);
+            g2.setColor(hovered ? HOVER_COLOR : BASE_COLOR);
             g2.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
             if (hovered) {
                 g2.setColor(ROYAL_BLUE);
-                g2.setStroke(new BasicStroke(2));
+                g2.setStroke(HOVER_STROKE);
                 g2.drawRoundRect(1, 1, getWidth() - 2, getHeight() - 2, 15, 15);
             }
-            g2.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 48));
+            g2.setFont(ICON_FONT);
             g2.setColor(Color.WHITE);
             int centerX = getWidth() / 2;
             FontMetrics fm = g2.getFontMetrics();
             g2.drawString(icon, centerX - fm.stringWidth(icon) / 2, 70);
-            g2.setFont(new Font("Segoe UI", Font.BOLD, 22));
+            g2.setFont(TITLE_FONT);
             fm = g2.getFontMetrics();
             g2.drawString(title, centerX - fm.stringWidth(title) / 2, 120);
-            g2.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-            g2.setColor(new Color(200, 200, 200));
+            g2.setFont(DESCRIPTION_FONT);
+            g2.setColor(DESCRIPTION_COLOR);
             fm = g2.getFontMetrics();
             g2.drawString(description, centerX - fm.stringWidth(description) / 2, 150);
             g2.dispose();
@@ -604,37 +714,27 @@ public class Main extends JFrame {
         public enum GradientType { VERTICAL, DIAGONAL }
         private final Color startColor, endColor;
         private final GradientType type;
-        private static final BufferedImage texture = loadImage();
 
         public CustomGradientPanel(Color start, Color end, GradientType type) {
             this.startColor = start; this.endColor = end; this.type = type;
         }
-        private static BufferedImage loadImage() {
-            try { return ImageIO.read(CustomGradientPanel.class.getResource("/background.png")); }
-            catch (Exception e) { return null; }
-        }
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g.create();
-            if (texture != null) {
-                for (int y = 0; y < getHeight(); y += texture.getHeight())
-                    for (int x = 0; x < getWidth(); x += texture.getWidth())
-                        g2.drawImage(texture, x, y, this);
-            } else {
-                g2.setColor(new Color(34, 47, 62));
-                g2.fillRect(0, 0, getWidth(), getHeight());
-            }
-            GradientPaint gp = (type == GradientType.DIAGONAL)
-                    ? new GradientPaint(0, 0, startColor, getWidth(), getHeight(), endColor)
-                    : new GradientPaint(0, 0, startColor, 0, getHeight(), endColor);
-            g2.setPaint(gp);
-            g2.fillRect(0, 0, getWidth(), getHeight());
-            g2.dispose();
+            // Texture + gradient are composited once per size by the shared cache
+            Color base = RenderCache.texture() == null ? RenderCache.DEFAULT_BASE : null;
+            RenderCache.paintBackground(g, this, base, startColor, endColor, type == GradientType.DIAGONAL);
         }
     }
 
     private static class ModuleButton extends JPanel {
+        private static final Color SHADOW_COLOR = new Color(0, 0, 0, 70);
+        private static final Color HOVER_COLOR = new Color(52, 152, 219, 220);
+        private static final Color BASE_COLOR = new Color(44, 62, 80, 200);
+        private static final Color SUBTITLE_COLOR = new Color(189, 227, 255);
+        private static final Font EMOJI_FONT = RenderCache.font("Segoe UI Emoji", Font.BOLD, 36);
+        private static final Font TITLE_FONT = RenderCache.font("Segoe UI", Font.BOLD, 18);
+        private static final Font SUBTITLE_FONT = RenderCache.font("Segoe UI", Font.PLAIN, 13);
         private final String title, subtitle, emoji;
         private final Color accent;
         private boolean hovered = false;
@@ -654,19 +754,19 @@ public class Main extends JFrame {
             Graphics2D g2 = (Graphics2D) g.create();
             g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
             int w = getWidth(), h = getHeight();
-            g2.setColor(new Color(0,0,0,70));
+            g2.setColor(SHADOW_COLOR);
             g2.fillRoundRect(5,5,w-5,h-5,20,20);
-            g2.setColor(hovered ? new Color(52,152,219,220) : new Color(44,62,80,200));
+            g2.setColor(hovered ? HOVER_COLOR : BASE_COLOR);
             g2.fillRoundRect(0,0,w-5,h-5,20,20);
             g2.setColor(accent);
             g2.fillRoundRect(0,0,8,h-5,20,20);
-            g2.setFont(new Font("Segoe UI Emoji", Font.BOLD, 36));
+            g2.setFont(EMOJI_FONT);
             g2.drawString(emoji,30,65);
             g2.setColor(Color.WHITE);
-            g2.setFont(new Font("Segoe UI", Font.BOLD, 18));
+            g2.setFont(TITLE_FONT);
             g2.drawString(title,30,105);
-            g2.setColor(new Color(189,227,255));
-            g2.setFont(new Font("Segoe UI", Font.PLAIN,13));
+            g2.setColor(SUBTITLE_COLOR);
+            g2.setFont(SUBTITLE_FONT);
             g2.drawString(subtitle,30,130);
             g2.dispose();
         }
@@ -683,6 +783,7 @@ public class Main extends JFrame {
     }
 
     public static void main(String[] args) {
+        EdtWatchdog.installIfEnabled();   // -Dedt.watchdog=true to measure UI stalls
         SwingUtilities.invokeLater(() -> new Main().setVisible(true));
     }
 }
@@ -0,0 +1,161 @@
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// ========================================================================
+// MARKET RATE ANALYTICS
+// Fair-wage benchmarks from historical bids. Each bid's effective hourly
+// rate (amount / (completion_days * 8h)) is added to a QuantileSketch for
+// its project category and for category + difficulty. Refreshes are
+// incremental: only bids with a rowid above the last one seen are read, so
+// the bids table is scanned in full once and afterwards only new rows are
+// touched. Readers get an immutable snapshot of percentile bands, so the
+// calculator never queries the database to show a market rate.
+// New bids arrive from the change bus, one incremental refresh per burst;
+// the timer only catches bids written by other processes.
+//   -Dmarket.rates.refresh.seconds   refresh interval, default 60 (0 disables)
+// Bids withdrawn before they were seen are skipped; a bid counted once stays
+// counted (amounts never change after insert).
+// ========================================================================
+public class MarketRateAnalytics {
+    public static final String REFRESH_PROPERTY = "market.rates.refresh.seconds";
+    public static final long DEFAULT_REFRESH_SECONDS = 60;
+    public static final double HOURS_PER_DAY = 8.0;
+
+    // Calculator skills that are filed under a different project category
+    private static final Map<String, String> SKILL_CATEGORIES = new HashMap<>();
+    static {
+        SKILL_CATEGORIES.put("Mobile App Development", "Mobile Development");
+        SKILL_CATEGORIES.put("AI/Machine Learning", "Data Science");
+    }
+
+    public static final class Band {
+        public final long count;
+        public final double p25, p50, p75, p90;
+
+        Band(QuantileSketch sketch) {
+            this.count = sketch.count();
+            this.p25 = sketch.quantile(0.25);
+            this.p50 = sketch.quantile(0.50);
+            this.p75 = sketch.quantile(0.75);
+            this.p90 = sketch.quantile(0.90);
+        }
+    }
+
+    private final DatabaseManager dbManager;
+    private final Map<String, QuantileSketch> sketches = new HashMap<>();   // guarded by this
+    private final List<Consumer<MarketRateAnalytics>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Map<String, Band> bands = Collections.emptyMap();
+    private long lastRowId;
+    private ScheduledExecutorService refresher;
+    private ChangeEventBus.Subscription bidInserts;
+
+    public MarketRateAnalytics(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    // Band for a project category, or null when no bids have been seen for it
+    public Band band(String category) {
+        return bands.get(category);
+    }
+
+    // Band for category + difficulty, falling back to the whole category when that cell is empty
+    public Band band(String category, String difficulty) {
+        Band band = bands.get(key(category, difficulty));
+        return band != null ? band : bands.get(category);
+    }
+
+    // Band for one of the calculator's skill labels
+    public Band bandForSkill(String skill) {
+        return skill == null ? null : band(SKILL_CATEGORIES.getOrDefault(skill, skill));
+    }
+
+    public void addListener(Consumer<MarketRateAnalytics> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<MarketRateAnalytics> listener) {
+        listeners.remove(listener);
+    }
+
+    // Fold in bids added since the last refresh; returns how many were added
+    public synchronized int refresh() {
+        Map<String, QuantileSketch> touched = new HashMap<>();
+        int[] added = {0};
+        long last = dbManager.forEachBidWithProjectSince(lastRowId, row -> {
+            double amount = (Double) row[1];
+            int days = (Integer) row[2];
+            String category = (String) row[3];
+            if (category == null || !(amount > 0) || days <= 0) return;
+            double hourly = amount / (days * HOURS_PER_DAY);
+            add(touched, category, hourly);
+            if (row[4] != null) add(touched, key(category, (String) row[4]), hourly);
+            added[0]++;
+        });
+        lastRowId = last;
+        if (touched.isEmpty()) return 0;
+
+        // Only the sketches that changed need new bands; the rest are carried over
+        Map<String, Band> next = new HashMap<>(bands);
+        for (Map.Entry<String, QuantileSketch> e : touched.entrySet()) next.put(e.getKey(), new Band(e.getValue()));
+        bands = Collections.unmodifiableMap(next);
+        for (Consumer<MarketRateAnalytics> l : listeners) l.accept(this);
+        return added[0];
+    }
+
+    // Initial load plus periodic refresh; safe to call more than once
+    public synchronized void start() {
+        long seconds = Long.getLong(REFRESH_PROPERTY, DEFAULT_REFRESH_SECONDS);
+        if (refresher != null) return;
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "market-rate-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        if (seconds > 0) {
+            refresher.scheduleWithFixedDelay(this::refreshQuietly, 0, seconds, TimeUnit.SECONDS);
+        } else {
+            refresher.execute(this::refreshQuietly);
+        }
+        ScheduledExecutorService target = refresher;
+        bidInserts = dbManager.changes().subscribe("market-rates", EnumSet.of(ChangeEventBus.Entity.BID), batch -> {
+            if (batch.stream().anyMatch(c -> c.op == ChangeEventBus.Op.INSERT) && !target.isShutdown()) target.execute(this::refreshQuietly);
+        });
+    }
+
+    public synchronized void stop() {
+        if (bidInserts != null) {
+            bidInserts.close();
+            bidInserts = null;
+        }
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Market rate refresh failed: " + e.getMessage());
+        }
+    }
+
+    private void add(Map<String, QuantileSketch> touched, String key, double hourly) {
+        QuantileSketch sketch = sketches.computeIfAbsent(key, k -> new QuantileSketch());
+        sketch.add(hourly);
+        touched.put(key, sketch);
+    }
+
+    private static String key(String category, String difficulty) {
+        return category + "|" + difficulty;
+    }
+}
@@ -0,0 +1,125 @@
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// ========================================================================
+// MONEY FORMAT
+// Immutable, thread-safe replacement for DecimalFormat("$#,##0.00") that
+// appends straight into a caller's StringBuilder: no pattern parsing, no
+// intermediate strings, no synchronization. Rounding is HALF_EVEN on the
+// exact binary value of the double, which is what DecimalFormat does.
+// (String.format's %.Nf rounds HALF_UP on the shortest decimal form, so
+// the two can differ in the last digit for inputs such as 1.005.)
+// ========================================================================
+public final class MoneyFormat {
+    public static final MoneyFormat DOLLARS = new MoneyFormat("$");
+
+    private static final double[] POW10 = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+    // Above this the scaled value no longer has a fractional part to round; use BigDecimal
+    private static final double FAST_LIMIT = 1e15;
+    private static final double FIXED_FAST_LIMIT = 1e9;
+
+    private final String prefix;
+
+    public MoneyFormat(String prefix) {
+        this.prefix = prefix;
+    }
+
+    // prefix + grouped amount with two decimals, e.g. "$1,234.50" / "-$3.00"
+    public StringBuilder append(StringBuilder sb, double amount) {
+        if (Double.isNaN(amount)) return sb.append("NaN");
+        if (amount < 0 || (amount == 0 && 1 / amount < 0)) sb.append('-');
+        sb.append(prefix);
+        if (Double.isInfinite(amount)) return sb.append('∞');
+        return appendUnsigned(sb, Math.abs(amount), 2, true);
+    }
+
+    public String format(double amount) {
+        return append(new StringBuilder(24), amount).toString();
+    }
+
+    // Plain fixed-point number without grouping, e.g. appendFixed(sb, 1.3, 2) -> "1.30".
+    // Same digits as String.format("%.Nf"): HALF_UP on the shortest decimal form of the
+    // double, so 2.25 -> "2.3" and 1.125 -> "1.13" (not HALF_EVEN on the binary value).
+    public static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        if (decimals < 0 || decimals >= POW10.length) throw new IllegalArgumentException("decimals must be 0-" + (POW10.length - 1));
+        if (Double.isNaN(value)) return sb.append("NaN");
+        if (value < 0 || (value == 0 && 1 / value < 0)) sb.append('-');
+        if (Double.isInfinite(value)) return sb.append("Infinity");
+        double abs = Math.abs(value);
+        double scaled = abs * POW10[decimals];
+        long units = (long) scaled;
+        double frac = scaled - units;
+        // Below FIXED_FAST_LIMIT the product is within 1e-7 of the decimal value, so only
+        // fractions near .5 can round differently; those take the exact decimal route
+        if (scaled >= FIXED_FAST_LIMIT || Math.abs(frac - 0.5) < 1e-6) {
+            return sb.append(new BigDecimal(Double.toString(abs)).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+        }
+        if (frac > 0.5) units++;
+        long pow = (long) POW10[decimals];
+        sb.append(units / pow);
+        if (decimals > 0) {
+            sb.append('.');
+            long fraction = units % pow;
+            for (long p = pow / 10; p > 0; p /= 10) {
+                sb.append((char) ('0' + fraction / p % 10));
+            }
+        }
+        return sb;
+    }
+
+    private static StringBuilder appendUnsigned(StringBuilder sb, double abs, int decimals, boolean grouping) {
+        if (decimals < 0 || decimals >= POW10.length) throw new IllegalArgumentException("decimals must be 0-" + (POW10.length - 1));
+        double scale = POW10[decimals];
+        double scaled = abs * scale;
+        if (scaled >= FAST_LIMIT) return appendSlow(sb, abs, decimals, grouping);
+
+        long units = (long) scaled;                // floor, since scaled >= 0
+        double frac = scaled - units;              // exact
+        if (frac > 0.5) {
+            units++;
+        } else if (frac == 0.5) {
+            // The product may have rounded onto the midpoint; the fma residual tells which side we were on
+            double err = Math.fma(abs, scale, -scaled);
+            if (err > 0 || (err == 0 && (units & 1) != 0)) units++;
+        }
+        // frac != 0.5: the midpoint is representable, so the rounded product is on the same side as the exact one
+
+        long pow = (long) scale;
+        appendInteger(sb, units / pow, grouping);
+        if (decimals > 0) {
+            sb.append('.');
+            long fraction = units % pow;
+            for (long p = pow / 10; p > 0; p /= 10) {
+                sb.append((char) ('0' + fraction / p % 10));
+            }
+        }
+        return sb;
+    }
+
+    private static void appendInteger(StringBuilder sb, long value, boolean grouping) {
+        if (value < 1000 || !grouping) {
+            sb.append(value);
+            return;
+        }
+        appendInteger(sb, value / 1000, true);
+        sb.append(',');
+        long rest = value % 1000;
+        if (rest < 100) sb.append('0');
+        if (rest < 10) sb.append('0');
+        sb.append(rest);
+    }
+
+    // Huge values: exact but allocating (prints every digit where DecimalFormat zero-pads past 17)
+    private static StringBuilder appendSlow(StringBuilder sb, double abs, int decimals, boolean grouping) {
+        BigDecimal rounded = new BigDecimal(abs).setScale(decimals, RoundingMode.HALF_EVEN);
+        String plain = rounded.toPlainString();
+        if (!grouping) return sb.append(plain);
+        int dot = plain.indexOf('.');
+        int intLen = dot < 0 ? plain.length() : dot;
+        for (int i = 0; i < intLen; i++) {
+            if (i > 0 && (intLen - i) % 3 == 0) sb.append(',');
+            sb.append(plain.charAt(i));
+        }
+        return sb.append(plain, intLen, plain.length());
+    }
+}
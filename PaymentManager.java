@@ -7,8 +7,11 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
 import java.text.SimpleDateFormat;
 import java.text.DecimalFormat;
 import java.sql.SQLException;
@@ -24,6 +27,8 @@ import java.sql.DriverManager;
 public class PaymentManager {
     // --- DATABASE INTEGRATION ---
     private final DatabaseManager dbManager;
+    private final PaymentService paymentService;
+    private final InvoicePdfService invoicePdfService;
     private JTable paymentTable;
     public enum UserRole { CLIENT, FREELANCER, ADMIN }
     private UserRole currentUserRole;
@@ -37,6 +42,8 @@ public class PaymentManager {
     private final ArrayList<EscrowAccount> escrowAccounts = new ArrayList<>();
     private final ArrayList<Invoice> invoices = new ArrayList<>();
     private final ArrayList<DisputeCase> disputes = new ArrayList<>();
+    // Payment writes from any window; the affected tables reload on the EDT, once per burst
+    private ChangeEventBus.Subscription changeSubscription;
     
     // Table models
     private DefaultTableModel milestonesTableModel;
@@ -58,11 +65,6 @@ public class PaymentManager {
     private JComboBox<String> invoiceStatusCombo, escrowStatusCombo, disputeStatusCombo;
     // Dashboard Stat Labels (Kept for logic, but UI creation relies on old helper)
     private JLabel milestonesCountLabel, escrowAmountLabel, openDisputesLabel, completedPaymentsLabel, totalInvoicesLabel, successRateLabel, avgResolutionTimeLabel, platformFeeLabel;
-    // ID generators (used for new local data but primarily used for DB functions now)
-    private int nextMilestoneId = 1;
-    private int nextEscrowId = 1;
-    private int nextInvoiceId = 1;
-    private int nextDisputeId = 1;
     // Colors
     private final Color bgColor = new Color(34, 47, 62);
     private final Color sidebarColor = new Color(44, 62, 80);
@@ -82,6 +84,8 @@ public class PaymentManager {
     // --- CONSTRUCTOR ---
     public PaymentManager(DatabaseManager dbManager) {
         this.dbManager = dbManager;
+        this.paymentService = new PaymentService(dbManager);
+        this.invoicePdfService = new InvoicePdfService(dbManager);
         try {
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
                 if ("Nimbus".equals(info.getName())) {
@@ -95,7 +99,7 @@ public class PaymentManager {
     }
 
     private void loadPaymentsFromDatabase() {
-        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:freelance_platform.db");
+        try (Connection conn = DriverManager.getConnection(dbManager.url());
             Statement stmt = conn.createStatement();
             ResultSet rs = stmt.executeQuery("SELECT * FROM payments")) {
 
@@ -132,6 +136,20 @@ public class PaymentManager {
             frame.dispose();
         }
         initializeGUI();
+        if (changeSubscription != null) changeSubscription.close();
+        changeSubscription = dbManager.changes().subscribe("payment-manager",
+                EnumSet.of(ChangeEventBus.Entity.MILESTONE, ChangeEventBus.Entity.ESCROW, ChangeEventBus.Entity.INVOICE, ChangeEventBus.Entity.DISPUTE),
+                SwingUtilities::invokeLater, this::applyChanges);
+        JFrame window = frame;
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                if (frame == window && changeSubscription != null) {
+                    changeSubscription.close();
+                    changeSubscription = null;
+                }
+            }
+        });
         
         // Initial data load and dashboard update
         String prj = projectIdField != null ?
@@ -436,10 +454,13 @@ public class PaymentManager {
         sendBtn.addActionListener(e -> sendInvoice());
         JButton printBtn = createStyledButton("🖨️ Print Invoice", new Color(149, 165, 166));
         printBtn.addActionListener(e -> printInvoice());
+        JButton exportBtn = createStyledButton("📦 Export Invoices", purpleAccent);
+        exportBtn.addActionListener(e -> exportInvoices());
         
         buttonPanel.add(generateBtn);
         buttonPanel.add(sendBtn);
         buttonPanel.add(printBtn);
+        buttonPanel.add(exportBtn);
         panel.add(buttonPanel, BorderLayout.SOUTH);
         
         return panel;
@@ -499,10 +520,12 @@ public class PaymentManager {
     }
     
     private void loadMilestonesFor(String projectId) {
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         milestonesTableModel.setRowCount(0);
         milestones.clear();
         
-        List<Object[]> dbMilestones = dbManager.getMilestonesByProject(projectId);
+        List<Object[]> dbMilestones = paymentService.milestones(projectId);
         
         for (Object[] row : dbMilestones) {
             String milestoneId = (String) row[0];
@@ -536,13 +559,16 @@ public class PaymentManager {
                 dueDateStr != null ? dueDateStr.split(" ")[0] : "Pending" // Use Due Date for old UI
             });
         }
+        event.finish("milestones", "milestone", milestonesTableModel.getRowCount(), projectId);
     }
 
     private void loadEscrowFor(String projectId) {
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         escrowTableModel.setRowCount(0);
         escrowAccounts.clear();
         
-        List<Object[]> dbEscrow = dbManager.getEscrowByProject(projectId); 
+        List<Object[]> dbEscrow = paymentService.escrow(projectId); 
         
         for (Object[] row : dbEscrow) {
             String escrowId = (String) row[0];
@@ -571,13 +597,16 @@ public class PaymentManager {
                 createdDateStr != null ? createdDateStr.split(" ")[0] : "N/A"
             });
         }
+        event.finish("escrow_accounts", "escrow", escrowTableModel.getRowCount(), projectId);
     }
 
     private void loadInvoicesFor(String projectId) {
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         invoicesTableModel.setRowCount(0);
         invoices.clear();
         
-        List<Object[]> dbInvoices = dbManager.getInvoicesByProject(projectId);
+        List<Object[]> dbInvoices = paymentService.invoices(projectId);
         
         for (Object[] row : dbInvoices) {
             String invId = (String) row[0];
@@ -607,13 +636,16 @@ public class PaymentManager {
                 dueDateStr != null ? dueDateStr.split(" ")[0] : "N/A"
             });
         }
+        event.finish("invoices", "invoice", invoicesTableModel.getRowCount(), projectId);
     }
 
     private void loadDisputesFor(String projectId) {
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         disputesTableModel.setRowCount(0);
         disputes.clear();
         
-        List<Object[]> dbDisputes = dbManager.getDisputesByProject(projectId);
+        List<Object[]> dbDisputes = paymentService.disputes(projectId);
 
         for (Object[] row : dbDisputes) {
             String disId = (String) row[0];
@@ -643,12 +675,13 @@ public class PaymentManager {
                 resolution != null && !resolution.trim().isEmpty() ? "Resolved" : "Pending"
             });
         }
+        event.finish("disputes", "dispute", disputesTableModel.getRowCount(), projectId);
     }
 
     private void updateDashboardFor(String projectId) {
         // Use DB Manager helper methods for accurate stats
         long totalMilestones = dbManager.getMilestoneCountByProject(projectId);
-        double fundsInEscrow = dbManager.getEscrowTotalByProject(projectId);
+        double fundsInEscrow = paymentService.ledger().escrowHeld(projectId);   // running balance, no re-sum
         long activeDisputes = dbManager.getOpenDisputeCountByProject(projectId);
 
         // Fallback to local filtering for stats not directly supported by DBManager helpers
@@ -663,9 +696,27 @@ public class PaymentManager {
         totalInvoicesLabel.setText(String.valueOf(totalInvoices));
         successRateLabel.setText(totalMilestones > 0 ? String.format("%.0f%%", (double)completedMilestones / totalMilestones * 100) : "100%");
         avgResolutionTimeLabel.setText("N/A");
-        platformFeeLabel.setText(currencyFormat.format(0.0));
+        platformFeeLabel.setText(currencyFormat.format(paymentService.ledger().feesInvoiced(projectId)));
     }
     
+    // Reload only the tables a batch of writes touched, and only when they fall inside the project
+    // filter. Actions no longer refresh by hand: their own writes come back through here, and so do
+    // writes from other windows.
+    private void applyChanges(List<ChangeEventBus.Change> batch) {
+        if (frame == null || !frame.isDisplayable()) return;
+        String prj = projectIdField != null ? projectIdField.getText() : "";
+        EnumSet<ChangeEventBus.Entity> touched = EnumSet.noneOf(ChangeEventBus.Entity.class);
+        for (ChangeEventBus.Change change : batch) {
+            if (change.affects(prj)) touched.add(change.entity);
+        }
+        if (touched.isEmpty()) return;
+        if (touched.contains(ChangeEventBus.Entity.MILESTONE)) loadMilestonesFor(prj);
+        if (touched.contains(ChangeEventBus.Entity.ESCROW)) loadEscrowFor(prj);
+        if (touched.contains(ChangeEventBus.Entity.INVOICE)) loadInvoicesFor(prj);
+        if (touched.contains(ChangeEventBus.Entity.DISPUTE)) loadDisputesFor(prj);
+        updateDashboardFor(prj);
+    }
+
     // Helper to refresh all tables 
     private void refreshTables() {
         String prj = projectIdField != null ?
@@ -694,20 +745,17 @@ public class PaymentManager {
 
     private void createMilestone() {
         if (validateMilestoneForm()) {
-            // Use DB Manager to generate a unique ID
-            String milestoneId = "MIL" + String.format("%03d", nextMilestoneId++);
-            double amount = Double.parseDouble(milestoneAmountField.getText());
-            String projectId = projectIdField.getText();
-            String paymentMethod = (String) paymentMethodCombo.getSelectedItem();
-            String notes = milestoneNotesArea.getText();
-            // 1. Insert Milestone into DB
-            int rows = dbManager.insertMilestone(milestoneId, projectId, milestoneDescField.getText(), 
-                                               amount, paymentMethod, notes);
-            if (rows > 0) {
-                // 2. Insert corresponding Escrow Account into DB (Placeholder IDs for Client/Freelancer)
-                // Assuming client_id and freelancer_id are 1 and 2 for simplicity/testing
-                createEscrowAccount(milestoneId, projectId, 1, 2, amount);
-                refreshTables(); 
+            // Milestone plus its escrow account (placeholder client/freelancer IDs 1 and 2 for testing)
+            String milestoneId;
+            try {
+                milestoneId = paymentService.createMilestone(projectIdField.getText(), milestoneDescField.getText(),
+                        Double.parseDouble(milestoneAmountField.getText()), (String) paymentMethodCombo.getSelectedItem(),
+                        milestoneNotesArea.getText(), 1, 2);
+            } catch (IllegalArgumentException e) {
+                JOptionPane.showMessageDialog(frame, e.getMessage(), "Input Error", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            if (milestoneId != null) {
                 clearMilestoneForm();
                 JOptionPane.showMessageDialog(frame,
                     "Milestone created successfully!\nMilestone ID: " + milestoneId + 
@@ -719,46 +767,28 @@ public class PaymentManager {
         }
     }
     
-    private void createEscrowAccount(String milestoneId, String projectId, Integer clientId, Integer freelancerId, double amount) {
-        String escrowId = "ESC" + String.format("%03d", nextEscrowId++);
-        // 1. Insert Escrow into DB
-        dbManager.insertEscrow(escrowId, projectId, milestoneId, clientId, freelancerId, amount);
-    }
-    
     private void releaseMilestonePayment() {
         int selectedRow = milestonesTable.getSelectedRow();
         if (selectedRow != -1) {
             String milestoneId = (String) milestonesTableModel.getValueAt(selectedRow, 0);
-            // 1. Update Milestone Status in DB
-            int milestoneUpdated = dbManager.updateMilestoneStatus(milestoneId, "Released");
-            // 2. Update Escrow Status in DB
-            dbManager.updateEscrowStatusByMilestone(milestoneId, "Released");
-            // 3. Generate Invoice (Insert into DB)
-            generateInvoiceForMilestone(milestoneId);
-            
-            refreshTables();
-            JOptionPane.showMessageDialog(frame, "Payment released successfully!\nInvoice generated and funds transferred to freelancer.", "Payment Released", JOptionPane.INFORMATION_MESSAGE);
+            // Milestone and escrow Released, invoice generated (placeholder client/freelancer IDs 1 and 2)
+            String invoiceId;
+            try {
+                invoiceId = paymentService.releaseMilestone(milestoneId, 1, 2);
+            } catch (IllegalArgumentException e) {
+                JOptionPane.showMessageDialog(frame, e.getMessage(), "Input Error", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            if (invoiceId != null) {
+                JOptionPane.showMessageDialog(frame, "Payment released successfully!\nInvoice generated and funds transferred to freelancer.", "Payment Released", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(frame, "Failed to release payment in database.", "Database Error", JOptionPane.ERROR_MESSAGE);
+            }
         } else {
             JOptionPane.showMessageDialog(frame, "Please select a milestone to release.", "No Selection", JOptionPane.WARNING_MESSAGE);
         }
     }
 
-    private void generateInvoiceForMilestone(String milestoneId) {
-        // Find the milestone locally to get details
-        PaymentMilestone milestone = milestones.stream()
-            .filter(m -> m.getMilestoneId().equals(milestoneId))
-            .findFirst().orElse(null);
-        if (milestone != null) {
-            String invoiceId = "INV" + String.format("%03d", nextInvoiceId++);
-            // Due date 7 days from now (in SQL DATETIME format)
-            String dueDateIso = dateFormat.format(new Date(new Date().getTime() + (7 * 24 * 60 * 60 * 1000)));
-            // 1. Insert Invoice into DB (Placeholder IDs for Client/Freelancer)
-            // Assuming client_id and freelancer_id are 1 and 2 for simplicity/testing
-            dbManager.insertInvoice(invoiceId, milestone.getProjectId(), 1, 2, 
-                                    milestone.getAmount(), milestone.getDescription(), dueDateIso);
-        }
-    }
-    
     private void openDispute() {
         int selectedRow = milestonesTable.getSelectedRow();
         if (selectedRow != -1) {
@@ -767,18 +797,15 @@ public class PaymentManager {
             
             String reason = JOptionPane.showInputDialog(frame, "Enter dispute reason:", "Open Dispute", JOptionPane.QUESTION_MESSAGE);
             if (reason != null && !reason.trim().isEmpty()) {
-                String disputeId = "DSP" + String.format("%03d", nextDisputeId++);
-                // 1. Insert Dispute into DB
-                dbManager.insertDispute(disputeId, projectId, milestoneId, "Client", reason);
-                // 2. Update Milestone Status to Disputed in DB
-                dbManager.updateMilestoneStatus(milestoneId, "Disputed");
-                // 3. Update Escrow Status to On Hold in DB
-                dbManager.updateEscrowStatusByMilestone(milestoneId, "On Hold");
-                refreshTables(); 
-                
-                JOptionPane.showMessageDialog(frame, 
-                    "Dispute opened successfully!\nDispute ID: " + disputeId + "\nPayment has been held pending resolution.", 
-                    "Dispute Opened", JOptionPane.INFORMATION_MESSAGE);
+                // Dispute filed, milestone Disputed, escrow On Hold
+                String disputeId = paymentService.openDispute(milestoneId, projectId, "Client", reason);
+                if (disputeId != null) {
+                    JOptionPane.showMessageDialog(frame, 
+                        "Dispute opened successfully!\nDispute ID: " + disputeId + "\nPayment has been held pending resolution.", 
+                        "Dispute Opened", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(frame, "Failed to open dispute in database.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                }
             }
         } else {
             JOptionPane.showMessageDialog(frame, "Please select a milestone to dispute.", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -789,9 +816,7 @@ public class PaymentManager {
         int selectedRow = escrowTable.getSelectedRow();
         if (selectedRow != -1) {
             String escrowId = (String) escrowTableModel.getValueAt(selectedRow, 0);
-            // 1. Update Escrow Status in DB
-            dbManager.updateEscrowStatus(escrowId, "Released");
-            refreshTables(); 
+            paymentService.releaseEscrow(escrowId);
             JOptionPane.showMessageDialog(frame, "Escrow funds released successfully!", "Funds Released", JOptionPane.INFORMATION_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(frame, "Please select an escrow account.", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -802,9 +827,7 @@ public class PaymentManager {
         int selectedRow = escrowTable.getSelectedRow();
         if (selectedRow != -1) {
             String escrowId = (String) escrowTableModel.getValueAt(selectedRow, 0);
-            // 1. Update Escrow Status in DB
-            dbManager.updateEscrowStatus(escrowId, "On Hold");
-            refreshTables(); 
+            paymentService.holdEscrow(escrowId);
             JOptionPane.showMessageDialog(frame, "Escrow funds placed on hold.", "Funds Held", JOptionPane.WARNING_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(frame, "Please select an escrow account.", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -814,11 +837,11 @@ public class PaymentManager {
     private void generateInvoice() {
         String projectId = JOptionPane.showInputDialog(frame, "Enter Project ID:", "Generate Invoice", JOptionPane.QUESTION_MESSAGE);
         if (projectId != null && !projectId.trim().isEmpty()) {
-            String invoiceId = "INV" + String.format("%03d", nextInvoiceId++);
-            String dueDateIso = dateFormat.format(new Date(new Date().getTime() + (7 * 24 * 60 * 60 * 1000)));
-            // 1. Insert Invoice into DB (for platform fee)
-            dbManager.insertInvoice(invoiceId, projectId, null, null, 50.0, "Platform Fee for Project " + projectId, dueDateIso);
-            refreshTables();
+            String invoiceId = paymentService.invoicePlatformFee(projectId);
+            if (invoiceId == null) {
+                JOptionPane.showMessageDialog(frame, "Failed to generate invoice in database.", "Database Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             JOptionPane.showMessageDialog(frame, "Platform Fee invoice generated successfully!\nInvoice ID: " + invoiceId, "Invoice Generated", JOptionPane.INFORMATION_MESSAGE);
         }
     }
@@ -827,9 +850,7 @@ public class PaymentManager {
         int selectedRow = invoicesTable.getSelectedRow();
         if (selectedRow != -1) {
             String invoiceId = (String) invoicesTableModel.getValueAt(selectedRow, 0);
-            // 1. Update Invoice Status in DB
-            dbManager.updateInvoiceStatus(invoiceId, "Sent");
-            refreshTables();
+            paymentService.sendInvoice(invoiceId);
             JOptionPane.showMessageDialog(frame, "Invoice " + invoiceId + " sent to client via email.", "Invoice Sent", JOptionPane.INFORMATION_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(frame, "Please select an invoice to send.", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -837,25 +858,85 @@ public class PaymentManager {
     }
     
     private void printInvoice() {
-        // ... (No DB change needed for printing)
         int selectedRow = invoicesTable.getSelectedRow();
         if (selectedRow != -1) {
             String invoiceId = (String) invoicesTableModel.getValueAt(selectedRow, 0);
-            JOptionPane.showMessageDialog(frame, "Printing invoice " + invoiceId + "...", "Print Invoice", JOptionPane.INFORMATION_MESSAGE);
+            // Render off the EDT, then open the PDF in the system viewer for printing
+            new SwingWorker<java.nio.file.Path, Void>() {
+                @Override protected java.nio.file.Path doInBackground() throws Exception {
+                    return invoicePdfService.render(invoiceId, java.nio.file.Paths.get("."));
+                }
+                @Override protected void done() {
+                    try {
+                        java.nio.file.Path file = get();
+                        if (file == null) {
+                            JOptionPane.showMessageDialog(frame, "Invoice " + invoiceId + " no longer exists.", "Print Invoice", JOptionPane.WARNING_MESSAGE);
+                            return;
+                        }
+                        InvoicePdfService.open(file);
+                        JOptionPane.showMessageDialog(frame, "Invoice PDF saved as " + file.getFileName(), "Print Invoice", JOptionPane.INFORMATION_MESSAGE);
+                    } catch (Exception ex) {
+                        Throwable cause = ex instanceof java.util.concurrent.ExecutionException ? ex.getCause() : ex;
+                        JOptionPane.showMessageDialog(frame, "Error rendering invoice: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            }.execute();
         } else {
             JOptionPane.showMessageDialog(frame, "Please select an invoice to print.", "No Selection", JOptionPane.WARNING_MESSAGE);
         }
     }
 
+    // Batch export: all invoices of a project and/or date range into one merged PDF or a zip
+    private void exportInvoices() {
+        JTextField projectField = new JTextField(12);
+        JTextField fromField = new JTextField(10);
+        JTextField toField = new JTextField(10);
+        JComboBox<String> formatCombo = new JComboBox<>(new String[]{"Merged PDF", "ZIP of PDFs"});
+        JPanel form = new JPanel(new GridLayout(0, 2, 8, 8));
+        form.add(new JLabel("Project ID (blank = all):")); form.add(projectField);
+        form.add(new JLabel("From (yyyy-MM-dd, optional):")); form.add(fromField);
+        form.add(new JLabel("To (yyyy-MM-dd, optional):")); form.add(toField);
+        form.add(new JLabel("Format:")); form.add(formatCombo);
+        if (JOptionPane.showConfirmDialog(frame, form, "Export Invoices", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) return;
+
+        String projectId = projectField.getText().trim();
+        String from = fromField.getText().trim().isEmpty() ? null : fromField.getText().trim();
+        String to = toField.getText().trim().isEmpty() ? null : toField.getText().trim();
+        for (String d : new String[]{from, to}) {
+            if (d != null && !d.matches("\\d{4}-\\d{2}-\\d{2}")) {
+                JOptionPane.showMessageDialog(frame, "Dates must be in yyyy-MM-dd format.", "Invalid Date", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+        }
+        boolean zip = formatCombo.getSelectedIndex() == 1;
+        java.nio.file.Path file = java.nio.file.Paths.get("Invoices_" + (projectId.isEmpty() ? "all" : projectId.replaceAll("[^A-Za-z0-9_-]", "_"))
+                + "_" + System.currentTimeMillis() + (zip ? ".zip" : ".pdf"));
+
+        new SwingWorker<Integer, Void>() {
+            @Override protected Integer doInBackground() throws Exception {
+                return zip ? invoicePdfService.exportZip(projectId, from, to, file, n -> { })
+                           : invoicePdfService.exportMerged(projectId, from, to, file, n -> { });
+            }
+            @Override protected void done() {
+                try {
+                    int count = get();
+                    if (!zip && count > 0) InvoicePdfService.open(file);
+                    JOptionPane.showMessageDialog(frame, "Exported " + count + " invoice(s) to " + file.getFileName(), "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception ex) {
+                    Throwable cause = ex instanceof java.util.concurrent.ExecutionException ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(frame, "Error exporting invoices: " + cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     private void resolveDispute() {
         int selectedRow = disputesTable.getSelectedRow();
         if (selectedRow != -1) {
             String disputeId = (String) disputesTableModel.getValueAt(selectedRow, 0);
             String resolution = JOptionPane.showInputDialog(frame, "Enter resolution details:", "Resolve Dispute", JOptionPane.QUESTION_MESSAGE);
             if (resolution != null && !resolution.trim().isEmpty()) {
-                // 1. Update Dispute Status in DB
-                dbManager.updateDispute(disputeId, "Resolved", resolution);
-                refreshTables();
+                paymentService.resolveDispute(disputeId, resolution);
                 JOptionPane.showMessageDialog(frame, "Dispute resolved successfully!", "Dispute Resolved", JOptionPane.INFORMATION_MESSAGE);
             }
         } else {
@@ -867,9 +948,7 @@ public class PaymentManager {
         int selectedRow = disputesTable.getSelectedRow();
         if (selectedRow != -1) {
             String disputeId = (String) disputesTableModel.getValueAt(selectedRow, 0);
-            // 1. Update Dispute Status in DB
-            dbManager.updateDispute(disputeId, "Escalated", null);
-            refreshTables(); 
+            paymentService.escalateDispute(disputeId);
             JOptionPane.showMessageDialog(frame, "Dispute escalated to senior mediation team.", "Dispute Escalated", JOptionPane.WARNING_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(frame, "Please select a dispute to escalate.", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -880,9 +959,7 @@ public class PaymentManager {
         int selectedRow = disputesTable.getSelectedRow();
         if (selectedRow != -1) {
             String disputeId = (String) disputesTableModel.getValueAt(selectedRow, 0);
-            // 1. Update Dispute Status in DB
-            dbManager.updateDispute(disputeId, "Under Review", null);
-            refreshTables(); 
+            paymentService.mediateDispute(disputeId);
             JOptionPane.showMessageDialog(frame, "Mediation process started. Both parties will be contacted.", "Mediation Started", JOptionPane.INFORMATION_MESSAGE);
         } else {
             JOptionPane.showMessageDialog(frame, "Please select a dispute to mediate.", "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -0,0 +1,162 @@
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ========================================================================
+// PAYMENT SERVICE
+// Headless milestone, escrow, invoice and dispute workflows over
+// DatabaseManager. PaymentManager collects input from its tables and
+// dialogs and delegates here; nothing in this class touches Swing.
+//   createMilestone   milestone plus its funded escrow account
+//   releaseMilestone  milestone and escrow Released, invoice raised
+//   openDispute       dispute filed, milestone Disputed, escrow On Hold
+// Bad input throws IllegalArgumentException; database failures come back
+// as null/false. MIL/ESC/INV/DSP numbers continue from the database rather
+// than restarting at 1 each session. Every escrow status change and every
+// platform fee is also booked in the Ledger, which is caught up with any
+// escrow it has not seen when the service starts.
+// ========================================================================
+public class PaymentService {
+    public static final double PLATFORM_FEE = 50.0;
+    public static final int INVOICE_DUE_DAYS = 7;
+
+    private final DatabaseManager db;
+    private final Ledger ledger;
+    private final AtomicInteger nextMilestoneId = new AtomicInteger(1);
+    private final AtomicInteger nextEscrowId = new AtomicInteger(1);
+    private final AtomicInteger nextInvoiceId = new AtomicInteger(1);
+    private final AtomicInteger nextDisputeId = new AtomicInteger(1);
+
+    public PaymentService(DatabaseManager db) {
+        this.db = db;
+        this.ledger = new Ledger(db);
+        syncIds();
+        int posted = ledger.syncAll();
+        if (posted > 0) System.out.println("✅ Ledger caught up with " + posted + " escrow change(s)");
+    }
+
+    public DatabaseManager database() {
+        return db;
+    }
+
+    public Ledger ledger() {
+        return ledger;
+    }
+
+    public void syncIds() {
+        nextMilestoneId.accumulateAndGet(db.getMaxIdNumber("milestones", "milestone_id", "MIL") + 1, Math::max);
+        nextEscrowId.accumulateAndGet(db.getMaxIdNumber("escrow_accounts", "escrow_id", "ESC") + 1, Math::max);
+        nextInvoiceId.accumulateAndGet(db.getMaxIdNumber("invoices", "invoice_id", "INV") + 1, Math::max);
+        nextDisputeId.accumulateAndGet(db.getMaxIdNumber("disputes", "dispute_id", "DSP") + 1, Math::max);
+    }
+
+    // Returns the new milestone ID, or null if it could not be stored
+    public String createMilestone(String projectId, String description, double amount, String paymentMethod,
+                                  String notes, Integer clientId, Integer freelancerId) {
+        ProjectService.requireText(projectId, "Project ID");
+        ProjectService.requireText(description, "Description");
+        ProjectService.requirePositive(amount, "Amount");
+
+        String milestoneId = nextId("MIL", nextMilestoneId);
+        if (db.insertMilestone(milestoneId, projectId.trim(), description.trim(), amount, paymentMethod, notes) == 0) return null;
+        String escrowId = nextId("ESC", nextEscrowId);
+        if (db.insertEscrow(escrowId, projectId.trim(), milestoneId, clientId, freelancerId, amount) == 0) {
+            System.err.println("❌ Escrow " + escrowId + " for milestone " + milestoneId + " could not be created");
+        } else {
+            ledger.syncEscrow(escrowId);
+        }
+        return milestoneId;
+    }
+
+    // Releases the milestone and its escrow and invoices it; returns the invoice ID, or null on failure
+    public String releaseMilestone(String milestoneId, Integer clientId, Integer freelancerId) {
+        ProjectService.requireText(milestoneId, "Milestone ID");
+        Object[] milestone = db.getMilestoneById(milestoneId);
+        if (milestone == null) throw new IllegalArgumentException("Milestone " + milestoneId + " does not exist.");
+        if (db.updateMilestoneStatus(milestoneId, "Released") == 0) return null;
+        db.updateEscrowStatusByMilestone(milestoneId, "Released");
+        ledger.syncMilestone(milestoneId);
+        String invoiceId = nextId("INV", nextInvoiceId);
+        int rows = db.insertInvoice(invoiceId, (String) milestone[1], clientId, freelancerId,
+                (Double) milestone[3], (String) milestone[2], dueDate());
+        return rows > 0 ? invoiceId : null;
+    }
+
+    // Returns the new dispute ID, or null if it could not be stored
+    public String openDispute(String milestoneId, String projectId, String raisedBy, String reason) {
+        ProjectService.requireText(milestoneId, "Milestone ID");
+        ProjectService.requireText(reason, "Dispute reason");
+        String disputeId = nextId("DSP", nextDisputeId);
+        if (db.insertDispute(disputeId, projectId, milestoneId, raisedBy, reason.trim()) == 0) return null;
+        db.updateMilestoneStatus(milestoneId, "Disputed");
+        db.updateEscrowStatusByMilestone(milestoneId, "On Hold");
+        ledger.syncMilestone(milestoneId);   // a no-op unless the funds had already been released
+        return disputeId;
+    }
+
+    public boolean releaseEscrow(String escrowId) {
+        ProjectService.requireText(escrowId, "Escrow ID");
+        return db.updateEscrowStatus(escrowId, "Released") > 0 && ledger.syncEscrow(escrowId);
+    }
+
+    public boolean holdEscrow(String escrowId) {
+        ProjectService.requireText(escrowId, "Escrow ID");
+        return db.updateEscrowStatus(escrowId, "On Hold") > 0 && ledger.syncEscrow(escrowId);
+    }
+
+    // Platform fee invoice for a project; returns the invoice ID, or null on failure
+    public String invoicePlatformFee(String projectId) {
+        ProjectService.requireText(projectId, "Project ID");
+        String invoiceId = nextId("INV", nextInvoiceId);
+        int rows = db.insertInvoice(invoiceId, projectId.trim(), null, null, PLATFORM_FEE,
+                "Platform Fee for Project " + projectId.trim(), dueDate());
+        if (rows == 0) return null;
+        ledger.recordPlatformFee(invoiceId, projectId.trim(), PLATFORM_FEE);
+        return invoiceId;
+    }
+
+    public boolean sendInvoice(String invoiceId) {
+        ProjectService.requireText(invoiceId, "Invoice ID");
+        return db.updateInvoiceStatus(invoiceId, "Sent") > 0;
+    }
+
+    public boolean resolveDispute(String disputeId, String resolution) {
+        ProjectService.requireText(disputeId, "Dispute ID");
+        ProjectService.requireText(resolution, "Resolution");
+        return db.updateDispute(disputeId, "Resolved", resolution.trim()) > 0;
+    }
+
+    public boolean escalateDispute(String disputeId) {
+        ProjectService.requireText(disputeId, "Dispute ID");
+        return db.updateDispute(disputeId, "Escalated", null) > 0;
+    }
+
+    public boolean mediateDispute(String disputeId) {
+        ProjectService.requireText(disputeId, "Dispute ID");
+        return db.updateDispute(disputeId, "Under Review", null) > 0;
+    }
+
+    public List<Object[]> milestones(String projectId) {
+        return db.getMilestonesByProject(projectId);
+    }
+
+    public List<Object[]> escrow(String projectId) {
+        return db.getEscrowByProject(projectId);
+    }
+
+    public List<Object[]> invoices(String projectId) {
+        return db.getInvoicesByProject(projectId);
+    }
+
+    public List<Object[]> disputes(String projectId) {
+        return db.getDisputesByProject(projectId);
+    }
+
+    private static String nextId(String prefix, AtomicInteger counter) {
+        return prefix + String.format("%03d", counter.getAndIncrement());
+    }
+
+    private static String dueDate() {
+        return LocalDate.now().plusDays(INVOICE_DUE_DAYS).toString();
+    }
+}
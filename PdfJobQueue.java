@@ -0,0 +1,159 @@
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+
+// ========================================================================
+// PDF JOB QUEUE
+// Runs document renders one after another on a background thread so the
+// UI stays responsive. Each job is a SwingWorker: progress and completion
+// are delivered on the EDT. Jobs can be cancelled while queued (they never
+// start) or while running (the render thread is interrupted).
+// submit/cancel must be called on the event dispatch thread.
+// ========================================================================
+public class PdfJobQueue {
+    // The work itself; report 0-100 through progress and honour interrupts
+    public interface Task {
+        Path run(IntConsumer progress) throws Exception;
+    }
+
+    // All callbacks run on the EDT
+    public interface Listener {
+        // Something changed: the running job's progress or the number of queued jobs
+        void queueChanged(Job running, int pending);
+
+        // file is null when the job failed (error set) or was cancelled
+        void jobFinished(Job job, Path file, Exception error);
+    }
+
+    public final class Job {
+        private final String label;
+        private final Worker worker;
+
+        private Job(String label, Task task) {
+            this.label = label;
+            this.worker = new Worker(this, task);
+        }
+
+        public String getLabel() { return label; }
+
+        public int getProgress() { return worker.getProgress(); }
+
+        public boolean isRunning() { return worker.getState() == SwingWorker.StateValue.STARTED; }
+
+        public boolean isCancelled() { return worker.isCancelled(); }
+
+        public void cancel() {
+            checkEdt();
+            worker.cancel(true);
+        }
+    }
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "pdf-jobs");
+        t.setDaemon(true);
+        return t;
+    });
+    private final LinkedHashSet<Job> pending = new LinkedHashSet<>();   // queued + running, in submit order
+    private final Listener listener;
+
+    public PdfJobQueue(Listener listener) {
+        this.listener = listener;
+    }
+
+    public Job submit(String label, Task task) {
+        checkEdt();
+        Job job = new Job(label, task);
+        pending.add(job);
+        job.worker.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName()) || "state".equals(e.getPropertyName())) fireChanged();
+        });
+        executor.execute(job.worker);
+        fireChanged();
+        return job;
+    }
+
+    // Number of jobs not yet finished, including the running one
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    // Labels of every unfinished job, running one first
+    public List<String> pendingLabels() {
+        List<String> labels = new ArrayList<>(pending.size());
+        for (Job job : pending) labels.add(job.label);
+        return labels;
+    }
+
+    public void cancelAll() {
+        checkEdt();
+        for (Job job : new ArrayList<>(pending)) job.worker.cancel(true);
+    }
+
+    public void shutdown() {
+        checkEdt();
+        cancelAll();
+        executor.shutdown();
+    }
+
+    private Job running() {
+        for (Job job : pending) {
+            if (job.isRunning()) return job;
+        }
+        return null;
+    }
+
+    private void fireChanged() {
+        listener.queueChanged(running(), pending.size());
+    }
+
+    private void finished(Job job, Path file, Exception error) {
+        pending.remove(job);
+        listener.jobFinished(job, file, error);
+        fireChanged();
+    }
+
+    private static void checkEdt() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("PdfJobQueue must be used from the event dispatch thread");
+        }
+    }
+
+    private final class Worker extends SwingWorker<Path, Void> {
+        private final Job job;
+        private final Task task;
+
+        Worker(Job job, Task task) {
+            this.job = job;
+            this.task = task;
+        }
+
+        @Override
+        protected Path doInBackground() throws Exception {
+            return task.run(p -> setProgress(Math.max(0, Math.min(100, p))));
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                finished(job, null, null);
+                return;
+            }
+            try {
+                finished(job, get(), null);
+            } catch (CancellationException | InterruptedException e) {
+                finished(job, null, null);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                finished(job, null, cause instanceof Exception ? (Exception) cause : e);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// ========================================================================
+// PDF RENDER EVENT (JFR)
+// One iText document written by QuotePdfService or InvoicePdfService, from
+// opening the output file to the last byte flushed.
+// ========================================================================
+@Name("freelance.PdfRender")
+@Label("PDF Render")
+@Category({"Freelance Platform", "PDF"})
+@Description("PDF document rendered with iText")
+public class PdfRenderEvent extends Event {
+    @Label("Entity Type")
+    @Description("quote, invoice, or invoice batch")
+    public String entityType;
+
+    @Label("Document ID")
+    public String documentId;
+
+    @Label("Project ID")
+    public String projectId;
+
+    @Label("Row Count")
+    @Description("Records rendered into the document")
+    public int rowCount;
+
+    @Label("File Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+
+    public void finish(String entityType, String documentId, String projectId, int rowCount, java.nio.file.Path file, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.entityType = entityType;
+            this.documentId = documentId;
+            this.projectId = projectId;
+            this.rowCount = rowCount;
+            this.succeeded = succeeded;
+            try {
+                this.bytes = succeeded && file != null ? java.nio.file.Files.size(file) : 0;
+            } catch (java.io.IOException e) {
+                this.bytes = 0;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfImportedPage;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+// ========================================================================
+// SHARED PDF STYLES
+// Fonts and letterhead templates used by every generated document (quotes,
+// invoices). Fonts are created once; a Letterhead is laid out once into an
+// in-memory one-page PDF and stamped onto each page as an imported page.
+// ========================================================================
+public final class PdfStyles {
+    public static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 20, Font.BOLD, BaseColor.BLUE);
+    public static final Font HEADING_FONT = new Font(Font.FontFamily.HELVETICA, 14, Font.BOLD);
+    public static final Font LABEL_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD);
+    public static final Font NORMAL_FONT = new Font(Font.FontFamily.HELVETICA, 12, Font.NORMAL);
+    public static final float MARGIN = 36;
+
+    private PdfStyles() { }
+
+    public static void addRow(PdfPTable table, String label, String value) {
+        table.addCell(new Phrase(label, LABEL_FONT));
+        table.addCell(new Phrase(value, NORMAL_FONT));
+    }
+
+    // Pre-rendered page header; immutable and safe to share between threads
+    public static final class Letterhead {
+        private final byte[] pdf;
+        private final float contentTop;
+
+        public Letterhead(String title, String subtitle) {
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+                Document doc = new Document(PageSize.A4);
+                PdfWriter writer = PdfWriter.getInstance(doc, out);
+                doc.open();
+                doc.add(new Paragraph(title, TITLE_FONT));
+                doc.add(new Paragraph(subtitle + "\n\n", NORMAL_FONT));
+                this.contentTop = PageSize.A4.getHeight() - writer.getVerticalPosition(false);
+                doc.close();
+                this.pdf = out.toByteArray();
+            } catch (DocumentException e) {
+                throw new IllegalStateException("Could not build letterhead", e);
+            }
+        }
+
+        // A4 document whose top margin clears the letterhead
+        public Document newDocument() {
+            return new Document(PageSize.A4, MARGIN, MARGIN, contentTop, MARGIN);
+        }
+
+        // Import the template into this writer; reuse the result for every page it writes
+        public PdfImportedPage importInto(PdfWriter writer) throws IOException {
+            PdfReader reader = new PdfReader(pdf);
+            try {
+                return writer.getImportedPage(reader, 1);
+            } finally {
+                writer.freeReader(reader);
+                reader.close();
+            }
+        }
+
+        // Stamp onto the writer's current page, under the page content
+        public static void stamp(PdfWriter writer, PdfImportedPage page) {
+            writer.getDirectContentUnder().addTemplate(page, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,495 @@
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ========================================================================
+// PLATFORM API SERVER
+// Optional read-only HTTP/JSON view of the platform data on the JDK's
+// built-in HttpServer, so integrations stop opening the SQLite file
+// themselves. Requests run on PlatformExecutors (a virtual thread each on
+// JDK 21+, or a fixed pool) and hold a shared database permit while they
+// query, so a burst of clients waits for a permit rather than for SQLite.
+//
+//   GET /api/health
+//   GET /api/projects?status=Open            paged
+//   GET /api/projects/{id}
+//   GET /api/projects/{id}/bids              paged
+//   GET /api/projects/{id}/{milestones|escrow|invoices|disputes}
+//   GET /api/bids?project=PRJ001             paged
+//   GET /api/{milestones|escrow|invoices|disputes}?project=PRJ001
+//
+// Lists take offset and limit (default 50, max 500) and come back as
+// {"items":[...],"offset":..,"limit":..,"total":..,"next":"/api/..."}.
+// Every list is paged in SQL. Timestamps are written as
+// "yyyy-MM-ddTHH:mm:ss" whether the column came back as a Timestamp or as
+// SQLite's "yyyy-MM-dd HH:mm:ss" text. Every 200 carries an ETag over the
+// body; a request whose If-None-Match matches gets 304 with no body. A
+// database error surfaces as 503 rather than an empty list.
+//
+//   -Dapi.port=8080         start with the desktop app (off by default)
+//   -Dapi.host=127.0.0.1    bind address
+//   java PlatformApiServer [--port 8080] [--host 0.0.0.0] [--db jdbc:sqlite:file.db]
+// ========================================================================
+public final class PlatformApiServer {
+    public static final String PORT_PROPERTY = "api.port";
+    public static final String HOST_PROPERTY = "api.host";
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private static final String[] MILESTONE_COLUMNS = {"milestoneId", "projectId", "description", "amount", "status",
+            "paymentMethod", "notes", "createdDate", "dueDate", "completedDate"};
+    private static final String[] ESCROW_COLUMNS = {"escrowId", "projectId", "milestoneId", "clientId", "freelancerId",
+            "amount", "status", "createdDate"};
+    private static final String[] INVOICE_COLUMNS = {"invoiceId", "projectId", "clientId", "freelancerId", "amount",
+            "status", "description", "createdDate", "dueDate"};
+    private static final String[] DISPUTE_COLUMNS = {"disputeId", "projectId", "milestoneId", "raisedBy", "reason",
+            "status", "resolution", "createdDate", "updatedDate"};
+
+    private final DatabaseManager db;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public PlatformApiServer(DatabaseManager db, String host, int port) throws IOException {
+        this.db = db;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.executor = PlatformExecutors.newExecutor("api");
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    // Start alongside the desktop app when -Dapi.port is set; returns null otherwise or on failure
+    public static PlatformApiServer startIfConfigured(DatabaseManager db) {
+        String port = System.getProperty(PORT_PROPERTY);
+        if (port == null || port.trim().isEmpty()) return null;
+        try {
+            PlatformApiServer api = new PlatformApiServer(db, System.getProperty(HOST_PROPERTY, "127.0.0.1"),
+                    Integer.parseInt(port.trim()));
+            api.start();
+            return api;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("❌ Could not start API server on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void start() {
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        System.out.println("✅ API server listening on http://" + address.getHostString() + ":" + address.getPort() + "/api/");
+    }
+
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds + 1L, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    // ====================================================================
+    // ROUTING
+    // ====================================================================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendError(exchange, 405, "Only GET and HEAD are supported");
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String[] parts = path.substring("/api/".length()).split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            DatabaseManager.clearLastError();
+            Object body = PlatformExecutors.withDbPermit(() -> route(parts, query, path));
+            SQLException dbError = DatabaseManager.lastError();
+            if (dbError != null) {
+                sendError(exchange, 503, DatabaseManager.isBusy(dbError) ? "Database busy, retry shortly" : "Database error");
+            } else if (body == null) {
+                sendError(exchange, 404, "Not found: " + path);
+            } else {
+                sendJson(exchange, 200, Json.write(body));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "Server shutting down");
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("❌ API request failed: " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Response object for the path, or null for 404
+    private Object route(String[] parts, Map<String, String> query, String path) {
+        String resource = parts[0];
+        if (parts.length == 1) {
+            switch (resource) {
+                case "health":
+                    Map<String, Object> health = new LinkedHashMap<>();
+                    health.put("status", db.testConnection() ? "ok" : "degraded");
+                    if (db instanceof CachingDatabaseManager) health.put("cacheHitRate", ((CachingDatabaseManager) db).hitRate());
+                    return health;
+                case "projects": {
+                    String status = query.getOrDefault("status", "");
+                    int offset = offset(query), limit = limit(query);
+                    return page(projects(db.getProjectsPage(status, offset, limit)), offset, limit, db.countProjects(status), path, query);
+                }
+                case "bids": {
+                    String projectId = query.getOrDefault("project", "");
+                    int offset = offset(query), limit = limit(query);
+                    return page(bids(db.getBidsPage(projectId, offset, limit)), offset, limit, db.countBids(projectId), path, query);
+                }
+                default:
+                    return paymentList(resource, query.getOrDefault("project", ""), query, path);
+            }
+        }
+        if (!"projects".equals(resource) || parts.length > 3) return null;
+        String projectId = parts[1];
+        if (parts.length == 2) {
+            ProjectData project = db.getProjectById(projectId);
+            return project == null ? null : project(project);
+        }
+        if ("bids".equals(parts[2])) {
+            int offset = offset(query), limit = limit(query);
+            return page(bids(db.getBidsPage(projectId, offset, limit)), offset, limit, db.countBids(projectId), path, query);
+        }
+        return paymentList(parts[2], projectId, query, path);
+    }
+
+    private Object paymentList(String resource, String projectId, Map<String, String> query, String path) {
+        int offset = offset(query), limit = limit(query);
+        List<Object[]> rows; String[] columns; int total;
+        switch (resource) {
+            case "milestones":
+                rows = db.getMilestonesPage(projectId, offset, limit); columns = MILESTONE_COLUMNS; total = db.countMilestones(projectId); break;
+            case "escrow":
+                rows = db.getEscrowPage(projectId, offset, limit); columns = ESCROW_COLUMNS; total = db.countEscrow(projectId); break;
+            case "invoices":
+                rows = db.getInvoicesPage(projectId, offset, limit); columns = INVOICE_COLUMNS; total = db.countInvoices(projectId); break;
+            case "disputes":
+                rows = db.getDisputesPage(projectId, offset, limit); columns = DISPUTE_COLUMNS; total = db.countDisputes(projectId); break;
+            default: return null;
+        }
+        List<Object> items = new ArrayList<>(rows.size());
+        for (Object[] r : rows) items.add(row(columns, r));
+        return page(items, offset, limit, total, path, query);
+    }
+
+    // ====================================================================
+    // JSON SHAPES
+    // ====================================================================
+
+    private static Map<String, Object> page(List<Object> items, int offset, int limit, int total, String path, Map<String, String> query) {
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("items", items);
+        page.put("offset", offset);
+        page.put("limit", limit);
+        page.put("total", total);
+        String next = null;
+        if (offset + items.size() < total) {
+            Map<String, String> nextQuery = new LinkedHashMap<>(query);
+            nextQuery.put("offset", String.valueOf(offset + limit));
+            nextQuery.put("limit", String.valueOf(limit));
+            StringBuilder sb = new StringBuilder(path);
+            char sep = '?';
+            for (Map.Entry<String, String> e : nextQuery.entrySet()) {
+                sb.append(sep).append(encode(e.getKey())).append('=').append(encode(e.getValue()));
+                sep = '&';
+            }
+            next = sb.toString();
+        }
+        page.put("next", next);
+        return page;
+    }
+
+    private static List<Object> projects(List<ProjectData> list) {
+        List<Object> items = new ArrayList<>(list.size());
+        for (ProjectData p : list) items.add(project(p));
+        return items;
+    }
+
+    private static Map<String, Object> project(ProjectData p) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("projectId", p.projectId);
+        m.put("title", p.title);
+        m.put("description", p.description);
+        m.put("clientName", p.clientName);
+        m.put("category", p.category);
+        m.put("budget", p.budget);
+        m.put("difficulty", p.difficulty);
+        m.put("deadlineDays", p.deadlineDays);
+        m.put("status", p.status);
+        m.put("createdDate", p.createdDate);
+        m.put("updatedDate", p.updatedDate);
+        m.put("completedDate", p.completedDate);
+        return m;
+    }
+
+    private static List<Object> bids(List<BidData> list) {
+        List<Object> items = new ArrayList<>(list.size());
+        for (BidData b : list) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("bidId", b.bidId);
+            m.put("projectId", b.projectId);
+            m.put("freelancerName", b.freelancerName);
+            m.put("amount", b.amount);
+            m.put("completionDays", b.completionDays);
+            m.put("proposal", b.proposal);
+            m.put("status", b.status);
+            m.put("hasResume", b.resumeFileName != null && !b.resumeFileName.isEmpty());   // never expose local paths
+            m.put("createdDate", b.createdDate);
+            m.put("updatedDate", b.updatedDate);
+            items.add(m);
+        }
+        return items;
+    }
+
+    // The payment getters return *_date columns as SQLite text; read them back as Timestamps so
+    // they are written in the same format as the project and bid dates
+    private static Map<String, Object> row(String[] columns, Object[] values) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (int i = 0; i < columns.length && i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof String && columns[i].endsWith("Date")) value = timestamp((String) value);
+            m.put(columns[i], value);
+        }
+        return m;
+    }
+
+    private static Object timestamp(String text) {
+        if (text.length() < 19 || text.charAt(10) != ' ') return text;   // date-only or unexpected: as stored
+        try {
+            return Timestamp.valueOf(text);
+        } catch (IllegalArgumentException e) {
+            return text;
+        }
+    }
+
+    // ====================================================================
+    // HTTP HELPERS
+    // ====================================================================
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        Headers headers = exchange.getResponseHeaders();
+        String etag = etag(body);
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "no-cache");
+        if (status == 200 && matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", message);
+        error.put("status", status);
+        byte[] body = Json.write(error).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Strong validator: first 64 bits of the body's SHA-256
+    static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            StringBuilder sb = new StringBuilder("\"");
+            for (int i = 0; i < 8; i++) sb.append(String.format("%02x", digest[i]));
+            return sb.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    // If-None-Match may list several tags, weak or strong, or be "*"
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.startsWith("W/")) t = t.substring(2);
+            if (t.equals("*") || t.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+
+    private static int offset(Map<String, String> query) {
+        int offset = intParam(query, "offset", 0);
+        if (offset < 0) throw new IllegalArgumentException("offset must not be negative");
+        return offset;
+    }
+
+    private static int limit(Map<String, String> query) {
+        int limit = intParam(query, "limit", DEFAULT_LIMIT);
+        if (limit < 1 || limit > MAX_LIMIT) throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        return limit;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int fallback) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) return fallback;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+    }
+
+    // Minimal JSON writer for maps, collections, strings, numbers, booleans and timestamps
+    static final class Json {
+        private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+        private Json() { }
+
+        static String write(Object value) {
+            StringBuilder sb = new StringBuilder(256);
+            write(sb, value);
+            return sb.toString();
+        }
+
+        private static void write(StringBuilder sb, Object value) {
+            if (value == null) {
+                sb.append("null");
+            } else if (value instanceof String) {
+                string(sb, (String) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                double d = ((Number) value).doubleValue();
+                if (Double.isNaN(d) || Double.isInfinite(d)) sb.append("null");
+                else if (d == Math.rint(d) && Math.abs(d) < 1e15) sb.append((long) d);
+                else sb.append(d);
+            } else if (value instanceof Number || value instanceof Boolean) {
+                sb.append(value);
+            } else if (value instanceof Timestamp) {
+                string(sb, TIMESTAMP.format(((Timestamp) value).toLocalDateTime()));
+            } else if (value instanceof Map) {
+                sb.append('{');
+                boolean first = true;
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    if (!first) sb.append(',');
+                    first = false;
+                    string(sb, String.valueOf(e.getKey()));
+                    sb.append(':');
+                    write(sb, e.getValue());
+                }
+                sb.append('}');
+            } else if (value instanceof Collection) {
+                sb.append('[');
+                boolean first = true;
+                for (Object item : (Collection<?>) value) {
+                    if (!first) sb.append(',');
+                    first = false;
+                    write(sb, item);
+                }
+                sb.append(']');
+            } else {
+                string(sb, value.toString());
+            }
+        }
+
+        private static void string(StringBuilder sb, String s) {
+            sb.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"': sb.append("\\\""); break;
+                    case '\\': sb.append("\\\\"); break;
+                    case '\n': sb.append("\\n"); break;
+                    case '\r': sb.append("\\r"); break;
+                    case '\t': sb.append("\\t"); break;
+                    default:
+                        if (c < 0x20 || c == '\u2028' || c == '\u2029') sb.append(String.format("\\u%04x", (int) c));
+                        else sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        String host = System.getProperty(HOST_PROPERTY, "127.0.0.1");
+        String url = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                System.err.println("Usage: PlatformApiServer [--port 8080] [--host 127.0.0.1] [--db jdbc:sqlite:file.db]");
+                System.exit(2);
+            }
+            switch (arg) {
+                case "--port": port = Integer.parseInt(args[++i]); break;
+                case "--host": host = args[++i]; break;
+                case "--db": url = args[++i]; break;
+                default:
+                    System.err.println("❌ Unknown option " + arg);
+                    System.exit(2);
+            }
+        }
+        DatabaseManager db = url == null ? CachingDatabaseManager.create() : CachingDatabaseManager.create(url);
+        PlatformApiServer api = new PlatformApiServer(db, host, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> api.stop(1), "api-shutdown"));
+        api.start();
+    }
+}
@@ -0,0 +1,120 @@
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// ========================================================================
+// PLATFORM EXECUTORS
+// One place that decides how API requests and batch jobs (quote renders,
+// invoice renders) get their threads:
+//   VIRTUAL  a new virtual thread per task (JDK 21+). Blocking JDBC parks
+//            the virtual thread instead of holding an OS thread, so
+//            thousands of waiting requests cost almost nothing.
+//   POOL     a fixed pool of daemon platform threads, the pre-21 behaviour.
+// Either way the SQLite side is protected by one fair semaphore: tasks take
+// a permit around their database work (withDbPermit), so a burst of
+// virtual threads queues here instead of piling onto the database file and
+// turning into SQLITE_BUSY errors. Virtual threads are looked up
+// reflectively so the tree still compiles for Java 11; asking for VIRTUAL
+// on an older JVM falls back to POOL with a warning.
+//
+//   -Dplatform.executor=virtual|pool   default virtual when available
+//   -Dplatform.pool.threads=N          POOL size (default 2 x cores)
+//   -Dplatform.db.permits=N            concurrent database tasks (default 8)
+// ========================================================================
+public final class PlatformExecutors {
+    public static final String MODE_PROPERTY = "platform.executor";
+    public static final String THREADS_PROPERTY = "platform.pool.threads";
+    public static final String PERMITS_PROPERTY = "platform.db.permits";
+    private static final int DEFAULT_PERMITS = 8;
+
+    public enum Mode {
+        VIRTUAL, POOL;
+
+        public static Mode parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown executor mode '" + value + "' (expected virtual or pool)");
+            }
+        }
+    }
+
+    private static final Semaphore DB_PERMITS = new Semaphore(Math.max(1, Integer.getInteger(PERMITS_PROPERTY, DEFAULT_PERMITS)), true);
+    private static volatile boolean warnedNoVirtual;
+
+    private PlatformExecutors() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // -Dplatform.executor, else VIRTUAL when the JVM has it
+    public static Mode configuredMode() {
+        String value = System.getProperty(MODE_PROPERTY);
+        if (value == null || value.trim().isEmpty()) return virtualThreadsAvailable() ? Mode.VIRTUAL : Mode.POOL;
+        return Mode.parse(value);
+    }
+
+    public static int configuredPoolThreads() {
+        return Math.max(1, Integer.getInteger(THREADS_PROPERTY, 2 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static ExecutorService newExecutor(String name) {
+        return newExecutor(name, configuredMode(), configuredPoolThreads());
+    }
+
+    // poolThreads only applies to POOL; threads are named name-N either way
+    public static ExecutorService newExecutor(String name, Mode mode, int poolThreads) {
+        if (mode == Mode.VIRTUAL) {
+            ExecutorService virtual = newVirtualExecutor(name);
+            if (virtual != null) return virtual;
+            if (!warnedNoVirtual) {
+                warnedNoVirtual = true;
+                System.err.println("⚠️ Virtual threads need JDK 21+ (running " + System.getProperty("java.version") + "); using a thread pool");
+            }
+        }
+        AtomicInteger n = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, poolThreads), r -> {
+            Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory()), or null before JDK 21
+    private static ExecutorService newVirtualExecutor(String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    public static Semaphore dbPermits() {
+        return DB_PERMITS;
+    }
+
+    // Run database work holding one of the shared permits
+    public static <T> T withDbPermit(Supplier<T> work) throws InterruptedException {
+        DB_PERMITS.acquire();
+        try {
+            return work.get();
+        } finally {
+            DB_PERMITS.release();
+        }
+    }
+}
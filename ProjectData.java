@@ -0,0 +1,21 @@
+import java.sql.Timestamp;
+
+// ========================================================================
+// PROJECT DATA
+// One row of the projects table, as DatabaseManager reads and writes it.
+// ========================================================================
+class ProjectData {
+    public String projectId;
+    public String title;
+    public String description;
+    public String clientName; 
+    public int clientId;
+    public String category;
+    public double budget;
+    public String difficulty;
+    public int deadlineDays;
+    public String status;
+    public Timestamp createdDate;
+    public Timestamp updatedDate;
+    public Timestamp completedDate;
+}
@@ -7,11 +7,13 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.IOException;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.sql.*;
 import java.util.Date;
 public class ProjectManager {
@@ -24,15 +26,16 @@ private JFrame frame;
     // Database integration
     private final DatabaseManager dbManager;
 // Added FINAL
+    private final ProjectService projectService;
     
     private ArrayList<Project> projects;
     private ArrayList<Bid> bids;
+    // Project/bid writes from any window, applied to the lists above on the EDT
+    private ChangeEventBus.Subscription changeSubscription;
     private DefaultTableModel projectTableModel;
 private DefaultTableModel bidTableModel;
     private JTable projectTable;
     private JTable bidTable;
-    private int nextProjectId = 1;
-    private int nextBidId = 1;
 private JTextField titleField, budgetField, deadlineField, clientNameField;
     private JTextArea descriptionArea;
     private JComboBox<String> categoryCombo, difficultyCombo;
@@ -59,6 +62,7 @@ private final Color redAccent = new Color(231, 76, 60);
 
     public ProjectManager(DatabaseManager dbManager) {
         this.dbManager = dbManager;
+        this.projectService = new ProjectService(dbManager);
 projects = new ArrayList<>();
         bids = new ArrayList<>();
     }
@@ -87,6 +91,20 @@ bids = new ArrayList<>();
         selectedResumeFile = null;
         
         initializeGUI();
+        // Subscribe before the load so nothing written in between is missed (applying twice is harmless)
+        if (changeSubscription != null) changeSubscription.close();
+        changeSubscription = dbManager.changes().subscribe("project-manager",
+                EnumSet.of(ChangeEventBus.Entity.PROJECT, ChangeEventBus.Entity.BID), SwingUtilities::invokeLater, this::applyChanges);
+        JFrame window = frame;
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                if (frame == window && changeSubscription != null) {
+                    changeSubscription.close();
+                    changeSubscription = null;
+                }
+            }
+        });
         loadDataFromDatabase(); // Load from database instead of sample data
         frame.setVisible(true);
 }
@@ -449,25 +467,19 @@ viewResumeForBid(bidId);
     // --- UPDATED: Action & Data Methods with Database Integration ---
     private void postProject() { 
         if (!validatePostForm()) return;
-String id = "PRJ" + String.format("%03d", nextProjectId++); 
-        
-        // Create project data for database
-        ProjectData projectData = new ProjectData();
-projectData.projectId = id;
-        projectData.title = titleField.getText();
-        projectData.clientName = clientNameField.getText();
-        projectData.category = (String) categoryCombo.getSelectedItem();
-        projectData.budget = Double.parseDouble(budgetField.getText());
-        projectData.difficulty = (String) difficultyCombo.getSelectedItem();
-projectData.deadlineDays = Integer.parseInt(deadlineField.getText());
-        projectData.description = descriptionArea.getText();
-        projectData.status = "Open";
-        
-        // Save to database
-        boolean saved = dbManager.insertProject(projectData);
-if (saved) {
+        ProjectData projectData;
+        try {
+            projectData = projectService.postProject(titleField.getText(), clientNameField.getText(),
+                    (String) categoryCombo.getSelectedItem(), Double.parseDouble(budgetField.getText()),
+                    (String) difficultyCombo.getSelectedItem(), Integer.parseInt(deadlineField.getText()),
+                    descriptionArea.getText());
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(frame, inputError(e), "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+if (projectData != null) {
             // Also add to local list for immediate UI update
-            Project p = new Project(id, projectData.title, projectData.clientName, 
+            Project p = new Project(projectData.projectId, projectData.title, projectData.clientName, 
                                   projectData.category, projectData.budget, 
                       
             projectData.difficulty, projectData.deadlineDays, 
@@ -477,7 +489,7 @@ projects.add(p);
             refreshProjectTable(); 
             clearPostForm(); 
             updateStats(); 
-            JOptionPane.showMessageDialog(frame, "Project posted successfully!\nProject ID: " + id, "Success", JOptionPane.INFORMATION_MESSAGE);
+            JOptionPane.showMessageDialog(frame, "Project posted successfully!\nProject ID: " + projectData.projectId, "Success", JOptionPane.INFORMATION_MESSAGE);
 } else {
             JOptionPane.showMessageDialog(frame, "Failed to save project to database!", "Database Error", JOptionPane.ERROR_MESSAGE);
 }
@@ -485,42 +497,30 @@ projects.add(p);
 
     private void placeBid(JTextField projectIdField) { 
         if (!validateBidForm(projectIdField)) return;
-String bidId = "BID" + String.format("%03d", nextBidId++);
-        
-        // Create bid data for database
-        BidData bidData = new BidData();
-bidData.bidId = bidId;
-        bidData.projectId = projectIdField.getText();
-        bidData.freelancerName = freelancerNameField.getText();
-        bidData.amount = Double.parseDouble(bidAmountField.getText());
-        bidData.completionDays = Integer.parseInt(bidDeadlineField.getText());
-        bidData.proposal = bidDescriptionArea.getText();
-bidData.status = "Pending";
-        
-        // Handle resume file
-        if (selectedResumeFile != null) {
-            bidData.resumeFilePath = selectedResumeFile.getAbsolutePath();
-bidData.resumeFileName = selectedResumeFile.getName();
+        BidData bidData;
+        try {
+            bidData = projectService.placeBid(projectIdField.getText(), freelancerNameField.getText(),
+                    Double.parseDouble(bidAmountField.getText()), Integer.parseInt(bidDeadlineField.getText()),
+                    bidDescriptionArea.getText(), selectedResumeFile);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(frame, inputError(e), "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
         }
-        
-        // Save to database
-        boolean saved = dbManager.insertBid(bidData);
-if (saved) {
+if (bidData != null) {
             // Also add to local list for immediate UI update
-            Bid bid = new Bid(bidId, bidData.projectId, bidData.freelancerName, 
+            Bid bid = new Bid(bidData.bidId, bidData.projectId, bidData.freelancerName, 
                              bidData.amount, bidData.completionDays, 
                            
   bidData.proposal, bidData.status, selectedResumeFile);
             bids.add(bid);
             
-            refreshBidTable(); 
-            clearBidForm(); 
-            updateStats(); 
-            
-            String message = "Bid placed successfully!\nBid ID: " + bidId;
+            String message = "Bid placed successfully!\nBid ID: " + bidData.bidId;
 if (selectedResumeFile != null) {
                 message += "\nResume attached: " + selectedResumeFile.getName();
 }
+            refreshBidTable(); 
+            clearBidForm(); 
+            updateStats(); 
             JOptionPane.showMessageDialog(frame, message, "Success", JOptionPane.INFORMATION_MESSAGE);
 } else {
             JOptionPane.showMessageDialog(frame, "Failed to save bid to database!", "Database Error", JOptionPane.ERROR_MESSAGE);
@@ -536,11 +536,8 @@ return;
         String bidId = (String) bidTableModel.getValueAt(row, 0);
 String projId = (String) bidTableModel.getValueAt(row, 1); 
         
-        // Update bid status in database
-        boolean bidUpdated = dbManager.updateBidStatus(bidId, "Accepted");
-boolean projectUpdated = dbManager.updateProjectStatus(projId, "In Progress");
-        
-        if (bidUpdated && projectUpdated) {
+        // Accept the bid and start the project
+        if (projectService.acceptBid(bidId, projId)) {
             // Update local data
             bids.stream().filter(b -> b.getBidId().equals(bidId)).findFirst().ifPresent(b -> b.setStatus("Accepted"));
 projects.stream().filter(p -> p.getProjectId().equals(projId)).findFirst().ifPresent(p -> p.setStatus("In Progress"));
@@ -562,7 +559,7 @@ return;
         } 
         String bidId = (String) bidTableModel.getValueAt(row, 0);
 // Update in database
-        boolean updated = dbManager.updateBidStatus(bidId, "Rejected");
+        boolean updated = projectService.rejectBid(bidId);
 if (updated) {
             // Update local data
             bids.stream().filter(b -> b.getBidId().equals(bidId)).findFirst().ifPresent(b -> b.setStatus("Rejected"));
@@ -582,7 +579,7 @@ return;
         } 
         String projId = (String) projectTableModel.getValueAt(row, 0);
 // Update in database
-        boolean updated = dbManager.updateProjectStatus(projId, "Completed");
+        boolean updated = projectService.completeProject(projId);
 if (updated) {
             // Update local data
             projects.stream().filter(p -> p.getProjectId().equals(projId)).findFirst().ifPresent(p -> p.setStatus("Completed"));
@@ -596,93 +593,114 @@ refreshProjectTable();
 
     // --- UPDATED: Data loading methods ---
     private void loadDataFromDatabase() {
+        // Whole reload (queries + table rebuilds) as one JFR event; the refreshes below nest inside it
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         // Load projects from database
-        ArrayList<ProjectData> dbProjects = dbManager.getAllProjects();
+        ArrayList<ProjectData> dbProjects = projectService.listProjects();
 projects.clear();
-        nextProjectId = 1;
         
         for (ProjectData projectData : dbProjects) {
-            Project project = new Project(
-                projectData.projectId,
-                projectData.title,
-                projectData.clientName, // Pass String
-                projectData.category,
-           
-             projectData.budget,
-                projectData.difficulty,
-                projectData.deadlineDays,
-                projectData.description,
-                projectData.status
-            );
-projects.add(project);
-            
-            // Update next ID counter
-            try {
-                int idNum = Integer.parseInt(projectData.projectId.replace("PRJ", ""));
-if (idNum >= nextProjectId) {
-                    nextProjectId = idNum + 1;
-}
-            } catch (NumberFormatException e) {
-                // Handle non-numeric IDs gracefully
-            }
+            projects.add(toProject(projectData));
         }
         
         // Load bids from database
-        ArrayList<BidData> dbBids = dbManager.getAllBids();
+        ArrayList<BidData> dbBids = projectService.listBids();
 bids.clear();
-        nextBidId = 1;
         
         for (BidData bidData : dbBids) {
-            File resumeFile = null;
-if (bidData.resumeFilePath != null && !bidData.resumeFilePath.isEmpty()) {
-                resumeFile = new File(bidData.resumeFilePath);
-if (!resumeFile.exists()) {
-                    resumeFile = null;
-// File doesn't exist anymore
-                }
-            }
-            
-            Bid bid = new Bid(
-                bidData.bidId,
-                bidData.projectId,
-        
-                 bidData.freelancerName, // Pass String
-                bidData.amount,
-                bidData.completionDays,
-                bidData.proposal,
-                bidData.status,
-                resumeFile
-            
-);
-            bids.add(bid);
-            
-            // Update next ID counter
-            try {
-                int idNum = Integer.parseInt(bidData.bidId.replace("BID", ""));
-if (idNum >= nextBidId) {
-                    nextBidId = idNum + 1;
-}
-            } catch (NumberFormatException e) {
-                // Handle non-numeric IDs gracefully
-            }
+            bids.add(toBid(bidData));
         }
+        projectService.syncIds(); // pick up IDs written by other windows
         
         // Update UI
         refreshProjectTable();
 refreshBidTable();
         updateStats();
+        event.finish("projects+bids", "project", projects.size() + bids.size(), "");
         
         System.out.println("✅ Data loaded from database: " + projects.size() + " projects, " + bids.size() + " bids");
 }
 
+    private static Project toProject(ProjectData projectData) {
+        return new Project(projectData.projectId, projectData.title, projectData.clientName, projectData.category,
+                projectData.budget, projectData.difficulty, projectData.deadlineDays, projectData.description, projectData.status);
+    }
+
+    private static Bid toBid(BidData bidData) {
+        File resumeFile = null;
+        if (bidData.resumeFilePath != null && !bidData.resumeFilePath.isEmpty()) {
+            resumeFile = new File(bidData.resumeFilePath);
+            if (!resumeFile.exists()) resumeFile = null; // File doesn't exist anymore
+        }
+        return new Bid(bidData.bidId, bidData.projectId, bidData.freelancerName, bidData.amount,
+                bidData.completionDays, bidData.proposal, bidData.status, resumeFile);
+    }
+
+    // One batch of project/bid writes (from this window or any other). Status changes are applied
+    // in place; new rows are read through the cache. Tables and stats are rebuilt once per batch,
+    // and not at all when every change was already applied locally by the action that made it.
+    private void applyChanges(List<ChangeEventBus.Change> batch) {
+        if (frame == null || !frame.isDisplayable()) return;
+        boolean projectsChanged = false, bidsChanged = false;
+        int knownRows = projects.size() + bids.size();
+        for (ChangeEventBus.Change change : batch) {
+            if (change.entity == ChangeEventBus.Entity.PROJECT) {
+                projectsChanged |= applyProjectChange(change);
+            } else {
+                bidsChanged |= applyBidChange(change);
+            }
+        }
+        if (projects.size() + bids.size() > knownRows) projectService.syncIds(); // rows posted from another window
+        if (projectsChanged) refreshProjectTable();
+        if (bidsChanged) refreshBidTable();
+        if (projectsChanged || bidsChanged) updateStats();
+    }
+
+    private boolean applyProjectChange(ChangeEventBus.Change change) {
+        Project local = projects.stream().filter(p -> p.getProjectId().equals(change.key)).findFirst().orElse(null);
+        if (local != null) {
+            if (change.newStatus == null || change.newStatus.equals(local.getStatus())) return false;
+            local.setStatus(change.newStatus);
+            return true;
+        }
+        ProjectData added = dbManager.getProjectById(change.key);
+        if (added == null) return false;
+        projects.add(toProject(added));
+        return true;
+    }
+
+    private boolean applyBidChange(ChangeEventBus.Change change) {
+        Bid local = bids.stream().filter(b -> b.getBidId().equals(change.key)).findFirst().orElse(null);
+        if (local != null) {
+            if (change.newStatus == null || change.newStatus.equals(local.getStatus())) return false;
+            local.setStatus(change.newStatus);
+            return true;
+        }
+        if (change.projectId == null) return false;
+        boolean added = false;
+        for (BidData bidData : dbManager.getBidsByProject(change.projectId)) {
+            if (bids.stream().noneMatch(b -> b.getBidId().equals(bidData.bidId))) {
+                bids.add(toBid(bidData));
+                added = true;
+            }
+        }
+        return added;
+    }
+
     // Table refresh methods (unchanged)
     private void refreshProjectTable() { 
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         projectTableModel.setRowCount(0);
 for (Project p : projects) 
             projectTableModel.addRow(new Object[]{p.getProjectId(), p.getTitle(), p.getClientName(), p.getCategory(), "$" + p.getBudget(), p.getDifficulty(), p.getDeadline() + " days", p.getStatus()});
+        event.finish("projects", "project", projectTableModel.getRowCount(), "");
 }
 
     private void refreshBidTable() { 
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         bidTableModel.setRowCount(0);
 for (Bid b : bids) { 
             String prop = b.getProposal().length() > 30 ?
@@ -690,9 +708,12 @@ b.getProposal().substring(0, 30) + "..." : b.getProposal();
             String resumeStatus = (b.getResumeFile() != null) ? "✓ Attached" : "✗ None";
 bidTableModel.addRow(new Object[]{b.getBidId(), b.getProjectId(), b.getFreelancerName(), "$" + b.getAmount(), b.getDays() + " days", resumeStatus, prop, b.getStatus()});
 } 
+        event.finish("bids", "bid", bidTableModel.getRowCount(), "");
     }
 
     private void filterBids(String projectId) { 
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         bidTableModel.setRowCount(0);
 for (Bid b : bids) 
             if (b.getProjectId().equals(projectId)) { 
@@ -701,6 +722,7 @@ b.getProposal().substring(0, 30) + "..." : b.getProposal();
                 String resumeStatus = (b.getResumeFile() != null) ? "✓ Attached" : "✗ None";
 bidTableModel.addRow(new Object[]{b.getBidId(), b.getProjectId(), b.getFreelancerName(), "$" + b.getAmount(), b.getDays() + " days", resumeStatus, prop, b.getStatus()});
 } 
+        event.finish("bids", "bid", bidTableModel.getRowCount(), projectId);
     }
 
     // Validation and form methods (unchanged)
@@ -712,6 +734,11 @@ bidTableModel.addRow(new Object[]{b.getBidId(), b.getProjectId(), b.getFreelance
         return !freelancerNameField.getText().isEmpty() && !f.getText().isEmpty();
 }
 
+    // NumberFormatException is an IllegalArgumentException too; give it a readable message
+    private static String inputError(IllegalArgumentException e) {
+        return e instanceof NumberFormatException ? "Please enter valid numbers for amounts and days." : e.getMessage();
+    }
+
     private void clearPostForm() { 
         clientNameField.setText(""); titleField.setText(""); budgetField.setText(""); deadlineField.setText("");
 descriptionArea.setText(""); categoryCombo.setSelectedIndex(0); difficultyCombo.setSelectedIndex(0); 
@@ -726,15 +753,16 @@ bidAmountField.setText("");
     }
 
     // UPDATED: Stats methods using database
+    // Counted from the local lists, which the change feed keeps in step with the database
     private void updateStats() { 
-        totalProjectsLabel.setText(String.valueOf(dbManager.getTotalProjects()));
-activeProjectsLabel.setText(String.valueOf(dbManager.getActiveProjects())); 
-        completedProjectsLabel.setText(String.valueOf(dbManager.getCompletedProjects())); 
-        totalBidsLabel.setText(String.valueOf(dbManager.getTotalBids())); 
-        pendingBidsLabel.setText(String.valueOf(dbManager.getPendingBids())); 
-        
-        int completed = dbManager.getCompletedProjects();
-        int total = dbManager.getTotalProjects();
+        int total = projects.size();
+        int completed = (int) projects.stream().filter(p -> "Completed".equals(p.getStatus())).count();
+        totalProjectsLabel.setText(String.valueOf(total));
+        activeProjectsLabel.setText(String.valueOf(projects.stream().filter(p -> "In Progress".equals(p.getStatus())).count())); 
+        completedProjectsLabel.setText(String.valueOf(completed)); 
+        totalBidsLabel.setText(String.valueOf(bids.size())); 
+        pendingBidsLabel.setText(String.valueOf(bids.stream().filter(b -> "Pending".equals(b.getStatus())).count())); 
+        
 if (total > 0) successRateLabel.setText(((completed * 100) / total) + "%"); 
         else successRateLabel.setText("0%");
 }
@@ -784,21 +812,17 @@ label.setFont(new Font("Segoe UI", Font.BOLD, 48)); label.setForeground(color);
     
     // --- UI Inner Classes (unchanged) ---
     private class TexturedGradientPanel extends JPanel {
-        private final BufferedImage texture;
-public TexturedGradientPanel() { this.texture = loadImage(); }
-        private BufferedImage loadImage() { try { return ImageIO.read(getClass().getResource("/background.png"));
-} catch (Exception e) { System.err.println("BG image not found."); return null;
-} }
+        // Background + tiled texture come pre-composited from the shared render cache
         @Override protected void paintComponent(Graphics g) { super.paintComponent(g);
-Graphics2D g2d = (Graphics2D) g.create(); g2d.setColor(bgColor); g2d.fillRect(0, 0, getWidth(), getHeight());
-if (texture != null) { for (int y=0; y<getHeight(); y+=texture.getHeight()) for (int x=0; x<getWidth(); x+=texture.getWidth()) g2d.drawImage(texture, x, y, this);
-} g2d.dispose(); }
+RenderCache.paintBackground(g, this, bgColor, null, null, false); }
     }
+    private static final Color GLASS_COLOR = new Color(44, 62, 80, 150);
+    private static final Color NAV_HOVER_COLOR = new Color(52, 73, 94);
     private class GlassPanel extends JPanel {
         public GlassPanel() { setOpaque(false);
 }
         @Override protected void paintComponent(Graphics g) { super.paintComponent(g); Graphics2D g2d = (Graphics2D) g.create();
-g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON); g2d.setColor(new Color(44, 62, 80, 150)); g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 20, 20); g2d.dispose();
+g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON); g2d.setColor(GLASS_COLOR); g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 20, 20); g2d.dispose();
 }
     }
     private class NavButton extends JPanel {
@@ -808,7 +832,7 @@ l.setFont(new Font("Segoe UI", Font.BOLD, 16)); setBorder(BorderFactory.createEm
 addMouseListener(new MouseAdapter() { public void mouseClicked(MouseEvent e) { cardLayout.show(contentPanel, cardName); } public void mouseEntered(MouseEvent e) { isHovered = true; repaint(); } public void mouseExited(MouseEvent e) { isHovered = false; repaint(); } });
 }
         @Override protected void paintComponent(Graphics g) { super.paintComponent(g);
-if (isHovered) { Graphics2D g2d = (Graphics2D) g.create(); g2d.setColor(new Color(52, 73, 94)); g2d.fillRect(0, 0, getWidth(), getHeight()); g2d.dispose();
+if (isHovered) { Graphics2D g2d = (Graphics2D) g.create(); g2d.setColor(NAV_HOVER_COLOR); g2d.fillRect(0, 0, getWidth(), getHeight()); g2d.dispose();
 } }
     }
 
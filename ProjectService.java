@@ -0,0 +1,127 @@
+import java.io.File;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ========================================================================
+// PROJECT SERVICE
+// Headless project and bidding workflows over DatabaseManager: post a
+// project, place a bid, accept or reject it, complete the project. No
+// Swing here - ProjectManager reads its form fields and delegates, and the
+// same calls work from a server process, a batch job or a benchmark.
+// Bad input throws IllegalArgumentException with a message fit for the
+// user; a failed database write returns null/false like DatabaseManager.
+// PRJ/BID numbers continue from the highest ID already in the database and
+// are handed out atomically, so several threads can post at once.
+//
+//   ProjectService service = new ProjectService(db);
+//   ProjectData p = service.postProject("Landing page", "Acme", "Web Development",
+//           1500, "Intermediate", 14, "Responsive one-pager");
+//   BidData b = service.placeBid(p.projectId, "Asha", 1200, 10, "Done in React", null);
+//   service.acceptBid(b.bidId, p.projectId);
+// ========================================================================
+public class ProjectService {
+    public static final String PROJECT_PREFIX = "PRJ";
+    public static final String BID_PREFIX = "BID";
+
+    private final DatabaseManager db;
+    private final AtomicInteger nextProjectId = new AtomicInteger(1);
+    private final AtomicInteger nextBidId = new AtomicInteger(1);
+
+    public ProjectService(DatabaseManager db) {
+        this.db = db;
+        syncIds();
+    }
+
+    public DatabaseManager database() {
+        return db;
+    }
+
+    // Move the ID counters past anything another window or process has written
+    public void syncIds() {
+        nextProjectId.accumulateAndGet(db.getMaxIdNumber("projects", "project_id", PROJECT_PREFIX) + 1, Math::max);
+        nextBidId.accumulateAndGet(db.getMaxIdNumber("bids", "bid_id", BID_PREFIX) + 1, Math::max);
+    }
+
+    // Returns the stored project, or null if the insert failed
+    public ProjectData postProject(String title, String clientName, String category, double budget,
+                                   String difficulty, int deadlineDays, String description) {
+        requireText(title, "Project title");
+        requireText(clientName, "Client name");
+        requirePositive(budget, "Budget");
+        if (deadlineDays <= 0) throw new IllegalArgumentException("Deadline must be at least one day.");
+
+        ProjectData project = new ProjectData();
+        project.projectId = PROJECT_PREFIX + String.format("%03d", nextProjectId.getAndIncrement());
+        project.title = title.trim();
+        project.clientName = clientName.trim();
+        project.category = category;
+        project.budget = budget;
+        project.difficulty = difficulty;
+        project.deadlineDays = deadlineDays;
+        project.description = description == null ? "" : description;
+        project.status = "Open";
+        return db.insertProject(project) ? project : null;
+    }
+
+    // Returns the stored bid, or null if the insert failed; resume may be null
+    public BidData placeBid(String projectId, String freelancerName, double amount, int completionDays,
+                            String proposal, File resume) {
+        requireText(projectId, "Project ID");
+        requireText(freelancerName, "Freelancer name");
+        requirePositive(amount, "Bid amount");
+        if (completionDays <= 0) throw new IllegalArgumentException("Completion time must be at least one day.");
+
+        BidData bid = new BidData();
+        bid.bidId = BID_PREFIX + String.format("%03d", nextBidId.getAndIncrement());
+        bid.projectId = projectId.trim();
+        bid.freelancerName = freelancerName.trim();
+        bid.amount = amount;
+        bid.completionDays = completionDays;
+        bid.proposal = proposal == null ? "" : proposal;
+        bid.status = "Pending";
+        if (resume != null) {
+            bid.resumeFilePath = resume.getAbsolutePath();
+            bid.resumeFileName = resume.getName();
+        }
+        return db.insertBid(bid) ? bid : null;
+    }
+
+    // Accepting a bid puts its project in progress
+    public boolean acceptBid(String bidId, String projectId) {
+        requireText(bidId, "Bid ID");
+        requireText(projectId, "Project ID");
+        boolean bidUpdated = db.updateBidStatus(bidId, "Accepted");
+        boolean projectUpdated = db.updateProjectStatus(projectId, "In Progress");
+        return bidUpdated && projectUpdated;
+    }
+
+    public boolean rejectBid(String bidId) {
+        requireText(bidId, "Bid ID");
+        return db.updateBidStatus(bidId, "Rejected");
+    }
+
+    public boolean completeProject(String projectId) {
+        requireText(projectId, "Project ID");
+        return db.updateProjectStatus(projectId, "Completed");
+    }
+
+    public ArrayList<ProjectData> listProjects() {
+        return db.getAllProjects();
+    }
+
+    public ArrayList<BidData> listBids() {
+        return db.getAllBids();
+    }
+
+    public ArrayList<BidData> bidsForProject(String projectId) {
+        return db.getBidsByProject(projectId);
+    }
+
+    static void requireText(String value, String field) {
+        if (value == null || value.trim().isEmpty()) throw new IllegalArgumentException(field + " cannot be empty.");
+    }
+
+    static void requirePositive(double value, String field) {
+        if (!(value > 0) || Double.isInfinite(value)) throw new IllegalArgumentException(field + " must be greater than zero.");
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.Arrays;
+
+// ========================================================================
+// QUANTILE SKETCH
+// Streaming quantile estimator for positive values with a guaranteed
+// relative error (log-bucketed histogram, as in DDSketch). Each value goes
+// to bucket ceil(log_gamma(x)); a quantile is answered by walking the
+// bucket counts, so memory depends on the value range, not on how many
+// values were added - a few hundred ints cover cents to millions at 1%.
+// Adding is O(1); sketches with the same accuracy can be merged.
+// Not thread-safe; callers guard or copy.
+// ========================================================================
+public class QuantileSketch {
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private int[] counts = new int[0];
+    private int offset;          // bucket index of counts[0]
+    private long total;
+    private long zeroCount;      // values <= 0 (kept out of the log buckets)
+    private double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY, sum;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    public QuantileSketch(QuantileSketch other) {
+        this.relativeAccuracy = other.relativeAccuracy;
+        this.logGamma = other.logGamma;
+        this.counts = other.counts.clone();
+        this.offset = other.offset;
+        this.total = other.total;
+        this.zeroCount = other.zeroCount;
+        this.min = other.min;
+        this.max = other.max;
+        this.sum = other.sum;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return;
+        total++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value <= 0) {
+            zeroCount++;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / logGamma);
+        ensureBucket(index);
+        counts[index - offset]++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        if (other.total == 0) return;
+        if (other.counts.length > 0) {
+            ensureBucket(other.offset);
+            ensureBucket(other.offset + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) counts[other.offset + i - offset] += other.counts[i];
+        }
+        total += other.total;
+        zeroCount += other.zeroCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Estimate of the q-quantile (0..1), within relativeAccuracy of an actual value; NaN when empty
+    public double quantile(double q) {
+        if (total == 0) return Double.NaN;
+        if (q <= 0) return min;
+        if (q >= 1) return max;
+        long rank = (long) Math.floor(q * (total - 1));
+        if (rank < zeroCount) return Math.max(min, 0);
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                // Midpoint (in relative terms) of bucket (gamma^(k-1), gamma^k]
+                double estimate = 2 * Math.exp((i + offset) * logGamma) / (1 + Math.exp(logGamma));
+                return Math.max(min, Math.min(max, estimate));
+            }
+        }
+        return max;
+    }
+
+    public long count() { return total; }
+
+    public double mean() { return total == 0 ? Double.NaN : sum / total; }
+
+    public double min() { return total == 0 ? Double.NaN : min; }
+
+    public double max() { return total == 0 ? Double.NaN : max; }
+
+    public double relativeAccuracy() { return relativeAccuracy; }
+
+    private void ensureBucket(int index) {
+        if (counts.length == 0) {
+            counts = new int[16];
+            offset = index - 8;
+            return;
+        }
+        if (index < offset) {
+            int grow = Math.max(offset - index, counts.length / 2);
+            int[] bigger = new int[counts.length + grow];
+            System.arraycopy(counts, 0, bigger, grow, counts.length);
+            counts = bigger;
+            offset -= grow;
+        } else if (index >= offset + counts.length) {
+            int needed = index - offset + 1;
+            counts = Arrays.copyOf(counts, Math.max(needed, counts.length + counts.length / 2));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+// ========================================================================
+// QUOTE
+// Immutable, UI-independent snapshot of one priced quote, handed to the
+// PDF pipeline (and anything else) instead of reading Swing components.
+// ========================================================================
+public final class Quote {
+    public final String skill;
+    public final String experience;
+    public final String complexity;
+    public final String location;
+    public final double hours;
+    public final double hourlyRate;
+    public final double total;
+    public final long createdMillis;
+
+    public Quote(String skill, String experience, String complexity, String location,
+                 double hours, double hourlyRate, long createdMillis) {
+        this.skill = skill;
+        this.experience = experience;
+        this.complexity = complexity;
+        this.location = location;
+        this.hours = hours;
+        this.hourlyRate = hourlyRate;
+        this.total = hourlyRate * hours;
+        this.createdMillis = createdMillis;
+    }
+
+    // Price a combination straight from a rate table (ordinals as in BatchPricer)
+    public static Quote of(RateTable table, int skill, int experience, int complexity, int location, double hours) {
+        return new Quote(
+                table.label(RateTable.Dimension.SKILL, skill),
+                table.label(RateTable.Dimension.EXPERIENCE, experience),
+                table.label(RateTable.Dimension.COMPLEXITY, complexity),
+                table.label(RateTable.Dimension.LOCATION, location),
+                hours,
+                table.hourlyRate(skill, experience, complexity, location),
+                System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,164 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// ========================================================================
+// QUOTE CACHE
+// Small LRU of priced quotes keyed by the normalized input tuple
+// (rate table version, four ordinals, hours). Repeated or toggled inputs -
+// typing and deleting a digit, flipping a combo back - become a map lookup.
+// The breakdown text is rendered lazily on first request and kept with the
+// entry, so headless callers that only need rate/total never pay for it.
+// Keys include the table version, so a hot-reloaded rate table can never
+// serve stale prices. Thread-safe.
+// ========================================================================
+public class QuoteCache {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // Produces the human-readable breakdown for an entry (called at most once per entry)
+    public interface BreakdownRenderer {
+        String render(Entry entry);
+    }
+
+    public static final class Entry {
+        public final RateTable table;
+        public final int skill, experience, complexity, location;
+        public final double hours;
+        public final double hourlyRate;
+        public final double total;
+        private final BreakdownRenderer renderer;
+        private volatile String breakdown;
+
+        private Entry(RateTable table, int skill, int experience, int complexity, int location, double hours, BreakdownRenderer renderer) {
+            this.table = table;
+            this.skill = skill;
+            this.experience = experience;
+            this.complexity = complexity;
+            this.location = location;
+            this.hours = hours;
+            this.hourlyRate = table.hourlyRate(skill, experience, complexity, location);
+            this.total = hourlyRate * hours;
+            this.renderer = renderer;
+        }
+
+        // null when the cache has no renderer
+        public String breakdown() {
+            String text = breakdown;
+            if (text == null && renderer != null) {
+                text = renderer.render(this);
+                breakdown = text;
+            }
+            return text;
+        }
+
+        public Quote toQuote() {
+            return Quote.of(table, skill, experience, complexity, location, hours);
+        }
+    }
+
+    private final int capacity;
+    private final BreakdownRenderer renderer;
+    private final LinkedHashMap<Key, Entry> entries;
+    private long hits, misses, evictions;
+
+    public QuoteCache() {
+        this(DEFAULT_CAPACITY, null);
+    }
+
+    public QuoteCache(int capacity, BreakdownRenderer renderer) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1");
+        this.capacity = capacity;
+        this.renderer = renderer;
+        this.entries = new LinkedHashMap<Key, Entry>(Math.min(capacity, 1024) * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, QuoteCache.Entry> eldest) {
+                if (size() <= QuoteCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    // Cached quote for these inputs, pricing it on a miss. Negative/NaN hours count as 0.
+    public Entry get(RateTable table, int skill, int experience, int complexity, int location, double hours) {
+        double h = normalizeHours(hours);
+        Key key = new Key(table.version(), skill, experience, complexity, location, h);
+        synchronized (entries) {
+            Entry cached = entries.get(key);
+            if (cached != null && cached.table == table) {
+                hits++;
+                return cached;
+            }
+            misses++;
+        }
+        // Price outside the lock; a racing miss for the same key just stores an equal entry
+        Entry entry = new Entry(table, skill, experience, complexity, location, h, renderer);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long hits() { synchronized (entries) { return hits; } }
+
+    public long misses() { synchronized (entries) { return misses; } }
+
+    public long evictions() { synchronized (entries) { return evictions; } }
+
+    public int size() { synchronized (entries) { return entries.size(); } }
+
+    public double hitRate() {
+        synchronized (entries) {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+
+    public String stats() {
+        synchronized (entries) {
+            long total = hits + misses;
+            return String.format("Quote cache: %d/%d entries, %d hits, %d misses (%.1f%% hit rate), %d evictions",
+                    entries.size(), capacity, hits, misses, total == 0 ? 0.0 : 100.0 * hits / total, evictions);
+        }
+    }
+
+    private static double normalizeHours(double hours) {
+        return hours > 0 && !Double.isInfinite(hours) ? hours : 0.0;   // also folds -0.0 and NaN into 0.0
+    }
+
+    private static final class Key {
+        final long version;
+        final int skill, experience, complexity, location;
+        final long hoursBits;
+
+        Key(long version, int skill, int experience, int complexity, int location, double hours) {
+            this.version = version;
+            this.skill = skill;
+            this.experience = experience;
+            this.complexity = complexity;
+            this.location = location;
+            this.hoursBits = Double.doubleToLongBits(hours);
+        }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return version == k.version && skill == k.skill && experience == k.experience
+                    && complexity == k.complexity && location == k.location && hoursBits == k.hoursBits;
+        }
+
+        @Override public int hashCode() {
+            int h = Long.hashCode(version);
+            h = h * 31 + skill;
+            h = h * 31 + experience;
+            h = h * 31 + complexity;
+            h = h * 31 + location;
+            return h * 31 + Long.hashCode(hoursBits);
+        }
+    }
+}
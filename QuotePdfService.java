@@ -0,0 +1,172 @@
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.awt.Desktop;
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+// ========================================================================
+// QUOTE PDF SERVICE
+// Renders Quote objects to "Project_Quote_<id>.pdf" files.
+//   - Fonts and the letterhead template come from PdfStyles and are shared
+//     by every render, so only the table is laid out per quote.
+//   - Output goes through a buffered NIO file stream.
+//   - renderAll/submit run on a PlatformExecutors executor: a virtual
+//     thread per quote, or a pool of `threads` workers (one writer per
+//     task; iText writers are not shared between threads).
+// Headless mode (or a headless JVM) never touches java.awt.Desktop.
+// ========================================================================
+public class QuotePdfService implements AutoCloseable {
+    public static final String HEADLESS_PROPERTY = "quote.pdf.headless";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final PdfStyles.Letterhead LETTERHEAD =
+            new PdfStyles.Letterhead("FREELANCE FAIR-WAGE PLATFORM", "Official Project Quotation");
+
+    private static final ThreadLocal<DecimalFormat> HOURS = ThreadLocal.withInitial(() -> new DecimalFormat("#,##0.##"));
+    private static final AtomicLong LAST_ID = new AtomicLong();
+    private static final IntConsumer NO_PROGRESS = p -> { };
+
+    private final Path outputDir;
+    private final boolean headless;
+    private final ExecutorService workers;
+
+    public QuotePdfService() {
+        this(Paths.get("."), Boolean.getBoolean(HEADLESS_PROPERTY) || GraphicsEnvironment.isHeadless(),
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public QuotePdfService(Path outputDir, boolean headless, int threads) {
+        this.outputDir = outputDir;
+        this.headless = headless;
+        this.workers = PlatformExecutors.newExecutor("quote-pdf", PlatformExecutors.configuredMode(), threads);
+    }
+
+    public boolean isHeadless() { return headless; }
+
+    // Render on the calling thread
+    public Path render(Quote quote) throws IOException {
+        return render(quote, NO_PROGRESS);
+    }
+
+    // Render on the calling thread, reporting 0-100 progress. An interrupt between
+    // stages aborts the render and removes the partial file.
+    public Path render(Quote quote, IntConsumer progress) throws IOException {
+        String id = String.valueOf(nextId());
+        Path file = outputDir.resolve("Project_Quote_" + id + ".pdf");
+        PdfRenderEvent event = new PdfRenderEvent();
+        event.begin();
+        boolean complete = false;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE)) {
+            progress.accept(5);
+            write(quote, out, progress);
+            complete = true;
+        } catch (DocumentException e) {
+            throw new IOException("PDF rendering failed: " + e.getMessage(), e);
+        } finally {
+            if (!complete) Files.deleteIfExists(file);
+            event.finish("quote", id, null, 1, file, complete);
+        }
+        progress.accept(100);
+        return file;
+    }
+
+    // Render on the worker pool
+    public CompletableFuture<Path> submit(Quote quote) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return render(quote);
+            } catch (IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+        }, workers);
+    }
+
+    // Render many quotes in parallel; paths come back in input order
+    public List<Path> renderAll(List<Quote> quotes) throws IOException {
+        List<CompletableFuture<Path>> futures = new ArrayList<>(quotes.size());
+        for (Quote q : quotes) futures.add(submit(q));
+        List<Path> paths = new ArrayList<>(quotes.size());
+        try {
+            for (CompletableFuture<Path> f : futures) paths.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering quotes", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof java.io.UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+        return paths;
+    }
+
+    // Open in the system viewer unless running headless; returns whether it was opened
+    public boolean open(Path file) throws IOException {
+        if (headless || !Desktop.isDesktopSupported()) return false;
+        Desktop.getDesktop().open(file.toFile());
+        return true;
+    }
+
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+
+    private void write(Quote q, OutputStream out, IntConsumer progress) throws DocumentException, IOException {
+        Document document = LETTERHEAD.newDocument();
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+        checkInterrupted();
+
+        // Letterhead: pre-laid-out page stamped under the content
+        PdfStyles.Letterhead.stamp(writer, LETTERHEAD.importInto(writer));
+        progress.accept(30);
+        checkInterrupted();
+
+        MoneyFormat currency = MoneyFormat.DOLLARS;
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(100);
+        PdfStyles.addRow(table, "Skill", q.skill);
+        PdfStyles.addRow(table, "Experience", q.experience);
+        PdfStyles.addRow(table, "Complexity", q.complexity);
+        PdfStyles.addRow(table, "Location Tier", q.location);
+        PdfStyles.addRow(table, "Estimated Hours", HOURS.get().format(q.hours));
+        PdfStyles.addRow(table, "Fair Hourly Rate", currency.format(q.hourlyRate) + "/hr");
+        PdfStyles.addRow(table, "Total Project Cost", currency.format(q.total));
+        document.add(table);
+        progress.accept(70);
+        checkInterrupted();
+
+        document.add(new Paragraph("\nGenerated on: " + new Date(q.createdMillis), PdfStyles.NORMAL_FONT));
+        document.add(new Paragraph("Thank you for using the Fair Wage Calculator!", PdfStyles.NORMAL_FONT));
+        document.close();
+        progress.accept(95);
+    }
+
+    private static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) throw new InterruptedIOException("Quote rendering cancelled");
+    }
+
+    // Millisecond ids, bumped when several quotes are rendered in the same millisecond
+    private static long nextId() {
+        long now = System.currentTimeMillis();
+        return LAST_ID.accumulateAndGet(now, (last, t) -> Math.max(last + 1, t));
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ========================================================================
+// RATE TABLE
+// Immutable snapshot of the wage pricing rules. Every category label is
+// compiled to a dense int ordinal (its position in the table), and the
+// final hourly rate for every (skill, experience, complexity, location)
+// combination is precomputed into one flattened matrix, so pricing a quote
+// is an index calculation plus one array read instead of string switches.
+// ========================================================================
+public final class RateTable {
+    public enum Dimension {
+        SKILL("skill"), EXPERIENCE("experience"), COMPLEXITY("complexity"), LOCATION("location");
+
+        public final String key;
+
+        Dimension(String key) { this.key = key; }
+
+        public static Dimension fromKey(String key) {
+            for (Dimension d : values()) {
+                if (d.key.equalsIgnoreCase(key.trim())) return d;
+            }
+            throw new IllegalArgumentException("Unknown rate dimension: " + key);
+        }
+    }
+
+    // One row of a rate source: base $/hr for skills, a multiplier for the rest
+    public static final class Entry {
+        public final Dimension dimension;
+        public final String label;
+        public final double value;
+
+        public Entry(Dimension dimension, String label, double value) {
+            this.dimension = dimension;
+            this.label = label;
+            this.value = value;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof Entry)) return false;
+            Entry e = (Entry) o;
+            return dimension == e.dimension && label.equals(e.label) && Double.compare(value, e.value) == 0;
+        }
+
+        @Override public int hashCode() {
+            return (dimension.hashCode() * 31 + label.hashCode()) * 31 + Double.hashCode(value);
+        }
+    }
+
+    private static final int D = Dimension.values().length;
+
+    private final List<Entry> entries;
+    private final String[][] labels = new String[D][];
+    private final double[][] factors = new double[D][];
+    private final Map<String, Integer>[] ordinals;
+    private final int[] strides = new int[D];
+    private final double[] hourlyRates;     // flattened [skill][experience][complexity][location]
+    private final long version;
+    private final String source;
+
+    public RateTable(List<Entry> entries, long version, String source) {
+        this.entries = new ArrayList<>(entries);
+        this.version = version;
+        this.source = source;
+        this.ordinals = newIndexArray(D);
+
+        for (Dimension d : Dimension.values()) {
+            List<String> names = new ArrayList<>();
+            List<Double> values = new ArrayList<>();
+            Map<String, Integer> index = new HashMap<>();
+            for (Entry e : entries) {
+                if (e.dimension != d) continue;
+                if (index.containsKey(e.label)) {
+                    throw new IllegalArgumentException("Duplicate " + d.key + " label: " + e.label);
+                }
+                if (!(e.value > 0) || Double.isInfinite(e.value)) {
+                    throw new IllegalArgumentException("Invalid " + d.key + " value for " + e.label + ": " + e.value);
+                }
+                index.put(e.label, names.size());
+                names.add(e.label);
+                values.add(e.value);
+            }
+            if (names.isEmpty()) throw new IllegalArgumentException("No " + d.key + " rates defined");
+            int i = d.ordinal();
+            labels[i] = names.toArray(new String[0]);
+            factors[i] = new double[values.size()];
+            for (int k = 0; k < factors[i].length; k++) factors[i][k] = values.get(k);
+            ordinals[i] = index;
+        }
+
+        // Row-major strides; the location axis is contiguous
+        int size = 1;
+        for (int i = D - 1; i >= 0; i--) {
+            strides[i] = size;
+            size = Math.multiplyExact(size, labels[i].length);
+        }
+        hourlyRates = new double[size];
+        double[] skill = factors[0], exp = factors[1], comp = factors[2], loc = factors[3];
+        int p = 0;
+        for (double s : skill)
+            for (double e : exp)
+                for (double c : comp)
+                    for (double l : loc)
+                        hourlyRates[p++] = s * e * c * l;
+    }
+
+    // Generic arrays cannot be created directly; the cast is safe because every slot is
+    // filled with a Map<String, Integer> before the array is read
+    @SuppressWarnings("unchecked")
+    private static Map<String, Integer>[] newIndexArray(int size) {
+        return (Map<String, Integer>[]) new Map<?, ?>[size];
+    }
+
+    // Final hourly rate from ordinals - the hot path for every recalculation
+    public double hourlyRate(int skill, int experience, int complexity, int location) {
+        return hourlyRates[skill * strides[0] + experience * strides[1] + complexity * strides[2] + location];
+    }
+
+    public double factor(Dimension d, int ordinal) { return factors[d.ordinal()][ordinal]; }
+
+    public String label(Dimension d, int ordinal) { return labels[d.ordinal()][ordinal]; }
+
+    public String[] labels(Dimension d) { return labels[d.ordinal()].clone(); }
+
+    public int size(Dimension d) { return labels[d.ordinal()].length; }
+
+    // -1 when the label is not in this table
+    public int ordinal(Dimension d, String label) {
+        Integer o = label == null ? null : ordinals[d.ordinal()].get(label);
+        return o == null ? -1 : o;
+    }
+
+    // Preselected option: the neutral (x1.0) multiplier if present, else the first entry
+    public int defaultOrdinal(Dimension d) {
+        if (d == Dimension.SKILL) return 0;
+        double[] f = factors[d.ordinal()];
+        for (int i = 0; i < f.length; i++) {
+            if (f[i] == 1.0) return i;
+        }
+        return 0;
+    }
+
+    public List<Entry> entries() { return new ArrayList<>(entries); }
+
+    // Increases every time a changed table is loaded; lets caches detect stale prices
+    public long version() { return version; }
+
+    public String source() { return source; }
+
+    public boolean sameRates(List<Entry> other) { return entries.equals(other); }
+
+    // The rates that were previously hardcoded in WageCalculator
+    public static List<Entry> defaultEntries() {
+        List<Entry> e = new ArrayList<>();
+        add(e, Dimension.SKILL, new String[]{"Web Development", "Mobile App Development", "Data Science", "AI/Machine Learning", "UI/UX Design", "Content Writing"},
+                new double[]{25.0, 30.0, 35.0, 40.0, 28.0, 20.0});
+        add(e, Dimension.EXPERIENCE, new String[]{"Entry Level (0-2 years)", "Junior (2-4 years)", "Mid-Level (4-7 years)", "Senior (7-10 years)", "Expert (10+ years)"},
+                new double[]{0.8, 1.0, 1.3, 1.6, 2.0});
+        add(e, Dimension.COMPLEXITY, new String[]{"Simple", "Moderate", "Complex", "Highly Complex", "Expert Level"},
+                new double[]{0.9, 1.0, 1.3, 1.6, 2.0});
+        add(e, Dimension.LOCATION, new String[]{"Tier 3 City", "Tier 2 City", "Tier 1 City", "Metro City", "International"},
+                new double[]{0.7, 0.85, 1.0, 1.2, 1.5});
+        return e;
+    }
+
+    private static void add(List<Entry> out, Dimension d, String[] names, double[] values) {
+        for (int i = 0; i < names.length; i++) out.add(new Entry(d, names[i], values[i]));
+    }
+
+    @Override public String toString() {
+        return "RateTable v" + version + " (" + source + ") " + Arrays.toString(new int[]{
+                labels[0].length, labels[1].length, labels[2].length, labels[3].length});
+    }
+}
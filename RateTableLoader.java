@@ -0,0 +1,172 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// ========================================================================
+// RATE TABLE LOADER
+// Loads the RateTable from a config file or the wage_rates database table
+// and keeps it fresh without a restart: a daemon thread polls the source and
+// swaps in a newly compiled table only when the rates actually changed.
+// Readers just call current(); listeners are told about every swap (on the
+// polling thread - UI listeners must hop to the EDT themselves).
+//
+// Source selection:
+//   -Dwage.rates.file=<path>   CSV file ("dimension,label,value" per line),
+//                              also used when ./wage_rates.csv exists
+//   otherwise                  the wage_rates table (seeded with the
+//                              built-in defaults when empty)
+//   -Dwage.rates.poll.seconds  reload interval, default 30 (0 disables)
+// A source that fails to load or validate keeps the previous table.
+// ========================================================================
+public class RateTableLoader {
+    public static final String FILE_PROPERTY = "wage.rates.file";
+    public static final String POLL_PROPERTY = "wage.rates.poll.seconds";
+    public static final String DEFAULT_FILE = "wage_rates.csv";
+    public static final long DEFAULT_POLL_SECONDS = 30;
+
+    private final DatabaseManager dbManager;
+    private final Path file;
+    private final List<Consumer<RateTable>> listeners = new CopyOnWriteArrayList<>();
+    private volatile RateTable current;
+    private ScheduledExecutorService poller;
+    private long fileStamp = Long.MIN_VALUE;
+    private long nextVersion = 1;
+
+    public RateTableLoader(DatabaseManager dbManager) {
+        this(dbManager, configuredFile());
+    }
+
+    // file may be null to always read from the database
+    public RateTableLoader(DatabaseManager dbManager, Path file) {
+        this.dbManager = dbManager;
+        this.file = file;
+        this.current = new RateTable(RateTable.defaultEntries(), 0, "built-in defaults");
+        reload();
+    }
+
+    public RateTable current() {
+        return current;
+    }
+
+    public void addListener(Consumer<RateTable> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<RateTable> listener) {
+        listeners.remove(listener);
+    }
+
+    // Re-read the source; returns true when a different table was swapped in
+    public synchronized boolean reload() {
+        List<RateTable.Entry> entries;
+        String source;
+        try {
+            if (file != null) {
+                long stamp = Files.getLastModifiedTime(file).toMillis() ^ Files.size(file);
+                if (stamp == fileStamp) return false;
+                entries = readFile(file);
+                fileStamp = stamp;
+                source = file.toString();
+            } else {
+                entries = readDatabase();
+                source = "database";
+            }
+            if (current.sameRates(entries)) return false;
+            RateTable table = new RateTable(entries, nextVersion++, source);
+            current = table;
+            System.out.println("✅ Loaded wage rates from " + source + " (v" + table.version() + ")");
+            for (Consumer<RateTable> l : listeners) l.accept(table);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Wage rate reload failed, keeping v" + current.version() + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Start polling for changes; safe to call more than once. The first poll runs at once, so a
+    // loader restarted after stop() picks up edits made while it was stopped.
+    public synchronized void start() {
+        long seconds = Long.getLong(POLL_PROPERTY, DEFAULT_POLL_SECONDS);
+        if (poller != null || seconds <= 0) return;
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rate-table-reloader");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::reload, 0, seconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+        }
+    }
+
+    private List<RateTable.Entry> readDatabase() {
+        List<Object[]> rows = dbManager.getWageRates();
+        if (rows.isEmpty()) {
+            // First run: publish the built-in rates so the pricing team has something to edit
+            int order = 0;
+            for (RateTable.Entry e : RateTable.defaultEntries()) {
+                dbManager.insertWageRate(e.dimension.key, e.label, e.value, order++);
+            }
+            rows = dbManager.getWageRates();
+            if (rows.isEmpty()) throw new IllegalStateException("wage_rates table is unavailable");
+        }
+        List<RateTable.Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            entries.add(new RateTable.Entry(RateTable.Dimension.fromKey((String) row[0]), (String) row[1], (Double) row[2]));
+        }
+        return sortByDimension(entries);
+    }
+
+    // "dimension,label,value"; blank lines and # comments are skipped, labels may contain commas
+    static List<RateTable.Entry> readFile(Path path) throws IOException {
+        List<RateTable.Entry> entries = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                int first = line.indexOf(','), last = line.lastIndexOf(',');
+                if (first < 0 || first == last) throw new IOException(path + ":" + lineNo + ": expected dimension,label,value");
+                try {
+                    entries.add(new RateTable.Entry(
+                            RateTable.Dimension.fromKey(line.substring(0, first)),
+                            line.substring(first + 1, last).trim(),
+                            Double.parseDouble(line.substring(last + 1).trim())));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(path + ":" + lineNo + ": " + e.getMessage());
+                }
+            }
+        }
+        return sortByDimension(entries);
+    }
+
+    // Group by dimension (enum order) while keeping each dimension's own order
+    private static List<RateTable.Entry> sortByDimension(List<RateTable.Entry> entries) {
+        List<RateTable.Entry> sorted = new ArrayList<>(entries);
+        sorted.sort((a, b) -> a.dimension.compareTo(b.dimension));
+        return sorted;
+    }
+
+    private static Path configuredFile() {
+        String configured = System.getProperty(FILE_PROPERTY);
+        if (configured != null && !configured.trim().isEmpty()) return Paths.get(configured.trim());
+        Path local = Paths.get(DEFAULT_FILE);
+        return Files.isRegularFile(local) ? local : null;
+    }
+}
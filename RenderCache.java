@@ -0,0 +1,137 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ========================================================================
+// SHARED RENDER CACHE
+// Custom panels used to re-tile background.png and allocate a GradientPaint
+// and several Fonts on every repaint (including hover repaints). This cache
+// composites texture + gradient once per (size, colors) into a compatible
+// image that Java2D can keep in video memory, so a repaint is one blit.
+// Fonts are interned by (family, style, size).
+// ========================================================================
+public final class RenderCache {
+    // Fallback fill when background.png is missing (matches the old panels)
+    public static final Color DEFAULT_BASE = new Color(34, 47, 62);
+
+    // Evict least recently used backgrounds once they exceed this many pixels (~48 MB ARGB)
+    private static final long MAX_CACHED_PIXELS = 12_000_000L;
+
+    private static final BufferedImage TEXTURE = loadTexture();
+    private static final Map<String, Font> FONTS = new ConcurrentHashMap<>();
+    private static final LinkedHashMap<BackgroundKey, Image> BACKGROUNDS = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedPixels = 0;
+
+    private RenderCache() { }
+
+    public static Font font(String family, int style, int size) {
+        return FONTS.computeIfAbsent(family + '|' + style + '|' + size, k -> new Font(family, style, size));
+    }
+
+    public static BufferedImage texture() {
+        return TEXTURE;
+    }
+
+    // Paint the cached background for this component's current size at (0, 0).
+    // base fills under the texture; start/end (nullable) add a gradient overlay.
+    public static void paintBackground(Graphics g, Component c, Color base, Color start, Color end, boolean diagonal) {
+        int w = c.getWidth(), h = c.getHeight();
+        if (w <= 0 || h <= 0) return;
+        g.drawImage(background(c.getGraphicsConfiguration(), w, h, base, start, end, diagonal), 0, 0, null);
+    }
+
+    public static Image background(GraphicsConfiguration gc, int w, int h, Color base, Color start, Color end, boolean diagonal) {
+        BackgroundKey key = new BackgroundKey(w, h, base, start, end, diagonal);
+        synchronized (BACKGROUNDS) {
+            Image cached = BACKGROUNDS.get(key);
+            if (cached != null) return cached;
+        }
+
+        Image image = render(gc, key);
+        synchronized (BACKGROUNDS) {
+            Image raced = BACKGROUNDS.get(key);
+            if (raced != null) return raced;
+            BACKGROUNDS.put(key, image);
+            cachedPixels += (long) w * h;
+            Iterator<Map.Entry<BackgroundKey, Image>> it = BACKGROUNDS.entrySet().iterator();
+            while (cachedPixels > MAX_CACHED_PIXELS && BACKGROUNDS.size() > 1 && it.hasNext()) {
+                Map.Entry<BackgroundKey, Image> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                cachedPixels -= (long) eldest.getKey().width * eldest.getKey().height;
+                eldest.getValue().flush();
+                it.remove();
+            }
+        }
+        return image;
+    }
+
+    // Drop every cached background (e.g. after a display/theme change)
+    public static void clear() {
+        synchronized (BACKGROUNDS) {
+            for (Image image : BACKGROUNDS.values()) image.flush();
+            BACKGROUNDS.clear();
+            cachedPixels = 0;
+        }
+    }
+
+    private static Image render(GraphicsConfiguration gc, BackgroundKey key) {
+        BufferedImage image = gc != null
+                ? gc.createCompatibleImage(key.width, key.height, Transparency.TRANSLUCENT)
+                : new BufferedImage(key.width, key.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        try {
+            if (key.base != null) {
+                g2.setColor(key.base);
+                g2.fillRect(0, 0, key.width, key.height);
+            }
+            if (TEXTURE != null) {
+                int tw = TEXTURE.getWidth(), th = TEXTURE.getHeight();
+                for (int y = 0; y < key.height; y += th)
+                    for (int x = 0; x < key.width; x += tw)
+                        g2.drawImage(TEXTURE, x, y, null);
+            }
+            if (key.start != null && key.end != null) {
+                g2.setPaint(key.diagonal
+                        ? new GradientPaint(0, 0, key.start, key.width, key.height, key.end)
+                        : new GradientPaint(0, 0, key.start, 0, key.height, key.end));
+                g2.fillRect(0, 0, key.width, key.height);
+            }
+        } finally {
+            g2.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage loadTexture() {
+        try { return ImageIO.read(RenderCache.class.getResource("/background.png")); }
+        catch (Exception e) { System.err.println("BG image not found."); return null; }
+    }
+
+    private static final class BackgroundKey {
+        final int width, height;
+        final Color base, start, end;
+        final boolean diagonal;
+
+        BackgroundKey(int width, int height, Color base, Color start, Color end, boolean diagonal) {
+            this.width = width; this.height = height;
+            this.base = base; this.start = start; this.end = end;
+            this.diagonal = diagonal;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (!(o instanceof BackgroundKey)) return false;
+            BackgroundKey k = (BackgroundKey) o;
+            return width == k.width && height == k.height && diagonal == k.diagonal
+                    && Objects.equals(base, k.base) && Objects.equals(start, k.start) && Objects.equals(end, k.end);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(width, height, base, start, end, diagonal);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// ========================================================================
+// DEBOUNCED SEARCH EXECUTOR
+// Keystrokes are collapsed by a single-shot Swing timer; when it fires the
+// latest query runs on a background worker. An older search still in flight
+// is cancelled (interrupted), and only the newest query's results reach the
+// publisher. Must be driven from the event dispatch thread.
+// ========================================================================
+public class SearchExecutor<Q, R> {
+    public static final int DEFAULT_DELAY_MS = 200;
+
+    private final Function<Q, R> search;
+    private final Consumer<R> publisher;
+    private final Timer debounceTimer;
+
+    private Q pendingQuery;
+    private SwingWorker<R, Void> running;
+    private long generation = 0;
+    private boolean shutdown = false;
+
+    public SearchExecutor(Function<Q, R> search, Consumer<R> publisher) {
+        this(search, publisher, DEFAULT_DELAY_MS);
+    }
+
+    public SearchExecutor(Function<Q, R> search, Consumer<R> publisher, int delayMillis) {
+        this.search = search;
+        this.publisher = publisher;
+        this.debounceTimer = new Timer(delayMillis, e -> runPending());
+        this.debounceTimer.setRepeats(false);
+    }
+
+    // Queue a query; it only runs once input has been quiet for the debounce delay
+    public void submit(Q query) {
+        checkEdt();
+        if (shutdown) return;
+        pendingQuery = query;
+        debounceTimer.restart();
+    }
+
+    // Run a query right away (e.g. sort change, initial fill), skipping the debounce
+    public void submitNow(Q query) {
+        checkEdt();
+        if (shutdown) return;
+        debounceTimer.stop();
+        pendingQuery = query;
+        runPending();
+    }
+
+    // Stop the timer and cancel whatever is still running; later submits are ignored
+    public void shutdown() {
+        checkEdt();
+        shutdown = true;
+        debounceTimer.stop();
+        pendingQuery = null;
+        cancelRunning();
+    }
+
+    private void runPending() {
+        Q query = pendingQuery;
+        pendingQuery = null;
+        if (query == null || shutdown) return;
+
+        cancelRunning();
+        final long myGeneration = ++generation;
+
+        SwingWorker<R, Void> worker = new SwingWorker<R, Void>() {
+            @Override
+            protected R doInBackground() {
+                return search.apply(query);
+            }
+
+            @Override
+            protected void done() {
+                // Stale or cancelled: a newer query owns the UI now
+                if (isCancelled() || myGeneration != generation || shutdown) return;
+                try {
+                    publisher.accept(get());
+                } catch (CancellationException | InterruptedException ignored) {
+                    // Superseded while finishing
+                } catch (Exception e) {
+                    System.err.println("❌ Search failed: " + e.getMessage());
+                }
+            }
+        };
+        running = worker;
+        worker.execute();
+    }
+
+    private void cancelRunning() {
+        if (running != null && !running.isDone()) {
+            running.cancel(true);
+        }
+        running = null;
+    }
+
+    private static void checkEdt() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            throw new IllegalStateException("SearchExecutor must be used from the event dispatch thread");
+        }
+    }
+}
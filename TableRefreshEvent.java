@@ -0,0 +1,45 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+// ========================================================================
+// TABLE REFRESH EVENT (JFR)
+// A Swing table being cleared and refilled, including any database reads
+// done for it. Usage:
+//   TableRefreshEvent event = new TableRefreshEvent();
+//   event.begin();
+//   ... rebuild ...
+//   event.finish("bids", "bid", rows, projectId);
+// ========================================================================
+@Name("freelance.TableRefresh")
+@Label("Table Refresh")
+@Category({"Freelance Platform", "UI"})
+@Description("Swing table model rebuilt from data")
+public class TableRefreshEvent extends Event {
+    @Label("Table")
+    public String table;
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Project ID")
+    @Description("Project the table is filtered to, empty for all projects")
+    public String projectId;
+
+    @Label("Row Count")
+    public int rowCount;
+
+    // Stop the clock and commit when a recording wants this event
+    public void finish(String table, String entityType, int rowCount, String projectId) {
+        end();
+        if (shouldCommit()) {
+            this.table = table;
+            this.entityType = entityType;
+            this.rowCount = rowCount;
+            this.projectId = projectId;
+            commit();
+        }
+    }
+}
@@ -14,6 +14,7 @@ public class UserManager {
     
     // --- DATABASE INTEGRATION ---
     private DatabaseManager dbManager;
+    private UserService userService;
 
     // --- Modern UI Color Palette ---
     private final Color bgColor = new Color(45, 52, 54);
@@ -27,6 +28,7 @@ public class UserManager {
 
     public UserManager() {
         dbManager = new DatabaseManager();
+        userService = new UserService(dbManager);
         
         try {
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
@@ -43,6 +45,7 @@ public class UserManager {
 
     public UserManager(DatabaseManager db) {
         this.dbManager = db;
+        this.userService = new UserService(db);
         try { for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels())
             if ("Nimbus".equals(info.getName())) { UIManager.setLookAndFeel(info.getClassName()); break; }
         } catch (Exception ignored) {}
@@ -67,11 +70,14 @@ public class UserManager {
     }
     
     private void refreshUserTable() {
+        TableRefreshEvent event = new TableRefreshEvent();
+        event.begin();
         tableModel.setRowCount(0);
-        List<String[]> users = dbManager.getAllUsers();
+        List<String[]> users = userService.listUsers();
         for (String[] user : users) {
             tableModel.addRow(user);
         }
+        event.finish("users", "user", users.size(), "");
     }
 
     private void addUser() {
@@ -83,21 +89,18 @@ public class UserManager {
             JOptionPane.showMessageDialog(window, "Please fill all required fields!", "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        if (!email.matches("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$")) {
-            JOptionPane.showMessageDialog(window, "Please enter a valid email address!", "Input Error", JOptionPane.WARNING_MESSAGE);
+
+        boolean added;
+        try {
+            added = userService.registerUser(name, email, (String) typeCombo.getSelectedItem(),
+                    skillField.isEnabled() ? skill : null,
+                    levelCombo.isEnabled() ? (String) levelCombo.getSelectedItem() : null);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(window, e.getMessage(), "Input Error", JOptionPane.WARNING_MESSAGE);
             return;
         }
-
-        String[] userData = new String[] {
-            null, // ID is handled by the database
-            name, email,
-            (String) typeCombo.getSelectedItem(),
-            skillField.isEnabled() ? skill : "N/A",
-            levelCombo.isEnabled() ? (String) levelCombo.getSelectedItem() : "N/A",
-            "Pending"
-        };
         
-        if (dbManager.addUser(userData)) {
+        if (added) {
             refreshUserTable();
             clearFields();
             JOptionPane.showMessageDialog(window, "User registered successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
@@ -113,7 +116,7 @@ public class UserManager {
         int userId = Integer.parseInt((String) tableModel.getValueAt(selectedRow, 0));
         String userName = (String) tableModel.getValueAt(selectedRow, 1);
         
-        dbManager.updateUserStatus(userId);
+        userService.verifyUser(userId);
         refreshUserTable();
         
         JOptionPane.showMessageDialog(window, "User '" + userName + "' has been verified!", "Verification Complete", JOptionPane.INFORMATION_MESSAGE);
@@ -129,7 +132,7 @@ public class UserManager {
         int choice = JOptionPane.showConfirmDialog(window, "Are you sure you want to permanently remove user '" + userName + "'?", "Confirm Deletion", JOptionPane.YES_NO_OPTION);
 
         if (choice == JOptionPane.YES_OPTION) {
-            dbManager.deleteUser(userId);
+            userService.removeUser(userId);
             refreshUserTable();
             JOptionPane.showMessageDialog(window, "User '" + userName + "' has been removed.", "Success", JOptionPane.INFORMATION_MESSAGE);
         }
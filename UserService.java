@@ -0,0 +1,47 @@
+import java.util.List;
+import java.util.regex.Pattern;
+
+// ========================================================================
+// USER SERVICE
+// Headless user registration, verification and removal over
+// DatabaseManager, with the validation UserManager used to do inline.
+// Bad input throws IllegalArgumentException; database failures return
+// false. Users are {id, name, email, type, skill, level, status} rows as
+// returned by DatabaseManager.getAllUsers().
+// ========================================================================
+public class UserService {
+    private static final Pattern EMAIL = Pattern.compile("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+
+    private final DatabaseManager db;
+
+    public UserService(DatabaseManager db) {
+        this.db = db;
+    }
+
+    // New users start as Pending; skill and level may be null for clients (stored as N/A)
+    public boolean registerUser(String name, String email, String type, String skill, String level) {
+        ProjectService.requireText(name, "Name");
+        ProjectService.requireText(email, "Email");
+        ProjectService.requireText(type, "User type");
+        if (!EMAIL.matcher(email.trim()).matches()) throw new IllegalArgumentException("Please enter a valid email address!");
+        return db.addUser(new String[]{
+            null, // ID is handled by the database
+            name.trim(), email.trim(), type,
+            skill == null || skill.trim().isEmpty() ? "N/A" : skill.trim(),
+            level == null ? "N/A" : level,
+            "Pending"
+        });
+    }
+
+    public void verifyUser(int userId) {
+        db.updateUserStatus(userId);
+    }
+
+    public void removeUser(int userId) {
+        db.deleteUser(userId);
+    }
+
+    public List<String[]> listUsers() {
+        return db.getAllUsers();
+    }
+}
@@ -0,0 +1,57 @@
+// ========================================================================
+// WAGE BREAKDOWN FORMATTER
+// Renders the calculator's "CALCULATION DETAILS" text without
+// String.format or DecimalFormat: labels are padded by hand and numbers go
+// through MoneyFormat straight into a StringBuilder that is reused per
+// thread, so the only allocation per render is the final String.
+// The layout and digits are identical to the old String.format("%-25s: %s%n")
+// version (hours and multipliers round like %.1f / %.2f).
+// ========================================================================
+public final class WageBreakdownFormatter implements QuoteCache.BreakdownRenderer {
+    private static final int LABEL_WIDTH = 25;
+    private static final String NL = System.lineSeparator();
+    private static final String DOUBLE_RULE = "=========================================\n";
+    private static final String SINGLE_RULE = "-----------------------------------------\n";
+
+    private final MoneyFormat money;
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    public WageBreakdownFormatter(MoneyFormat money) {
+        this.money = money;
+    }
+
+    @Override
+    public String render(QuoteCache.Entry quote) {
+        StringBuilder sb = buffers.get();
+        sb.setLength(0);
+        return appendTo(sb, quote).toString();
+    }
+
+    // Append the breakdown to any builder (e.g. a report being assembled by the caller)
+    public StringBuilder appendTo(StringBuilder sb, QuoteCache.Entry q) {
+        RateTable table = q.table;
+        sb.append("CALCULATION DETAILS\n").append(DOUBLE_RULE);
+        money.append(label(sb, "Base Skill Rate"), table.factor(RateTable.Dimension.SKILL, q.skill)).append("/hr").append(NL);
+        sb.append(SINGLE_RULE);
+        multiplier(sb, "Experience Multiplier", table.factor(RateTable.Dimension.EXPERIENCE, q.experience));
+        multiplier(sb, "Complexity Multiplier", table.factor(RateTable.Dimension.COMPLEXITY, q.complexity));
+        multiplier(sb, "Location Multiplier", table.factor(RateTable.Dimension.LOCATION, q.location));
+        sb.append(SINGLE_RULE);
+        money.append(label(sb, "FINAL HOURLY RATE"), q.hourlyRate).append("/hr").append(NL);
+        MoneyFormat.appendFixed(label(sb, "x Estimated Hours"), q.hours, 1).append(NL);
+        sb.append(DOUBLE_RULE);
+        money.append(label(sb, "TOTAL PROJECT COST"), q.total).append(NL);
+        return sb;
+    }
+
+    private static void multiplier(StringBuilder sb, String name, double value) {
+        MoneyFormat.appendFixed(label(sb, name).append("x "), value, 2).append(NL);
+    }
+
+    // "%-25s: "
+    private static StringBuilder label(StringBuilder sb, String name) {
+        sb.append(name);
+        for (int i = name.length(); i < LABEL_WIDTH; i++) sb.append(' ');
+        return sb.append(": ");
+    }
+}
@@ -1,25 +1,26 @@
 import javax.swing.*;
 import java.awt.*;
-import java.text.DecimalFormat;
-import com.itextpdf.text.Document;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.BaseColor;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
-import com.itextpdf.text.Document;
-import com.itextpdf.text.Paragraph;
-import com.itextpdf.text.BaseColor;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
-import com.itextpdf.text.pdf.*;
 
 public class WageCalculator {
     private JFrame window;
     private JComboBox<String> skillCombo, experienceCombo, complexityCombo, locationCombo;
     private JTextField hoursField;
-    private JLabel finalRateLabel, totalLabel;
+    private JLabel finalRateLabel, totalLabel, marketBandLabel;
     private JTextArea breakdownArea;
-    private final DecimalFormat currency = new DecimalFormat("$#,##0.00");
+    private final MoneyFormat currency = MoneyFormat.DOLLARS;
+
+    // Pricing rules come from the hot-reloadable rate table; combo indices are its ordinals
+    private final RateTableLoader rateLoader;
+    // Percentile bands of historical bids, refreshed in the background
+    private final MarketRateAnalytics marketRates;
+    private RateTable rateTable;            // EDT-confined snapshot matching the combo contents
+    private boolean updatingRates = false;
+    // Memoized rate/total/breakdown per input tuple
+    private final QuoteCache quoteCache = new QuoteCache(QuoteCache.DEFAULT_CAPACITY, new WageBreakdownFormatter(currency));
+    private final QuotePdfService pdfService = new QuotePdfService();
+    private PdfJobQueue pdfJobs;
+    private JProgressBar pdfProgress;
+    private JButton cancelPdfBtn;
 
     // --- Modern UI Color Palette (Consistent with other modules) ---
     private final Color bgColor = new Color(45, 52, 54);
@@ -31,6 +32,13 @@ public class WageCalculator {
     private final Color warningColor = new Color(230, 126, 34);
 
     public WageCalculator() {
+        this(new DatabaseManager());
+    }
+
+    public WageCalculator(DatabaseManager dbManager) {
+        rateLoader = new RateTableLoader(dbManager);
+        rateTable = rateLoader.current();
+        marketRates = new MarketRateAnalytics(dbManager);
         // Apply the Nimbus Look and Feel for a modern appearance
         try {
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
@@ -43,10 +51,22 @@ public class WageCalculator {
             // Fallback to default
         }
         setupWindow();
+        rateLoader.addListener(table -> SwingUtilities.invokeLater(() -> applyRateTable(table)));
+        marketRates.addListener(analytics -> SwingUtilities.invokeLater(this::updateMarketBand));
     }
 
     private void setupWindow() {
         window = new JFrame("Fair Wage Calculator");
+        window.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        // The rate poller, the market refresher and its change-bus subscription only run while
+        // the window is open; showWindow() starts them again
+        window.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                rateLoader.stop();
+                marketRates.stop();
+            }
+        });
         window.setSize(800, 700);
         window.setLocationRelativeTo(null);
         window.setLayout(new BorderLayout());
@@ -95,16 +115,14 @@ public class WageCalculator {
         gbc.fill = GridBagConstraints.HORIZONTAL;
 
         // Components
-        skillCombo = createStyledComboBox(new String[]{"Web Development", "Mobile App Development", "Data Science", "AI/Machine Learning", "UI/UX Design", "Content Writing"});
-        experienceCombo = createStyledComboBox(new String[]{"Entry Level (0-2 years)", "Junior (2-4 years)", "Mid-Level (4-7 years)", "Senior (7-10 years)", "Expert (10+ years)"});
-        complexityCombo = createStyledComboBox(new String[]{"Simple", "Moderate", "Complex", "Highly Complex", "Expert Level"});
-        locationCombo = createStyledComboBox(new String[]{"Tier 3 City", "Tier 2 City", "Tier 1 City", "Metro City", "International"});
+        skillCombo = createStyledComboBox(rateTable.labels(RateTable.Dimension.SKILL));
+        experienceCombo = createStyledComboBox(rateTable.labels(RateTable.Dimension.EXPERIENCE));
+        complexityCombo = createStyledComboBox(rateTable.labels(RateTable.Dimension.COMPLEXITY));
+        locationCombo = createStyledComboBox(rateTable.labels(RateTable.Dimension.LOCATION));
         hoursField = createStyledTextField("40", 10);
         
         // Set defaults
-        experienceCombo.setSelectedIndex(1);
-        complexityCombo.setSelectedIndex(1);
-        locationCombo.setSelectedIndex(2);
+        selectDefaults();
 
         // Add action listeners to all input components
         java.awt.event.ActionListener listener = e -> calculateWage();
@@ -167,6 +185,12 @@ public class WageCalculator {
         resultsPanel.add(Box.createRigidArea(new Dimension(0, 20)));
         resultsPanel.add(totalCard);
 
+        // Market band for the selected skill, from historical bids
+        marketBandLabel = createStyledLabel("No market data yet");
+        marketBandLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        resultsPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        resultsPanel.add(marketBandLabel);
+
         return resultsPanel;
     }
     
@@ -190,182 +214,286 @@ public class WageCalculator {
 
         JButton quoteBtn = createStyledButton("📄 Generate Quote", accentColor);
         JButton resetBtn = createStyledButton("🔄 Reset", warningColor);
+        JButton simulateBtn = createStyledButton("🎲 Cost Range", successColor);
+        cancelPdfBtn = createStyledButton("✖ Cancel PDFs", inputBgColor);
+        cancelPdfBtn.setEnabled(false);
+
+        // Quote PDFs render in the background; the bar shows the running job and the queue length
+        pdfProgress = new JProgressBar(0, 100);
+        pdfProgress.setStringPainted(true);
+        pdfProgress.setString("No PDFs queued");
+        pdfProgress.setPreferredSize(new Dimension(220, 24));
+        pdfProgress.setFont(new java.awt.Font("Segoe UI", java.awt.Font.PLAIN, 12));
+        pdfJobs = new PdfJobQueue(new PdfJobQueue.Listener() {
+            @Override
+            public void queueChanged(PdfJobQueue.Job running, int pending) {
+                updatePdfProgress(running, pending);
+            }
+
+            @Override
+            public void jobFinished(PdfJobQueue.Job job, java.nio.file.Path file, Exception error) {
+                pdfJobFinished(job, file, error);
+            }
+        });
 
         quoteBtn.addActionListener(e -> generateQuote());
         resetBtn.addActionListener(e -> resetFields());
+        simulateBtn.addActionListener(e -> simulateCostRange());
+        cancelPdfBtn.addActionListener(e -> pdfJobs.cancelAll());
 
         buttonPanel.add(quoteBtn);
+        buttonPanel.add(simulateBtn);
         buttonPanel.add(resetBtn);
+        buttonPanel.add(pdfProgress);
+        buttonPanel.add(cancelPdfBtn);
         return buttonPanel;
     }
 
     private void calculateWage() {
+        if (updatingRates) return;
         try {
-            double baseRate = getSkillRate((String) skillCombo.getSelectedItem());
-            double expMultiplier = getExperienceMultiplier((String) experienceCombo.getSelectedItem());
-            double compMultiplier = getComplexityMultiplier((String) complexityCombo.getSelectedItem());
-            double locMultiplier = getLocationMultiplier((String) locationCombo.getSelectedItem());
-            double finalRate = baseRate * expMultiplier * compMultiplier * locMultiplier;
-
-            double hours = 0;
-            try {
-                hours = Double.parseDouble(hoursField.getText().trim());
-            } catch (NumberFormatException ignored) {
-                 hours = 0; // Default to 0 if input is invalid
-            }
-            double total = finalRate * hours;
+            QuoteCache.Entry quote = lookupQuote();
+            if (quote == null) return;
 
             // Update result labels
-            finalRateLabel.setText(currency.format(finalRate));
-            totalLabel.setText(currency.format(total));
-
-            // Update breakdown text area
-            String f = "%-25s: %s%n";
-            StringBuilder breakdown = new StringBuilder();
-            breakdown.append("CALCULATION DETAILS\n");
-            breakdown.append("=========================================\n");
-            breakdown.append(String.format(f, "Base Skill Rate", currency.format(baseRate) + "/hr"));
-            breakdown.append("-----------------------------------------\n");
-            breakdown.append(String.format(f, "Experience Multiplier", String.format("x %.2f", expMultiplier)));
-            breakdown.append(String.format(f, "Complexity Multiplier", String.format("x %.2f", compMultiplier)));
-            breakdown.append(String.format(f, "Location Multiplier", String.format("x %.2f", locMultiplier)));
-            breakdown.append("-----------------------------------------\n");
-            breakdown.append(String.format(f, "FINAL HOURLY RATE", currency.format(finalRate) + "/hr"));
-            breakdown.append(String.format(f, "x Estimated Hours", String.format("%.1f", hours)));
-            breakdown.append("=========================================\n");
-            breakdown.append(String.format(f, "TOTAL PROJECT COST", currency.format(total)));
-            
-            breakdownArea.setText(breakdown.toString());
+            finalRateLabel.setText(currency.format(quote.hourlyRate));
+            totalLabel.setText(currency.format(quote.total));
+
+            // Update breakdown text area (rendered once per distinct input, then cached)
+            String breakdown = quote.breakdown();
+            if (!breakdown.equals(breakdownArea.getText())) breakdownArea.setText(breakdown);
+            breakdownArea.setToolTipText(quoteCache.stats());
+            updateMarketBand();
 
         } catch (Exception e) {
             breakdownArea.setText("Error in calculation: \n" + e.getMessage());
         }
     }
-    
-    private double getSkillRate(String skill) {
-        switch (skill) {
-            case "Web Development": return 25.0;
-            case "Mobile App Development": return 30.0;
-            case "Data Science": return 35.0;
-            case "AI/Machine Learning": return 40.0;
-            case "UI/UX Design": return 28.0;
-            case "Content Writing": return 20.0;
-            default: return 25.0;
+
+    // Current inputs priced through the memo cache; null while a combo has no selection
+    private QuoteCache.Entry lookupQuote() {
+        int skill = skillCombo.getSelectedIndex();
+        int experience = experienceCombo.getSelectedIndex();
+        int complexity = complexityCombo.getSelectedIndex();
+        int location = locationCombo.getSelectedIndex();
+        if (skill < 0 || experience < 0 || complexity < 0 || location < 0) return null;
+
+        double hours = 0;
+        try {
+            hours = Double.parseDouble(hoursField.getText().trim());
+        } catch (NumberFormatException ignored) {
+             hours = 0; // Default to 0 if input is invalid
         }
+        return quoteCache.get(rateTable, skill, experience, complexity, location, hours);
     }
 
-    private double getExperienceMultiplier(String experience) {
-        switch (experience) {
-            case "Entry Level (0-2 years)": return 0.8;
-            case "Junior (2-4 years)": return 1.0;
-            case "Mid-Level (4-7 years)": return 1.3;
-            case "Senior (7-10 years)": return 1.6;
-            case "Expert (10+ years)": return 2.0;
-            default: return 1.0;
+    // Show the interquartile range of bids in the selected skill's category (snapshot lookup, no DB access)
+    private void updateMarketBand() {
+        if (marketBandLabel == null) return;
+        MarketRateAnalytics.Band band = marketRates.bandForSkill((String) skillCombo.getSelectedItem());
+        if (band == null) {
+            marketBandLabel.setText("No market data yet");
+            marketBandLabel.setToolTipText(null);
+            return;
         }
+        StringBuilder sb = new StringBuilder(64).append("Market: ");
+        currency.append(sb, band.p25).append(" – ");
+        currency.append(sb, band.p75).append("/hr (median ");
+        currency.append(sb, band.p50).append(", ").append(band.count).append(band.count == 1 ? " bid)" : " bids)");
+        marketBandLabel.setText(sb.toString());
+        marketBandLabel.setToolTipText("90th percentile: " + currency.format(band.p90) + "/hr (bid amount / (days × 8h))");
     }
 
-    private double getComplexityMultiplier(String complexity) {
-        switch (complexity) {
-            case "Simple": return 0.9;
-            case "Moderate": return 1.0;
-            case "Complex": return 1.3;
-            case "Highly Complex": return 1.6;
-            case "Expert Level": return 2.0;
-            default: return 1.0;
+    // Swap in a reloaded rate table, keeping the user's selections where the labels still exist
+    private void applyRateTable(RateTable table) {
+        String skill = (String) skillCombo.getSelectedItem();
+        String experience = (String) experienceCombo.getSelectedItem();
+        String complexity = (String) complexityCombo.getSelectedItem();
+        String location = (String) locationCombo.getSelectedItem();
+
+        updatingRates = true;
+        try {
+            rateTable = table;
+            reloadCombo(skillCombo, RateTable.Dimension.SKILL, skill);
+            reloadCombo(experienceCombo, RateTable.Dimension.EXPERIENCE, experience);
+            reloadCombo(complexityCombo, RateTable.Dimension.COMPLEXITY, complexity);
+            reloadCombo(locationCombo, RateTable.Dimension.LOCATION, location);
+        } finally {
+            updatingRates = false;
         }
+        calculateWage();
     }
 
-    private double getLocationMultiplier(String location) {
-        switch (location) {
-            case "Tier 3 City": return 0.7;
-            case "Tier 2 City": return 0.85;
-            case "Tier 1 City": return 1.0;
-            case "Metro City": return 1.2;
-            case "International": return 1.5;
-            default: return 1.0;
-        }
+    private void reloadCombo(JComboBox<String> combo, RateTable.Dimension dimension, String previous) {
+        combo.setModel(new DefaultComboBoxModel<>(rateTable.labels(dimension)));
+        int ordinal = rateTable.ordinal(dimension, previous);
+        combo.setSelectedIndex(ordinal >= 0 ? ordinal : rateTable.defaultOrdinal(dimension));
+    }
+
+    private void selectDefaults() {
+        skillCombo.setSelectedIndex(rateTable.defaultOrdinal(RateTable.Dimension.SKILL));
+        experienceCombo.setSelectedIndex(rateTable.defaultOrdinal(RateTable.Dimension.EXPERIENCE));
+        complexityCombo.setSelectedIndex(rateTable.defaultOrdinal(RateTable.Dimension.COMPLEXITY));
+        locationCombo.setSelectedIndex(rateTable.defaultOrdinal(RateTable.Dimension.LOCATION));
     }
     
     private void generateQuote() {
-        try {
-            // Extract details
-            String skill = (String) skillCombo.getSelectedItem();
-            String experience = (String) experienceCombo.getSelectedItem();
-            String complexity = (String) complexityCombo.getSelectedItem();
-            String location = (String) locationCombo.getSelectedItem();
-            String hours = hoursField.getText();
-            String hourlyRate = finalRateLabel.getText();
-            String totalCost = totalLabel.getText();
-
-            // Create PDF using iText
-            com.itextpdf.text.Document document = new com.itextpdf.text.Document();
-            String filename = "Project_Quote_" + System.currentTimeMillis() + ".pdf";
-            com.itextpdf.text.pdf.PdfWriter.getInstance(document, new java.io.FileOutputStream(filename));
-            document.open();
-
-            com.itextpdf.text.Font titleFont = new com.itextpdf.text.Font(
-                    com.itextpdf.text.Font.FontFamily.HELVETICA, 20, com.itextpdf.text.Font.BOLD, com.itextpdf.text.BaseColor.BLUE);
-            com.itextpdf.text.Font labelFont = new com.itextpdf.text.Font(
-                    com.itextpdf.text.Font.FontFamily.HELVETICA, 12, com.itextpdf.text.Font.BOLD);
-            com.itextpdf.text.Font normalFont = new com.itextpdf.text.Font(
-                    com.itextpdf.text.Font.FontFamily.HELVETICA, 12, com.itextpdf.text.Font.NORMAL);
-
-            // Header
-            document.add(new com.itextpdf.text.Paragraph("FREELANCE FAIR-WAGE PLATFORM", titleFont));
-            document.add(new com.itextpdf.text.Paragraph("Official Project Quotation\n\n", normalFont));
-
-            // Table
-            com.itextpdf.text.pdf.PdfPTable table = new com.itextpdf.text.pdf.PdfPTable(2);
-            table.setWidthPercentage(100);
-            table.addCell(new com.itextpdf.text.Phrase("Skill", labelFont));
-            table.addCell(new com.itextpdf.text.Phrase(skill, normalFont));
-            table.addCell(new com.itextpdf.text.Phrase("Experience", labelFont));
-            table.addCell(new com.itextpdf.text.Phrase(experience, normalFont));
-            table.addCell(new com.itextpdf.text.Phrase("Complexity", labelFont));
-            table.addCell(new com.itextpdf.text.Phrase(complexity, normalFont));
-            table.addCell(new com.itextpdf.text.Phrase("Location Tier", labelFont));
-            table.addCell(new com.itextpdf.text.Phrase(location, normalFont));
-            table.addCell(new com.itextpdf.text.Phrase("Estimated Hours", labelFont));
-            table.addCell(new com.itextpdf.text.Phrase(hours, normalFont));
-            table.addCell(new com.itextpdf.text.Phrase("Fair Hourly Rate", labelFont));
-            table.addCell(new com.itextpdf.text.Phrase(hourlyRate + "/hr", normalFont));
-            table.addCell(new com.itextpdf.text.Phrase("Total Project Cost", labelFont));
-            table.addCell(new com.itextpdf.text.Phrase(totalCost, normalFont));
-
-            document.add(table);
-
-            // Footer
-            document.add(new com.itextpdf.text.Paragraph("\nGenerated on: " + new java.util.Date(), normalFont));
-            document.add(new com.itextpdf.text.Paragraph("Thank you for using the Fair Wage Calculator!", normalFont));
-
-            document.close();
-
-            // Auto-open PDF (cross-platform)
-            java.awt.Desktop.getDesktop().open(new java.io.File(filename));
+        Quote quote = currentQuote();
+        if (quote == null) return;
+        // Queued behind any PDFs still rendering; the calculator stays usable meanwhile
+        pdfJobs.submit(quote.skill + " quote", progress -> pdfService.render(quote, progress));
+    }
 
-            JOptionPane.showMessageDialog(window,
-                    "Quotation PDF generated and opened successfully!\nSaved as: " + filename,
-                    "Success", JOptionPane.INFORMATION_MESSAGE);
+    private void updatePdfProgress(PdfJobQueue.Job running, int pending) {
+        cancelPdfBtn.setEnabled(pending > 0);
+        if (pending == 0) return; // keep the last result message
+        int queued = running == null ? pending : pending - 1;
+        String status = running == null ? "Waiting..." : "Rendering " + running.getLabel() + "... " + running.getProgress() + "%";
+        pdfProgress.setValue(running == null ? 0 : running.getProgress());
+        pdfProgress.setString(queued > 0 ? status + " (+" + queued + " queued)" : status);
+    }
 
-        } catch (Exception e) {
+    private void pdfJobFinished(PdfJobQueue.Job job, java.nio.file.Path file, Exception error) {
+        if (file != null) {
+            pdfProgress.setValue(100);
+            pdfProgress.setString("Saved " + file.getFileName());
+            try {
+                pdfService.open(file);
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(window,
+                        "Quotation saved as " + file.getFileName() + " but could not be opened: " + e.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        } else if (error != null) {
+            pdfProgress.setValue(0);
+            pdfProgress.setString("PDF failed");
             JOptionPane.showMessageDialog(window,
-                    "Error generating or opening PDF: " + e.getMessage(),
+                    "Error generating PDF: " + error.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
+        } else {
+            pdfProgress.setValue(0);
+            pdfProgress.setString("Cancelled " + job.getLabel());
         }
     }
 
+    // Monte Carlo cost band: hours as min/likely/max, complexity spread around the selected level
+    private void simulateCostRange() {
+        QuoteCache.Entry quote = lookupQuote();
+        if (quote == null) return;
+        double likely = quote.hours > 0 ? quote.hours : 40;
+        JTextField minField = createStyledTextField(String.valueOf(Math.round(likely * 0.75)), 6);
+        JTextField likelyField = createStyledTextField(String.valueOf(Math.round(likely)), 6);
+        JTextField maxField = createStyledTextField(String.valueOf(Math.round(likely * 1.5)), 6);
+        JComboBox<String> spreadCombo = new JComboBox<>(new String[]{"Fixed (selected level)", "Some (±1 level)", "High (±2 levels)"});
+        spreadCombo.setSelectedIndex(1);
+        JPanel form = new JPanel(new GridLayout(0, 2, 8, 8));
+        form.add(new JLabel("Minimum hours:")); form.add(minField);
+        form.add(new JLabel("Most likely hours:")); form.add(likelyField);
+        form.add(new JLabel("Maximum hours:")); form.add(maxField);
+        form.add(new JLabel("Complexity uncertainty:")); form.add(spreadCombo);
+        if (JOptionPane.showConfirmDialog(window, form, "Simulate Cost Range", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION) return;
+
+        double minHours, likelyHours, maxHours;
+        try {
+            minHours = Double.parseDouble(minField.getText().trim());
+            likelyHours = Double.parseDouble(likelyField.getText().trim());
+            maxHours = Double.parseDouble(maxField.getText().trim());
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(window, "Please enter numeric hours.", "Invalid Input", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (!(minHours >= 0 && minHours <= likelyHours && likelyHours <= maxHours)) {
+            JOptionPane.showMessageDialog(window, "Hours must satisfy 0 <= min <= likely <= max.", "Invalid Input", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        // Triangular weights around the selected complexity level
+        int spread = spreadCombo.getSelectedIndex();
+        double[] weights = new double[quote.table.size(RateTable.Dimension.COMPLEXITY)];
+        for (int c = 0; c < weights.length; c++) {
+            int distance = Math.abs(c - quote.complexity);
+            weights[c] = distance <= spread ? spread + 1 - distance : 0;
+        }
+
+        CostSimulator simulator = new CostSimulator(quote.table);
+        new SwingWorker<CostSimulator.Result, Void>() {
+            @Override protected CostSimulator.Result doInBackground() {
+                return simulator.simulate(quote.skill, quote.experience, quote.location,
+                        minHours, likelyHours, maxHours, weights,
+                        CostSimulator.DEFAULT_SAMPLES, CostSimulator.DEFAULT_BINS, System.nanoTime());
+            }
+            @Override protected void done() {
+                try {
+                    showSimulationResult(get());
+                } catch (Exception ex) {
+                    JOptionPane.showMessageDialog(window, "Simulation failed: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void showSimulationResult(CostSimulator.Result r) {
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        JLabel summary = new JLabel(String.format(
+                "<html><b>P50 (median):</b> %s &nbsp; <b>P90:</b> %s<br>" +
+                "P10: %s &nbsp; Mean: %s &nbsp; Range: %s – %s<br>" +
+                "<small>%,d samples in %d ms</small></html>",
+                currency.format(r.p50), currency.format(r.p90), currency.format(r.p10), currency.format(r.mean),
+                currency.format(r.min), currency.format(r.max), r.samples, r.elapsedNanos / 1_000_000));
+        panel.add(summary, BorderLayout.NORTH);
+        panel.add(new HistogramPanel(r, accentColor, warningColor), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(window, panel, "Project Cost Range", JOptionPane.PLAIN_MESSAGE);
+    }
+
+    // Snapshot of the current inputs as a priced quote (invalid hours count as 0, like the estimate)
+    private Quote currentQuote() {
+        QuoteCache.Entry quote = lookupQuote();
+        return quote == null ? null : quote.toQuote();
+    }
+
 
     private void resetFields() {
-        skillCombo.setSelectedIndex(0);
-        experienceCombo.setSelectedIndex(1);
-        complexityCombo.setSelectedIndex(1);
-        locationCombo.setSelectedIndex(2);
+        selectDefaults();
         hoursField.setText("40");
         calculateWage();
     }
     
+    // Bar chart of simulated costs; bars at or above P90 use the warning color
+    private static class HistogramPanel extends JPanel {
+        private final CostSimulator.Result result;
+        private final Color barColor, tailColor;
+
+        HistogramPanel(CostSimulator.Result result, Color barColor, Color tailColor) {
+            this.result = result;
+            this.barColor = barColor;
+            this.tailColor = tailColor;
+            setPreferredSize(new Dimension(480, 220));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            int[] counts = result.histogram;
+            int peak = 1;
+            for (int c : counts) peak = Math.max(peak, c);
+            int w = getWidth(), h = getHeight() - 20;
+            double barWidth = (double) w / counts.length;
+            for (int i = 0; i < counts.length; i++) {
+                int barHeight = (int) Math.round((double) counts[i] / peak * (h - 5));
+                g.setColor(result.binLow(i) + result.binWidth > result.p90 ? tailColor : barColor);
+                g.fillRect((int) (i * barWidth), h - barHeight, Math.max(1, (int) barWidth - 1), barHeight);
+            }
+            g.setColor(Color.DARK_GRAY);
+            g.drawLine(0, h, w, h);
+            g.drawString(MoneyFormat.DOLLARS.format(result.min), 2, h + 15);
+            String maxText = MoneyFormat.DOLLARS.format(result.max);
+            g.drawString(maxText, w - g.getFontMetrics().stringWidth(maxText) - 2, h + 15);
+        }
+    }
+
     public void showWindow() {
+        rateLoader.start();
+        marketRates.start();
         window.setVisible(true);
     }
     
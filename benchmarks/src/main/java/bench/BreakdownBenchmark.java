@@ -0,0 +1,142 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// ========================================================================
+// BREAKDOWN BENCHMARK
+// Compares the old String.format/DecimalFormat breakdown with
+// WageBreakdownFormatter. Setup first checks both produce identical text
+// for every default rate combination over half-hour, quarter-hour and
+// random fractional hours, and that MoneyFormat.appendFixed matches
+// %.1f / %.2f on a sweep of values (including midpoints such as 2.25 and
+// 1.125); a mismatch fails the trial. Run with the gc profiler for B/op:
+//   java -jar target/benchmarks.jar Breakdown -prof gc
+// ========================================================================
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BreakdownBenchmark {
+    private static final double[] MIDPOINTS = {2.25, 0.25, 1.15, 1.125, 0.15, 0.35, 1.005, 2.675, 0.125, 1.45, 10.05};
+
+    private final DecimalFormat legacyCurrency = new DecimalFormat("$#,##0.00");
+    private Object formatter;
+    private Object[] quotes;
+    private double[][] figures;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Object table = Platform.newDefaultRateTable();
+        Object cache = Platform.newQuoteCache(1);
+        formatter = Platform.newBreakdownFormatter();
+        int[] sizes = Platform.rateTableSizes(table);
+
+        // Hours: 0..200 in half- and quarter-hour steps plus random fractions
+        List<Double> hours = new ArrayList<>();
+        for (int h = 0; h <= 800; h++) hours.add(h / 4.0);
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < 400; i++) hours.add(random.nextDouble(0, 200));
+        for (double m : MIDPOINTS) hours.add(m);
+
+        List<Object> built = new ArrayList<>();
+        for (int s = 0; s < sizes[0]; s++)
+            for (int e = 0; e < sizes[1]; e++)
+                for (int c = 0; c < sizes[2]; c++)
+                    for (int l = 0; l < sizes[3]; l++)
+                        for (double h : hours)
+                            built.add(Platform.quote(cache, table, s, e, c, l, h));
+        quotes = built.toArray();
+        figures = new double[quotes.length][];
+        for (int i = 0; i < quotes.length; i++) figures[i] = Platform.quoteFigures(quotes[i]);
+
+        for (int i = 0; i < quotes.length; i++) {
+            String expected = legacy(figures[i]), actual = Platform.render(formatter, quotes[i]);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Output differs for " + figures[i][4] + " x " + figures[i][5]
+                        + ":\n" + expected + "\n---\n" + actual);
+            }
+        }
+        checkAppendFixed(random);
+        System.out.println("✅ Identical output for " + quotes.length + " inputs");
+    }
+
+    @Benchmark
+    public String legacy() {
+        return legacy(figures[advance()]);
+    }
+
+    @Benchmark
+    public String formatter() {
+        return Platform.render(formatter, quotes[advance()]);
+    }
+
+    private int advance() {
+        int i = next;
+        next = i + 1 == quotes.length ? 0 : i + 1;
+        return i;
+    }
+
+    // The pre-MoneyFormat implementation, kept verbatim as the baseline (figures from Platform.quoteFigures)
+    private String legacy(double[] q) {
+        double baseRate = q[0];
+        double expMultiplier = q[1];
+        double compMultiplier = q[2];
+        double locMultiplier = q[3];
+
+        String f = "%-25s: %s%n";
+        StringBuilder breakdown = new StringBuilder();
+        breakdown.append("CALCULATION DETAILS\n");
+        breakdown.append("=========================================\n");
+        breakdown.append(String.format(f, "Base Skill Rate", legacyCurrency.format(baseRate) + "/hr"));
+        breakdown.append("-----------------------------------------\n");
+        breakdown.append(String.format(f, "Experience Multiplier", String.format("x %.2f", expMultiplier)));
+        breakdown.append(String.format(f, "Complexity Multiplier", String.format("x %.2f", compMultiplier)));
+        breakdown.append(String.format(f, "Location Multiplier", String.format("x %.2f", locMultiplier)));
+        breakdown.append("-----------------------------------------\n");
+        breakdown.append(String.format(f, "FINAL HOURLY RATE", legacyCurrency.format(q[4]) + "/hr"));
+        breakdown.append(String.format(f, "x Estimated Hours", String.format("%.1f", q[5])));
+        breakdown.append("=========================================\n");
+        breakdown.append(String.format(f, "TOTAL PROJECT COST", legacyCurrency.format(q[6])));
+        return breakdown.toString();
+    }
+
+    // appendFixed against %.Nf: the midpoints, every hundredth/thousandth step and random values
+    private static void checkAppendFixed(SplittableRandom random) {
+        List<Double> values = new ArrayList<>();
+        for (double m : MIDPOINTS) values.add(m);
+        for (int i = 0; i <= 100_000; i++) values.add(i / 1000.0);
+        for (int i = 0; i <= 100_000; i++) values.add(i / 100.0 + 0.005);
+        for (int i = 0; i < 100_000; i++) values.add(random.nextDouble(0, 1e6));
+        values.add(123456789.125);
+        values.add(9.999999999e12);
+        for (double v : values) {
+            for (int decimals = 0; decimals <= 3; decimals++) {
+                String expected = String.format("%." + decimals + "f", v);
+                String actual = Platform.appendFixed(new StringBuilder(), v, decimals).toString();
+                if (!expected.equals(actual)) {
+                    throw new IllegalStateException("appendFixed(" + v + ", " + decimals + ") = " + actual + ", %."
+                            + decimals + "f gives " + expected);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+
+// ========================================================================
+// BENCHMARK DATA GENERATOR
+// Fills a SQLite file (schema created by DatabaseManager) with a
+// reproducible platform history: for N bids there are N/10 projects and
+// N/50 users. Bids favour a small set of popular projects (power-law skew),
+// statuses and categories follow fixed weights, and dates are spread over
+// the last year. Rows go in through batched inserts in one transaction, so
+// 1M bids take seconds rather than the hours insertBid would need.
+//
+//   java -cp target/benchmarks.jar bench.DataGenerator <file.db> <bids> [seed]
+// ========================================================================
+public final class DataGenerator {
+    static final String[] CATEGORIES = {"Web Development", "Mobile Development", "Data Science",
+            "UI/UX Design", "Content Writing", "Digital Marketing"};
+    static final String[] DIFFICULTIES = {"Beginner", "Intermediate", "Expert"};
+    private static final String[] PROJECT_STATUSES = {"Open", "In Progress", "Completed", "Cancelled"};
+    private static final double[] PROJECT_STATUS_WEIGHTS = {0.35, 0.30, 0.30, 0.05};
+    private static final String[] BID_STATUSES = {"Pending", "Accepted", "Rejected", "Withdrawn"};
+    private static final double[] BID_STATUS_WEIGHTS = {0.55, 0.10, 0.30, 0.05};
+    private static final int BATCH = 10_000;
+
+    public final int bids;
+    public final int projects;
+    public final int users;
+    private final long seed;
+
+    public DataGenerator(int bids, long seed) {
+        if (bids < 1) throw new IllegalArgumentException("bids must be positive");
+        this.bids = bids;
+        this.projects = Math.max(10, bids / 10);
+        this.users = Math.max(10, bids / 50);
+        this.seed = seed;
+    }
+
+    public static String projectId(int i) {
+        return "PRJ" + i;
+    }
+
+    public static String bidId(int i) {
+        return "BID" + i;
+    }
+
+    // Create the schema through DatabaseManager, then bulk-load users, projects and bids
+    public void populate(String url) throws SQLException {
+        Platform.newDatabaseManager(url);
+        SplittableRandom random = new SplittableRandom(seed);
+        long now = System.currentTimeMillis() / 1000;
+        try (Connection conn = DriverManager.getConnection(url)) {
+            try (Statement st = conn.createStatement()) {
+                st.execute("PRAGMA synchronous=OFF");   // this connection only; the benchmarks use the defaults
+            }
+            conn.setAutoCommit(false);
+            insertUsers(conn, random);
+            insertProjects(conn, random, now);
+            insertBids(conn, random, now);
+            conn.commit();
+            conn.setAutoCommit(true);
+            try (Statement st = conn.createStatement()) {
+                st.execute("ANALYZE");
+            }
+        }
+    }
+
+    private void insertUsers(Connection conn, SplittableRandom random) throws SQLException {
+        String sql = "INSERT INTO users (name, email, type, skill, level, status) VALUES (?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= users; i++) {
+                boolean freelancer = random.nextInt(4) != 0;
+                ps.setString(1, (freelancer ? "Freelancer " : "Client ") + i);
+                ps.setString(2, "user" + i + "@example.com");
+                ps.setString(3, freelancer ? "Freelancer" : "Client");
+                ps.setString(4, freelancer ? CATEGORIES[random.nextInt(CATEGORIES.length)] : "N/A");
+                ps.setString(5, freelancer ? DIFFICULTIES[random.nextInt(DIFFICULTIES.length)] : "N/A");
+                ps.setString(6, random.nextInt(5) == 0 ? "Pending" : "Active");
+                ps.addBatch();
+                if (i % BATCH == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertProjects(Connection conn, SplittableRandom random, long now) throws SQLException {
+        String sql = "INSERT INTO projects (project_id, title, description, client_name, category, budget, difficulty, " +
+                "deadline_days, status, created_date, updated_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, datetime(?, 'unixepoch'), datetime(?, 'unixepoch'))";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= projects; i++) {
+                int difficulty = random.nextInt(DIFFICULTIES.length);
+                long created = now - random.nextLong(365L * 86_400);
+                ps.setString(1, projectId(i));
+                ps.setString(2, "Project " + i);
+                ps.setString(3, "Synthetic project " + i);
+                ps.setString(4, "Client " + (1 + random.nextInt(users)));
+                ps.setString(5, CATEGORIES[random.nextInt(CATEGORIES.length)]);
+                ps.setDouble(6, Math.round(200 * (1 + difficulty) * (1 + random.nextDouble() * 9)));
+                ps.setString(7, DIFFICULTIES[difficulty]);
+                ps.setInt(8, 7 + random.nextInt(84));
+                ps.setString(9, pick(random, PROJECT_STATUSES, PROJECT_STATUS_WEIGHTS));
+                ps.setLong(10, created);
+                ps.setLong(11, created);
+                ps.addBatch();
+                if (i % BATCH == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private void insertBids(Connection conn, SplittableRandom random, long now) throws SQLException {
+        String sql = "INSERT INTO bids (bid_id, project_id, freelancer_name, amount, completion_days, proposal, status, " +
+                "created_date, updated_date) VALUES (?, ?, ?, ?, ?, ?, ?, datetime(?, 'unixepoch'), datetime(?, 'unixepoch'))";
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= bids; i++) {
+                long created = now - random.nextLong(365L * 86_400);
+                ps.setString(1, bidId(i));
+                ps.setString(2, projectId(skewedProject(random)));
+                ps.setString(3, "Freelancer " + (1 + random.nextInt(users)));
+                ps.setDouble(4, Math.round(100 + random.nextDouble() * 4900));
+                ps.setInt(5, 1 + random.nextInt(60));
+                ps.setString(6, "Proposal for bid " + i);
+                ps.setString(7, pick(random, BID_STATUSES, BID_STATUS_WEIGHTS));
+                ps.setLong(8, created);
+                ps.setLong(9, created);
+                ps.addBatch();
+                if (i % BATCH == 0) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // 1-based project index; u^3 puts roughly half of all bids on the first 12% of projects
+    int skewedProject(SplittableRandom random) {
+        double u = random.nextDouble();
+        return 1 + Math.min(projects - 1, (int) (projects * u * u * u));
+    }
+
+    private static String pick(SplittableRandom random, String[] values, double[] weights) {
+        double u = random.nextDouble();
+        for (int i = 0; i < values.length - 1; i++) {
+            u -= weights[i];
+            if (u < 0) return values[i];
+        }
+        return values[values.length - 1];
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: DataGenerator <file.db> <bids> [seed]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        if (Files.exists(file)) {
+            System.err.println("❌ " + file + " already exists; choose a new file");
+            System.exit(1);
+        }
+        DataGenerator generator = new DataGenerator(Integer.parseInt(args[1]), args.length > 2 ? Long.parseLong(args[2]) : 42L);
+        long start = System.nanoTime();
+        generator.populate("jdbc:sqlite:" + file);
+        System.out.printf("✅ %d users, %d projects, %d bids written to %s in %.1fs%n",
+                generator.users, generator.projects, generator.bids, file, (System.nanoTime() - start) / 1e9);
+    }
+}
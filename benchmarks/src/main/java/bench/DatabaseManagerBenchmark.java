@@ -0,0 +1,103 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// ========================================================================
+// DATABASE MANAGER BENCHMARK
+// Throughput and sampled latency (p50/p90/p99/p99.9 from SampleTime mode)
+// for the DatabaseManager calls the UI hits most. Every fork seeds a fresh
+// temp SQLite file with DataGenerator at the chosen scale, so write
+// benchmarks never see another run's rows.
+//   -p rows=1000,100000,1000000   bids in the seeded database
+// getAllBids at 1M rows materialises the whole table and is slow by design;
+// run it with -p rows=1000,100000 for quick comparisons.
+// ========================================================================
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class DatabaseManagerBenchmark {
+    private static final String[] PROJECT_STATUSES = {"Open", "In Progress", "Completed"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"42"})
+    public long seed;
+
+    private Path file;
+    private Object db;
+    private DataGenerator generator;
+    private SplittableRandom random;
+    private long nextBid;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        file = Files.createTempFile("freelance-bench-", ".db");
+        Files.delete(file);   // DataGenerator expects to create the schema itself
+        generator = new DataGenerator(rows, seed);
+        generator.populate("jdbc:sqlite:" + file);
+        db = Platform.newDatabaseManager("jdbc:sqlite:" + file);
+        random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        nextBid = rows + 1L;
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + "-wal"));
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + "-shm"));
+    }
+
+    @Benchmark
+    public boolean insertBid() {
+        Object bid = Platform.newBid(DataGenerator.bidId((int) nextBid++),
+                DataGenerator.projectId(generator.skewedProject(random)),
+                "Bench Freelancer", 250 + random.nextInt(2000), 1 + random.nextInt(30), "Benchmark proposal");
+        return Platform.insertBid(db, bid);
+    }
+
+    @Benchmark
+    public List<?> getAllBids() {
+        return Platform.getAllBids(db);
+    }
+
+    @Benchmark
+    public List<?> getBidsByProject() {
+        return Platform.getBidsByProject(db, DataGenerator.projectId(generator.skewedProject(random)));
+    }
+
+    @Benchmark
+    public boolean updateProjectStatus() {
+        String projectId = DataGenerator.projectId(1 + random.nextInt(generator.projects));
+        return Platform.updateProjectStatus(db, projectId, PROJECT_STATUSES[random.nextInt(PROJECT_STATUSES.length)]);
+    }
+
+    // The five dashboard counters together, as Main refreshes them
+    @Benchmark
+    public void dashboardCounts(Blackhole bh) {
+        bh.consume(Platform.dashboardCounts(db));
+    }
+}
@@ -0,0 +1,112 @@
+package bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ========================================================================
+// EXECUTOR MODE BENCHMARK
+// Virtual threads against a fixed platform-thread pool for the blocking
+// JDBC work the API server and batch jobs do. One operation is a burst of
+// `tasks` concurrent bid lookups, each taking a permit from a semaphore of
+// `permits` around its query as PlatformExecutors.withDbPermit does; the
+// score is bursts per second. The pool has `threads` workers; VIRTUAL
+// starts one virtual thread per task. On a JVM without virtual threads
+// (before 21) VIRTUAL falls back to the pool, so run this on JDK 21+:
+//   java -jar target/benchmarks.jar ExecutorMode -p tasks=1024
+// ========================================================================
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ExecutorModeBenchmark {
+    @Param({"POOL", "VIRTUAL"})
+    public String mode;
+
+    @Param({"64", "1024"})
+    public int tasks;
+
+    @Param({"4", "16"})
+    public int permits;
+
+    @Param({"16"})
+    public int threads;
+
+    @Param({"10000"})
+    public int rows;
+
+    private Path file;
+    private Object db;
+    private DataGenerator generator;
+    private ExecutorService executor;
+    private Semaphore dbPermits;
+    private final AtomicInteger nextProject = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Files.createTempFile("freelance-exec-", ".db");
+        Files.delete(file);
+        generator = new DataGenerator(rows, 42L);
+        generator.populate("jdbc:sqlite:" + file);
+        db = Platform.newDatabaseManager("jdbc:sqlite:" + file);
+        executor = Platform.newExecutor("bench", mode, threads);
+        dbPermits = new Semaphore(permits, true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + "-wal"));
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + "-shm"));
+    }
+
+    @Benchmark
+    public int burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        AtomicInteger found = new AtomicInteger();
+        for (int i = 0; i < tasks; i++) {
+            SplittableRandom random = new SplittableRandom(nextProject.incrementAndGet());
+            String projectId = DataGenerator.projectId(generator.skewedProject(random));
+            executor.execute(() -> {
+                try {
+                    dbPermits.acquire();
+                    try {
+                        found.addAndGet(Platform.getBidsByProject(db, projectId).size());
+                    } finally {
+                        dbPermits.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return found.get();
+    }
+}
@@ -0,0 +1,332 @@
+package bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+// ========================================================================
+// PLATFORM BRIDGE
+// JMH refuses benchmarks in the default package, and classes in a named
+// package cannot name default-package types, so the benchmarks reach
+// DatabaseManager, BidData, PlatformExecutors and the wage breakdown types
+// through method handles resolved once here.
+// invokeExact on a static final handle is inlined by the JIT, so the bridge
+// costs nothing measurable next to a SQLite round trip.
+// ========================================================================
+final class Platform {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Class<?> DB = load("DatabaseManager");
+    private static final Class<?> BID = load("BidData");
+    private static final Class<?> EXECUTORS = load("PlatformExecutors");
+    private static final Class<?> EXECUTOR_MODE = load("PlatformExecutors$Mode");
+    private static final Class<?> RATE_TABLE = load("RateTable");
+    private static final Class<?> DIMENSION = load("RateTable$Dimension");
+    private static final Class<?> QUOTE_CACHE = load("QuoteCache");
+    private static final Class<?> QUOTE = load("QuoteCache$Entry");
+    private static final Class<?> RENDERER = load("QuoteCache$BreakdownRenderer");
+    private static final Class<?> FORMATTER = load("WageBreakdownFormatter");
+    private static final Class<?> MONEY = load("MoneyFormat");
+
+    private static final MethodHandle NEW_DB = constructor(DB, String.class);
+    private static final MethodHandle NEW_BID = constructor(BID);
+    private static final MethodHandle INSERT_BID = method(DB, "insertBid", boolean.class, BID);
+    private static final MethodHandle GET_ALL_BIDS = method(DB, "getAllBids", List.class);
+    private static final MethodHandle GET_BIDS_BY_PROJECT = method(DB, "getBidsByProject", List.class, String.class);
+    private static final MethodHandle UPDATE_PROJECT_STATUS = method(DB, "updateProjectStatus", boolean.class, String.class, String.class);
+    private static final MethodHandle TOTAL_PROJECTS = method(DB, "getTotalProjects", int.class);
+    private static final MethodHandle ACTIVE_PROJECTS = method(DB, "getActiveProjects", int.class);
+    private static final MethodHandle COMPLETED_PROJECTS = method(DB, "getCompletedProjects", int.class);
+    private static final MethodHandle TOTAL_BIDS = method(DB, "getTotalBids", int.class);
+    private static final MethodHandle PENDING_BIDS = method(DB, "getPendingBids", int.class);
+    private static final MethodHandle NEW_EXECUTOR = staticMethod(EXECUTORS, "newExecutor", ExecutorService.class,
+            String.class, EXECUTOR_MODE, int.class);
+
+    private static final MethodHandle NEW_RATE_TABLE = constructor(RATE_TABLE, List.class, long.class, String.class);
+    private static final MethodHandle DEFAULT_RATES = staticMethod(RATE_TABLE, "defaultEntries", List.class);
+    private static final MethodHandle RATE_SIZE = method(RATE_TABLE, "size", int.class, DIMENSION);
+    private static final MethodHandle RATE_FACTOR = method(RATE_TABLE, "factor", double.class, DIMENSION, int.class);
+    private static final MethodHandle NEW_QUOTE_CACHE = constructor(QUOTE_CACHE, int.class, RENDERER);
+    private static final MethodHandle QUOTE_GET = method(QUOTE_CACHE, "get", QUOTE,
+            RATE_TABLE, int.class, int.class, int.class, int.class, double.class);
+    private static final MethodHandle QUOTE_TABLE = getter(QUOTE, "table", RATE_TABLE);
+    private static final MethodHandle QUOTE_SKILL = getter(QUOTE, "skill", int.class);
+    private static final MethodHandle QUOTE_EXPERIENCE = getter(QUOTE, "experience", int.class);
+    private static final MethodHandle QUOTE_COMPLEXITY = getter(QUOTE, "complexity", int.class);
+    private static final MethodHandle QUOTE_LOCATION = getter(QUOTE, "location", int.class);
+    private static final MethodHandle QUOTE_HOURS = getter(QUOTE, "hours", double.class);
+    private static final MethodHandle QUOTE_RATE = getter(QUOTE, "hourlyRate", double.class);
+    private static final MethodHandle QUOTE_TOTAL = getter(QUOTE, "total", double.class);
+    private static final MethodHandle NEW_FORMATTER = constructor(FORMATTER, MONEY);
+    private static final MethodHandle RENDER = method(FORMATTER, "render", String.class, QUOTE);
+    private static final MethodHandle DOLLARS = staticGetter(MONEY, "DOLLARS", MONEY);
+    private static final MethodHandle APPEND_FIXED = staticMethod(MONEY, "appendFixed", StringBuilder.class,
+            StringBuilder.class, double.class, int.class);
+    private static final Object[] DIMENSIONS = DIMENSION.getEnumConstants();
+
+    private static final MethodHandle BID_ID = setter("bidId", String.class);
+    private static final MethodHandle BID_PROJECT = setter("projectId", String.class);
+    private static final MethodHandle BID_FREELANCER = setter("freelancerName", String.class);
+    private static final MethodHandle BID_AMOUNT = setter("amount", double.class);
+    private static final MethodHandle BID_DAYS = setter("completionDays", int.class);
+    private static final MethodHandle BID_PROPOSAL = setter("proposal", String.class);
+    private static final MethodHandle BID_STATUS = setter("status", String.class);
+
+    private Platform() {
+    }
+
+    static Object newDatabaseManager(String url) {
+        try {
+            return (Object) NEW_DB.invokeExact(url);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object newBid(String bidId, String projectId, String freelancer, double amount, int days, String proposal) {
+        try {
+            Object bid = (Object) NEW_BID.invokeExact();
+            BID_ID.invokeExact(bid, bidId);
+            BID_PROJECT.invokeExact(bid, projectId);
+            BID_FREELANCER.invokeExact(bid, freelancer);
+            BID_AMOUNT.invokeExact(bid, amount);
+            BID_DAYS.invokeExact(bid, days);
+            BID_PROPOSAL.invokeExact(bid, proposal);
+            BID_STATUS.invokeExact(bid, "Pending");
+            return bid;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static boolean insertBid(Object db, Object bid) {
+        try {
+            return (boolean) INSERT_BID.invokeExact(db, bid);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static List<?> getAllBids(Object db) {
+        try {
+            return (List<?>) GET_ALL_BIDS.invokeExact(db);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static List<?> getBidsByProject(Object db, String projectId) {
+        try {
+            return (List<?>) GET_BIDS_BY_PROJECT.invokeExact(db, projectId);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static boolean updateProjectStatus(Object db, String projectId, String status) {
+        try {
+            return (boolean) UPDATE_PROJECT_STATUS.invokeExact(db, projectId, status);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // The five dashboard counters, in the order Main shows them
+    static int[] dashboardCounts(Object db) {
+        try {
+            return new int[]{
+                (int) TOTAL_PROJECTS.invokeExact(db),
+                (int) ACTIVE_PROJECTS.invokeExact(db),
+                (int) COMPLETED_PROJECTS.invokeExact(db),
+                (int) TOTAL_BIDS.invokeExact(db),
+                (int) PENDING_BIDS.invokeExact(db)
+            };
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // PlatformExecutors.newExecutor with the mode given by name (VIRTUAL or POOL)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static ExecutorService newExecutor(String name, String mode, int poolThreads) {
+        try {
+            Object m = Enum.valueOf((Class) EXECUTOR_MODE, mode);
+            return (ExecutorService) NEW_EXECUTOR.invokeExact(name, m, poolThreads);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // RateTable built from the default entries, as WageCalculator starts with
+    static Object newDefaultRateTable() {
+        try {
+            return (Object) NEW_RATE_TABLE.invokeExact((List<?>) DEFAULT_RATES.invokeExact(), 1L, "benchmark");
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // Number of choices per RateTable.Dimension, in declaration order (skill, experience, complexity, location)
+    static int[] rateTableSizes(Object table) {
+        try {
+            int[] sizes = new int[DIMENSIONS.length];
+            for (int d = 0; d < sizes.length; d++) sizes[d] = (int) RATE_SIZE.invokeExact(table, DIMENSIONS[d]);
+            return sizes;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // QuoteCache without a renderer; only used to price inputs
+    static Object newQuoteCache(int capacity) {
+        try {
+            return (Object) NEW_QUOTE_CACHE.invokeExact(capacity, (Object) null);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static Object quote(Object cache, Object table, int skill, int experience, int complexity, int location, double hours) {
+        try {
+            return (Object) QUOTE_GET.invokeExact(cache, table, skill, experience, complexity, location, hours);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // {skill rate, experience, complexity, location multipliers, hourly rate, hours, total} of a QuoteCache.Entry
+    static double[] quoteFigures(Object quote) {
+        try {
+            Object table = (Object) QUOTE_TABLE.invokeExact(quote);
+            int[] ordinals = {
+                (int) QUOTE_SKILL.invokeExact(quote),
+                (int) QUOTE_EXPERIENCE.invokeExact(quote),
+                (int) QUOTE_COMPLEXITY.invokeExact(quote),
+                (int) QUOTE_LOCATION.invokeExact(quote)
+            };
+            double[] figures = new double[7];
+            for (int d = 0; d < 4; d++) figures[d] = (double) RATE_FACTOR.invokeExact(table, DIMENSIONS[d], ordinals[d]);
+            figures[4] = (double) QUOTE_RATE.invokeExact(quote);
+            figures[5] = (double) QUOTE_HOURS.invokeExact(quote);
+            figures[6] = (double) QUOTE_TOTAL.invokeExact(quote);
+            return figures;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    // WageBreakdownFormatter over MoneyFormat.DOLLARS
+    static Object newBreakdownFormatter() {
+        try {
+            return (Object) NEW_FORMATTER.invokeExact((Object) DOLLARS.invokeExact());
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static String render(Object formatter, Object quote) {
+        try {
+            return (String) RENDER.invokeExact(formatter, quote);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    static StringBuilder appendFixed(StringBuilder sb, double value, int decimals) {
+        try {
+            return (StringBuilder) APPEND_FIXED.invokeExact(sb, value, decimals);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Platform class " + name + " is not on the classpath", e);
+        }
+    }
+
+    // Handles are adapted to Object receivers/results so callers can use invokeExact
+    private static MethodHandle constructor(Class<?> type, Class<?>... params) {
+        try {
+            Constructor<?> ctor = type.getDeclaredConstructor(params);
+            ctor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class, erase(params)));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing constructor on " + type.getName(), e);
+        }
+    }
+
+    private static MethodHandle method(Class<?> owner, String name, Class<?> returns, Class<?>... params) {
+        try {
+            Method m = owner.getDeclaredMethod(name, params);
+            m.setAccessible(true);
+            return LOOKUP.unreflect(m).asType(MethodType.methodType(erase(returns), erase(params)).insertParameterTypes(0, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing method " + owner.getName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle staticMethod(Class<?> owner, String name, Class<?> returns, Class<?>... params) {
+        try {
+            Method m = owner.getDeclaredMethod(name, params);
+            m.setAccessible(true);
+            return LOOKUP.unreflect(m).asType(MethodType.methodType(erase(returns), erase(params)));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing method " + owner.getName() + "." + name, e);
+        }
+    }
+
+    private static MethodHandle getter(Class<?> owner, String field, Class<?> type) {
+        try {
+            Field f = owner.getDeclaredField(field);
+            f.setAccessible(true);
+            return LOOKUP.unreflectGetter(f).asType(MethodType.methodType(erase(type), Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing field " + owner.getName() + "." + field, e);
+        }
+    }
+
+    private static MethodHandle staticGetter(Class<?> owner, String field, Class<?> type) {
+        try {
+            Field f = owner.getDeclaredField(field);
+            f.setAccessible(true);
+            return LOOKUP.unreflectGetter(f).asType(MethodType.methodType(erase(type)));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing field " + owner.getName() + "." + field, e);
+        }
+    }
+
+    // Default-package types cannot be named here, so they travel as Object
+    private static Class<?> erase(Class<?> type) {
+        return type.getPackageName().isEmpty() ? Object.class : type;
+    }
+
+    private static Class<?>[] erase(Class<?>[] types) {
+        Class<?>[] erased = new Class<?>[types.length];
+        for (int i = 0; i < types.length; i++) erased[i] = erase(types[i]);
+        return erased;
+    }
+
+    private static MethodHandle setter(String field, Class<?> type) {
+        try {
+            Field f = BID.getDeclaredField(field);
+            f.setAccessible(true);
+            return LOOKUP.unreflectSetter(f).asType(MethodType.methodType(void.class, Object.class, type));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing field BidData." + field, e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new IllegalStateException(t);
+    }
+}